@@ -0,0 +1,46 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.security.BoundedPasswordEncoder;
+import com.sap.ase.poker.security.JwtTools;
+import com.sap.ase.poker.security.JwtVerificationCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+
+import java.time.Duration;
+
+/*
+ * The JWTs and password checks that both the servlet and the reactive security
+ * configuration log players in with.
+ */
+@Configuration
+public class AuthenticationConfig {
+
+    @Bean
+    public JwtTools jwtTools() {
+        return new JwtTools(JwtTools.SECRET);
+    }
+
+    @Bean
+    public JwtVerificationCache jwtVerificationCache(JwtTools jwtTools,
+                                                     @Value("${poker.jwt.cache.maximum-size:10000}") int jwtCacheSize,
+                                                     @Value("${poker.jwt.cache.time-to-live:PT5M}") Duration jwtCacheTimeToLive) {
+        return new JwtVerificationCache(jwtTools, jwtCacheSize, jwtCacheTimeToLive);
+    }
+
+    /*
+     * Password checks run on poker.login.threads threads, by default half the cores,
+     * with at most poker.login.queue-capacity logins waiting; successful checks are
+     * remembered for poker.login.cache.time-to-live.
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(@Value("${poker.login.threads:0}") int threads,
+                                                  @Value("${poker.login.queue-capacity:256}") int queueCapacity,
+                                                  @Value("${poker.login.cache.time-to-live:PT1M}") Duration cacheTimeToLive,
+                                                  @Value("${poker.login.cache.maximum-size:10000}") int cacheSize) {
+        int count = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), count,
+                queueCapacity, cacheTimeToLive, cacheSize);
+    }
+}
@@ -0,0 +1,41 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.model.hand.PreflopEquityTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+@Configuration
+public class EquityConfig {
+
+    static final String BUNDLED_PREFLOP_TABLE = "preflop-equity.bin";
+
+    /*
+     * Maps the table at poker.equity.preflop-table, or the bundled one. A bundled table
+     * inside the jar cannot be mapped directly and is copied to a temporary file first.
+     */
+    @Bean
+    public PreflopEquityTable preflopEquityTable(@Value("${poker.equity.preflop-table:}") String file) throws IOException {
+        if (!file.isEmpty()) {
+            return PreflopEquityTable.map(Paths.get(file));
+        }
+        ClassPathResource resource = new ClassPathResource(BUNDLED_PREFLOP_TABLE);
+        if (resource.isFile()) {
+            return PreflopEquityTable.map(resource.getFile().toPath());
+        }
+        Path copy = Files.createTempFile("preflop-equity", ".bin");
+        copy.toFile().deleteOnExit();
+        try (InputStream in = resource.getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return PreflopEquityTable.map(copy);
+    }
+}
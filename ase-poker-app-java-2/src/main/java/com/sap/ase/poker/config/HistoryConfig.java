@@ -0,0 +1,39 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.history.JournalHandHistories;
+import com.sap.ase.poker.history.MeteredHandHistories;
+import com.sap.ase.poker.journal.FsyncPolicy;
+import com.sap.ase.poker.journal.Journal;
+import com.sap.ase.poker.service.HandHistories;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class HistoryConfig {
+
+    /*
+     * Hands are journaled to poker.history.file unless poker.history.enabled is false.
+     * With the default fsync policy INTERVAL, at most poker.journal.fsync-interval of
+     * history can be lost in a power failure. Hands are counted either way.
+     */
+    @Bean
+    public HandHistories handHistories(MeterRegistry meterRegistry,
+                                       @Value("${poker.history.enabled:true}") boolean enabled,
+                                       @Value("${poker.history.file:data/hand-history.journal}") String file,
+                                       @Value("${poker.journal.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+                                       @Value("${poker.journal.fsync-interval:PT0.05S}") Duration fsyncInterval,
+                                       @Value("${poker.journal.queue-capacity:65536}") int queueCapacity) throws IOException {
+        if (!enabled) {
+            return new MeteredHandHistories(HandHistories.NONE, meterRegistry);
+        }
+        Journal journal = new Journal(Paths.get(file), fsyncPolicy, fsyncInterval, queueCapacity);
+        return new MeteredHandHistories(new JournalHandHistories(journal, Clock.systemUTC()), meterRegistry);
+    }
+}
@@ -0,0 +1,122 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.data.CachingPlayerDirectory;
+import com.sap.ase.poker.model.deck.MeteredCardShuffler;
+import com.sap.ase.poker.model.deck.ShuffleMeter;
+import com.sap.ase.poker.security.BoundedPasswordEncoder;
+import com.sap.ase.poker.security.JwtVerificationCache;
+import com.sap.ase.poker.service.TableRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/*
+ * Publishes the statistics that the tables, the shuffler and the caches keep anyway.
+ * They are read when the registry is scraped, so none of them costs anything on the
+ * request path. The caches follow Micrometer's cache.* naming, tagged by cache.
+ *
+ * Like Boot's Tomcat metrics, they are bound once the application has started rather
+ * than through MeterBinder beans: the tables and the security filter record into the
+ * registry themselves, so they cannot be created while the registry is.
+ */
+@Configuration
+public class MetricsConfig implements ApplicationListener<ApplicationStartedEvent> {
+
+    private final MeterRegistry registry;
+
+    private final TableRegistry tableRegistry;
+
+    private final MeteredCardShuffler cardShuffler;
+
+    private final JwtVerificationCache jwtVerificationCache;
+
+    private final BoundedPasswordEncoder passwordEncoder;
+
+    private final CachingPlayerDirectory playerDirectory;
+
+    public MetricsConfig(MeterRegistry registry, TableRegistry tableRegistry, MeteredCardShuffler cardShuffler,
+                         JwtVerificationCache jwtVerificationCache, BoundedPasswordEncoder passwordEncoder,
+                         CachingPlayerDirectory playerDirectory) {
+        this.registry = registry;
+        this.tableRegistry = tableRegistry;
+        this.cardShuffler = cardShuffler;
+        this.jwtVerificationCache = jwtVerificationCache;
+        this.passwordEncoder = passwordEncoder;
+        this.playerDirectory = playerDirectory;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        bindTables();
+        bindShuffler();
+        bindJwtCache();
+        bindLogin();
+        bindPlayerDirectory();
+    }
+
+    private void bindTables() {
+        Gauge.builder("poker.tables.active", tableRegistry, TableRegistry::size)
+                .description("Open tables")
+                .register(registry);
+        Gauge.builder("poker.players.seated", tableRegistry, TableRegistry::getSeatedPlayers)
+                .description("Players seated at all tables")
+                .register(registry);
+    }
+
+    private void bindShuffler() {
+        FunctionCounter.builder("poker.shuffles", cardShuffler.getMeter(), ShuffleMeter::getCount)
+                .description("Decks shuffled")
+                .register(registry);
+    }
+
+    private void bindJwtCache() {
+        cacheGets(registry, "jwt", jwtVerificationCache,
+                JwtVerificationCache::getHits, JwtVerificationCache::getMisses);
+        FunctionCounter.builder("cache.evictions", jwtVerificationCache, JwtVerificationCache::getEvictions)
+                .tag("cache", "jwt")
+                .register(registry);
+        Gauge.builder("cache.size", jwtVerificationCache, JwtVerificationCache::size)
+                .tag("cache", "jwt")
+                .register(registry);
+    }
+
+    private void bindLogin() {
+        FunctionCounter.builder("poker.login.checks", passwordEncoder, BoundedPasswordEncoder::getChecks)
+                .description("Password checks run")
+                .register(registry);
+        FunctionCounter.builder("poker.login.rejections", passwordEncoder, BoundedPasswordEncoder::getRejections)
+                .description("Logins turned away because the password checks were saturated")
+                .register(registry);
+        Gauge.builder("poker.login.queued", passwordEncoder, BoundedPasswordEncoder::getQueued)
+                .description("Password checks waiting for a thread")
+                .register(registry);
+        Gauge.builder("poker.login.active", passwordEncoder, BoundedPasswordEncoder::getActive)
+                .description("Password checks running")
+                .register(registry);
+        cacheGets(registry, "login", passwordEncoder,
+                BoundedPasswordEncoder::getCacheHits, BoundedPasswordEncoder::getCacheMisses);
+    }
+
+    private void bindPlayerDirectory() {
+        cacheGets(registry, "players", playerDirectory,
+                CachingPlayerDirectory::getHits, CachingPlayerDirectory::getMisses);
+        Gauge.builder("cache.size", playerDirectory, CachingPlayerDirectory::size)
+                .tag("cache", "players")
+                .register(registry);
+    }
+
+    private static <T> void cacheGets(MeterRegistry registry, String cache, T source,
+                                      ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.gets", source, hits)
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", source, misses)
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.data.CachingPlayerDirectory;
+import com.sap.ase.poker.data.FilePlayerDirectory;
+import com.sap.ase.poker.data.PlayerDirectory;
+import com.sap.ase.poker.security.DirectoryUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Configuration
+public class PlayerDirectoryConfig {
+
+    static final String BUNDLED_PLAYERS = "players.tsv";
+
+    /*
+     * Players are read from poker.players.file, which is created from the bundled
+     * players on first start, and looked up through a cache of
+     * poker.players.cache.maximum-size entries that live for poker.players.cache.time-to-live.
+     */
+    @Bean
+    public CachingPlayerDirectory playerDirectory(@Value("${poker.players.file:data/players.tsv}") String file,
+                                                  @Value("${poker.players.check-interval:PT5S}") Duration checkInterval,
+                                                  @Value("${poker.players.cache.maximum-size:10000}") int cacheSize,
+                                                  @Value("${poker.players.cache.time-to-live:PT1M}") Duration cacheTimeToLive) throws IOException {
+        Path path = Paths.get(file);
+        if (!Files.exists(path)) {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            try (InputStream in = new ClassPathResource(BUNDLED_PLAYERS).getInputStream()) {
+                Files.copy(in, path);
+            }
+        }
+        return new CachingPlayerDirectory(new FilePlayerDirectory(path, checkInterval), cacheSize, cacheTimeToLive);
+    }
+
+    @Bean
+    public DirectoryUserDetailsService users(PlayerDirectory playerDirectory) {
+        return new DirectoryUserDetailsService(playerDirectory);
+    }
+}
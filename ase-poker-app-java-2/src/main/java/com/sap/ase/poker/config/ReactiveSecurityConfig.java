@@ -0,0 +1,63 @@
+package com.sap.ase.poker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.security.BoundedPasswordEncoder;
+import com.sap.ase.poker.security.DirectoryUserDetailsService;
+import com.sap.ase.poker.security.JsonLoginAuthenticationWebFilter;
+import com.sap.ase.poker.security.JwtAuthenticationWebFilter;
+import com.sap.ase.poker.security.JwtTools;
+import com.sap.ase.poker.security.JwtVerificationCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/*
+ * WebSecurityConfig for the reactive profile: the same JWT cookie, JSON login and
+ * open endpoints, as WebFilters. The password check itself still blocks, so the
+ * authentication manager runs it on Reactor's bounded elastic threads, which wait
+ * for the BoundedPasswordEncoder, instead of on an event loop.
+ */
+@Configuration
+@Import(AuthenticationConfig.class)
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ObjectMapper objectMapper,
+                                                         MeterRegistry meterRegistry, JwtTools jwtTools,
+                                                         JwtVerificationCache jwtVerificationCache,
+                                                         DirectoryUserDetailsService users,
+                                                         BoundedPasswordEncoder passwordEncoder) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(users);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        return http
+                .authorizeExchange()
+                .matchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .pathMatchers("/login/**").permitAll()
+                .anyExchange().authenticated()
+                .and()
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtVerificationCache, meterRegistry), SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAt(new JsonLoginAuthenticationWebFilter(authenticationManager, objectMapper, jwtTools), SecurityWebFiltersOrder.FORM_LOGIN)
+                .exceptionHandling(handling -> handling.authenticationEntryPoint(new RedirectServerAuthenticationEntryPoint("/login/index.html")))
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .httpBasic().disable()
+                .formLogin().disable()
+                .logout().disable()
+                .csrf().disable()
+                .build();
+    }
+}
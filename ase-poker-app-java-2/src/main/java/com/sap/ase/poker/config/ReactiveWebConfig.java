@@ -0,0 +1,48 @@
+package com.sap.ase.poker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/*
+ * The reactive profile, spring.main.web-application-type=reactive, serves the API
+ * from Netty: a few event-loop threads, by default as many as cores but at least 4
+ * (reactor.netty.ioWorkerCount), carry all connections, however many of them are
+ * only waiting for table events. Tomcat is on the classpath for the servlet default,
+ * so Netty is chosen explicitly, since Boot would prefer a reactive Tomcat.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /*
+     * The redirects of MappingWebMvcConfigurer.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> redirects() {
+        return RouterFunctions.route(GET("/"), request -> redirect("/table"))
+                .andRoute(GET("/table"), request -> redirect("/table/"))
+                .andRoute(GET("/table/"), request -> redirect("/table/index.html"))
+                .andRoute(GET("/login"), request -> redirect("/login/"))
+                .andRoute(GET("/login/"), request -> redirect("/login/index.html"));
+    }
+
+    private static Mono<ServerResponse> redirect(String location) {
+        return ServerResponse.status(HttpStatus.FOUND).location(URI.create(location)).build();
+    }
+}
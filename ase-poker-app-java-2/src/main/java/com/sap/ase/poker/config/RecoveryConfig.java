@@ -0,0 +1,38 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.journal.FsyncPolicy;
+import com.sap.ase.poker.journal.SegmentedJournal;
+import com.sap.ase.poker.recovery.WriteAheadLog;
+import com.sap.ase.poker.service.TablePersistence;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Configuration
+public class RecoveryConfig {
+
+    /*
+     * Tables log their commands to poker.wal.dir unless poker.wal.enabled is false, and
+     * are rebuilt from it on startup. The log shares the fsync settings of the history
+     * journal, so with INTERVAL a power failure loses at most poker.journal.fsync-interval
+     * of play.
+     */
+    @Bean
+    public TablePersistence tablePersistence(@Value("${poker.wal.enabled:true}") boolean enabled,
+                                             @Value("${poker.wal.dir:data/wal}") String dir,
+                                             @Value("${poker.journal.fsync:INTERVAL}") FsyncPolicy fsyncPolicy,
+                                             @Value("${poker.journal.fsync-interval:PT0.05S}") Duration fsyncInterval,
+                                             @Value("${poker.journal.queue-capacity:65536}") int queueCapacity) throws IOException {
+        if (!enabled) {
+            return TablePersistence.NONE;
+        }
+        Path directory = Paths.get(dir);
+        return new WriteAheadLog(directory,
+                new SegmentedJournal(directory, "wal", fsyncPolicy, fsyncInterval, queueCapacity));
+    }
+}
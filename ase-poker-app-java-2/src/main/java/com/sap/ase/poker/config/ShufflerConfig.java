@@ -0,0 +1,32 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.model.deck.MeteredCardShuffler;
+import com.sap.ase.poker.model.deck.SecureCardShuffler;
+import com.sap.ase.poker.model.deck.SeededCardShuffler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ShufflerConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShufflerConfig.class);
+
+    /*
+     * Shuffles with per-thread SecureRandoms, unless poker.shuffler.seed is set, which
+     * makes the decks reproducible and must only be used for testing.
+     */
+    @Bean
+    public MeteredCardShuffler cardShuffler(@Value("${poker.shuffler.seed:#{null}}") Long seed,
+                                            @Value("${poker.shuffler.reseed-interval:PT10M}") Duration reseedInterval) {
+        if (seed != null) {
+            LOGGER.warn("Shuffling with fixed seed {}, decks are predictable", seed);
+            return new SeededCardShuffler(seed);
+        }
+        return new SecureCardShuffler(reseedInterval);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sap.ase.poker.config;
+
+import com.sap.ase.poker.tournament.BlindClock;
+import com.sap.ase.poker.tournament.BlindLevel;
+import com.sap.ase.poker.tournament.PrizeTable;
+import com.sap.ase.poker.tournament.TournamentSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class TournamentConfig {
+
+    /*
+     * The settings of all tournaments. The blinds go up every poker.tournament.level-duration
+     * along poker.tournament.blinds, and the prize pool of buy-in times entrants is paid
+     * out by poker.tournament.payouts, in percent by place.
+     */
+    @Bean
+    public TournamentSettings tournamentSettings(@Value("${poker.tournament.seats-per-table:9}") int seatsPerTable,
+                                                 @Value("${poker.tournament.starting-stack:1000}") int startingStack,
+                                                 @Value("${poker.tournament.buy-in:100}") int buyIn,
+                                                 @Value("${poker.tournament.blinds:5/10,10/20,15/30,25/50,50/100,75/150,100/200}") String blinds,
+                                                 @Value("${poker.tournament.level-duration:PT10M}") Duration levelDuration,
+                                                 @Value("${poker.tournament.payouts:50,30,20}") String payouts) {
+        return new TournamentSettings(seatsPerTable, startingStack, buyIn,
+                new BlindClock(BlindLevel.parseAll(blinds), levelDuration), PrizeTable.parse(payouts));
+    }
+}
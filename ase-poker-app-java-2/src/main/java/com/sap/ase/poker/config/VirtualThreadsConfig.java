@@ -0,0 +1,49 @@
+package com.sap.ase.poker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * With poker.server.virtual-threads=true, Tomcat runs every request on a virtual
+ * thread of its own instead of on its pool of server.tomcat.threads.max threads, so a
+ * request waiting for its table or a long poll only parks a virtual thread. Then the
+ * number of concurrent requests is bounded by server.tomcat.max-connections only.
+ *
+ * Needs Java 21 or later at runtime; the executor is looked up reflectively because
+ * the application is still compiled for Java 8, and the application does not start
+ * if the runtime has no virtual threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "poker.server.virtual-threads", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        LOGGER.info("Running requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("poker.server.virtual-threads needs Java 21 or later, this is Java "
+                    + System.getProperty("java.version"), e);
+        } catch (InvocationTargetException e) {
+            // Java 19 and 20 have virtual threads only as a preview
+            throw new IllegalStateException("cannot create virtual threads on Java "
+                    + System.getProperty("java.version"), e.getCause());
+        }
+    }
+}
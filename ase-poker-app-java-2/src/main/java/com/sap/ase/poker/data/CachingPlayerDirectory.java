@@ -0,0 +1,50 @@
+package com.sap.ase.poker.data;
+
+import com.sap.ase.poker.cache.ExpiringLruCache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/*
+ * A read-through cache in front of a directory. Unknown ids are cached as well, so
+ * that repeated lookups of a missing player do not reach the directory either. A
+ * change in the directory shows after at most timeToLive.
+ */
+public class CachingPlayerDirectory implements PlayerDirectory {
+
+    private final PlayerDirectory delegate;
+    private final long timeToLiveMillis;
+    private final ExpiringLruCache<String, Optional<PlayerAccount>> cache;
+
+    public CachingPlayerDirectory(PlayerDirectory delegate, int maximumSize, Duration timeToLive) {
+        this.delegate = delegate;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.cache = new ExpiringLruCache<>(maximumSize);
+    }
+
+    @Override
+    public Optional<PlayerAccount> findById(String id) {
+        Optional<PlayerAccount> account = cache.get(id);
+        if (account == null) {
+            account = delegate.findById(id);
+            cache.put(id, account, cache.currentTimeMillis() + timeToLiveMillis);
+        }
+        return account;
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
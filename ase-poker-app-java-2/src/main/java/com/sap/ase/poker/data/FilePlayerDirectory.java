@@ -0,0 +1,101 @@
+package com.sap.ase.poker.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Reads accounts from a text file with one player per line: id, name and encoded
+ * password separated by tabs. Empty lines and lines starting with # are ignored.
+ *
+ * The whole file is held in a map, and lookups answer from it without any I/O, so
+ * they may run on an event loop. A thread of the directory's own checks the file's
+ * modification time every checkInterval and reloads the file if it changed; a file
+ * that fails to load leaves the previous accounts in place.
+ */
+public class FilePlayerDirectory implements PlayerDirectory, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FilePlayerDirectory.class);
+
+    private final Path file;
+    private final ScheduledExecutorService reloader;
+
+    private volatile Map<String, PlayerAccount> accounts;
+
+    // used on the reloading thread only
+    private long lastModified;
+
+    public FilePlayerDirectory(Path file, Duration checkInterval) throws IOException {
+        this.file = file;
+        this.lastModified = Files.getLastModifiedTime(file).toMillis();
+        this.accounts = load(file);
+        LOGGER.info("Loaded {} players from {}", accounts.size(), file);
+        this.reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "player-directory-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = checkInterval.toMillis();
+        reloader.scheduleWithFixedDelay(this::reloadIfModified, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<PlayerAccount> findById(String id) {
+        return Optional.ofNullable(accounts.get(id));
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    @Override
+    public void close() {
+        reloader.shutdownNow();
+    }
+
+    void reloadIfModified() {
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (modified != lastModified) {
+                accounts = load(file);
+                lastModified = modified;
+                LOGGER.info("Reloaded {} players from {}", accounts.size(), file);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to reload players from {}, keeping the previous {}", file, accounts.size(), e);
+        }
+    }
+
+    static Map<String, PlayerAccount> load(Path file) throws IOException {
+        Map<String, PlayerAccount> accounts = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", 3);
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException(file + ":" + lineNumber + ": expected id, name and password");
+                }
+                accounts.put(fields[0], new PlayerAccount(fields[0], fields[1], fields[2]));
+            }
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,29 @@
+package com.sap.ase.poker.data;
+
+public class PlayerAccount {
+
+    private final String id;
+    private final String name;
+    private final String encodedPassword;
+
+    public PlayerAccount(String id, String name, String encodedPassword) {
+        this.id = id;
+        this.name = name;
+        this.encodedPassword = encodedPassword;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /*
+     * In the format of Spring's delegating password encoder, e.g. {bcrypt}$2a$10$...
+     */
+    public String getEncodedPassword() {
+        return encodedPassword;
+    }
+}
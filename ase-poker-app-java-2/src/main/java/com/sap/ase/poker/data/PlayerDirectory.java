@@ -0,0 +1,12 @@
+package com.sap.ase.poker.data;
+
+import java.util.Optional;
+
+/*
+ * Where player accounts come from, for both login and player names. Implementations
+ * may be slow and are put behind CachingPlayerDirectory; they must be thread safe.
+ */
+public interface PlayerDirectory {
+
+    Optional<PlayerAccount> findById(String id);
+}
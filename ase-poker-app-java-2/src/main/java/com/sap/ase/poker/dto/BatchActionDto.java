@@ -0,0 +1,18 @@
+package com.sap.ase.poker.dto;
+
+/*
+ * One action of a batch: a BetRequestDto for the given table, or for the default
+ * table if tableId is absent.
+ */
+public class BatchActionDto extends BetRequestDto {
+
+	private String tableId;
+
+	public String getTableId() {
+		return tableId;
+	}
+
+	public void setTableId(String tableId) {
+		this.tableId = tableId;
+	}
+}
@@ -0,0 +1,38 @@
+package com.sap.ase.poker.dto;
+
+/*
+ * The outcome of one action of a batch as an HTTP status: 200 if it was applied, 400
+ * if the table rejected it, 404 for an unknown table, 503 for a busy one and 409 if it
+ * was skipped after an earlier action for its table was rejected, with the reason if
+ * it was not applied.
+ */
+public class BatchActionResultDto {
+
+	private final String tableId;
+	private final String type;
+	private final int status;
+	private final String error;
+
+	public BatchActionResultDto(String tableId, String type, int status, String error) {
+		this.tableId = tableId;
+		this.type = type;
+		this.status = status;
+		this.error = error;
+	}
+
+	public String getTableId() {
+		return tableId;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public String getError() {
+		return error;
+	}
+}
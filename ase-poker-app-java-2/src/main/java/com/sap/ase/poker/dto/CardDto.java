@@ -17,6 +17,13 @@ public class CardDto {
         rank = kindToString(card.kind);
     }
 
+    /*
+     * The card this DTO describes, the inverse of new CardDto(card).
+     */
+    public Card toCard() {
+        return Card.of(stringToKind(rank), Suit.valueOf(suit.toUpperCase()));
+    }
+
     private String suitToString(Suit suit) {
         return suit.toString().toLowerCase();
     }
@@ -54,6 +61,15 @@ public class CardDto {
         }
     }
 
+    private Kind stringToKind(String rank) {
+        for (Kind kind : Kind.values()) {
+            if (kindToString(kind).equals(rank)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("unknown rank: " + rank);
+    }
+
     public String getSuit() {
         return suit;
     }
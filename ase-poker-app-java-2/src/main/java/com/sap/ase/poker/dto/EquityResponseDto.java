@@ -0,0 +1,44 @@
+package com.sap.ase.poker.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class EquityResponseDto {
+
+	private Map<String, Double> equities = new LinkedHashMap<>();
+	private long boards;
+	private boolean exact;
+	private double standardError;
+
+	public Map<String, Double> getEquities() {
+		return equities;
+	}
+
+	public void setEquities(Map<String, Double> equities) {
+		this.equities = equities;
+	}
+
+	public long getBoards() {
+		return boards;
+	}
+
+	public void setBoards(long boards) {
+		this.boards = boards;
+	}
+
+	public boolean isExact() {
+		return exact;
+	}
+
+	public void setExact(boolean exact) {
+		this.exact = exact;
+	}
+
+	public double getStandardError() {
+		return standardError;
+	}
+
+	public void setStandardError(double standardError) {
+		this.standardError = standardError;
+	}
+}
@@ -16,6 +16,7 @@ public class GetTableResponseDto {
 	private int state;
 	private PlayerDto winner;
 	private List<CardDto> winnerHand;
+	private long version;
 
 	public GetTableResponseDto() {
 	}
@@ -94,4 +95,12 @@ public class GetTableResponseDto {
 	public void setWinnerHand(List<CardDto> winnerHand) {
 		this.winnerHand = winnerHand;
 	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
 }
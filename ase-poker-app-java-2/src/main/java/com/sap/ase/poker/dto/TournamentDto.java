@@ -0,0 +1,85 @@
+package com.sap.ase.poker.dto;
+
+import com.sap.ase.poker.tournament.Standing;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * A tournament as its players see it: the blind level, with -1 as millisToNextLevel
+ * once the blinds stay, the ids of the players by table and the standings.
+ */
+public class TournamentDto {
+
+	private final String id;
+	private final String status;
+	private final int entrants;
+	private final int playersLeft;
+	private final int prizePool;
+	private final int level;
+	private final int smallBlind;
+	private final int bigBlind;
+	private final long millisToNextLevel;
+	private final Map<String, List<String>> tables;
+	private final List<Standing> standings;
+
+	public TournamentDto(String id, String status, int entrants, int playersLeft, int prizePool, int level,
+						 int smallBlind, int bigBlind, long millisToNextLevel, Map<String, List<String>> tables,
+						 List<Standing> standings) {
+		this.id = id;
+		this.status = status;
+		this.entrants = entrants;
+		this.playersLeft = playersLeft;
+		this.prizePool = prizePool;
+		this.level = level;
+		this.smallBlind = smallBlind;
+		this.bigBlind = bigBlind;
+		this.millisToNextLevel = millisToNextLevel;
+		this.tables = tables;
+		this.standings = standings;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public int getEntrants() {
+		return entrants;
+	}
+
+	public int getPlayersLeft() {
+		return playersLeft;
+	}
+
+	public int getPrizePool() {
+		return prizePool;
+	}
+
+	public int getLevel() {
+		return level;
+	}
+
+	public int getSmallBlind() {
+		return smallBlind;
+	}
+
+	public int getBigBlind() {
+		return bigBlind;
+	}
+
+	public long getMillisToNextLevel() {
+		return millisToNextLevel;
+	}
+
+	public Map<String, List<String>> getTables() {
+		return tables;
+	}
+
+	public List<Standing> getStandings() {
+		return standings;
+	}
+}
@@ -0,0 +1,299 @@
+package com.sap.ase.poker.history;
+
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.deck.Card;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * One event of a hand as stored in the hand history journal. Every record starts with
+ * a format version, the type, a timestamp, the table id and the hand number; the rest
+ * depends on the type, fields that do not apply to a type are empty. Types are only
+ * ever appended, their ordinals are stored.
+ */
+public class HandRecord {
+
+    static final byte FORMAT_VERSION = 1;
+
+    public enum Type {
+        HAND_STARTED, ACTION, COMMUNITY_CARDS, HAND_ENDED, BLINDS_POSTED
+    }
+
+    public static class Seat {
+        private final String playerId;
+        private final String name;
+        private final int cash;
+        private final List<Card> holeCards;
+
+        public Seat(String playerId, String name, int cash, List<Card> holeCards) {
+            this.playerId = playerId;
+            this.name = name;
+            this.cash = cash;
+            this.holeCards = holeCards;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCash() {
+            return cash;
+        }
+
+        public List<Card> getHoleCards() {
+            return holeCards;
+        }
+    }
+
+    private final Type type;
+    private final long timestamp;
+    private final String tableId;
+    private final int hand;
+    private List<Seat> seats = Collections.emptyList();
+    private String playerId;
+    private String action;
+    private int amount;
+    private int bigBlind;
+    private GameState state;
+    private List<Card> cards = Collections.emptyList();
+    private List<String> winnerIds = Collections.emptyList();
+
+    private HandRecord(Type type, long timestamp, String tableId, int hand) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.tableId = tableId;
+        this.hand = hand;
+    }
+
+    public static HandRecord handStarted(long timestamp, String tableId, int hand, List<Seat> seats) {
+        HandRecord record = new HandRecord(Type.HAND_STARTED, timestamp, tableId, hand);
+        record.seats = seats;
+        return record;
+    }
+
+    public static HandRecord action(long timestamp, String tableId, int hand, String playerId, String action, int amount) {
+        HandRecord record = new HandRecord(Type.ACTION, timestamp, tableId, hand);
+        record.playerId = playerId;
+        record.action = action;
+        record.amount = amount;
+        return record;
+    }
+
+    public static HandRecord blindsPosted(long timestamp, String tableId, int hand, String smallBlindId, int smallBlind,
+                                          int bigBlind) {
+        HandRecord record = new HandRecord(Type.BLINDS_POSTED, timestamp, tableId, hand);
+        record.playerId = smallBlindId;
+        record.amount = smallBlind;
+        record.bigBlind = bigBlind;
+        return record;
+    }
+
+    public static HandRecord communityCards(long timestamp, String tableId, int hand, GameState state, List<Card> cards) {
+        HandRecord record = new HandRecord(Type.COMMUNITY_CARDS, timestamp, tableId, hand);
+        record.state = state;
+        record.cards = cards;
+        return record;
+    }
+
+    public static HandRecord handEnded(long timestamp, String tableId, int hand, List<String> winnerIds, int pot,
+                                       List<Card> winnerHand) {
+        HandRecord record = new HandRecord(Type.HAND_ENDED, timestamp, tableId, hand);
+        record.winnerIds = winnerIds;
+        record.amount = pot;
+        record.cards = winnerHand;
+        return record;
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(type.ordinal());
+            out.writeLong(timestamp);
+            writeString(out, tableId);
+            out.writeInt(hand);
+            switch (type) {
+                case HAND_STARTED:
+                    out.writeShort(seats.size());
+                    for (Seat seat : seats) {
+                        writeString(out, seat.playerId);
+                        writeString(out, seat.name);
+                        out.writeInt(seat.cash);
+                        writeCards(out, seat.holeCards);
+                    }
+                    break;
+                case ACTION:
+                    writeString(out, playerId);
+                    writeString(out, action);
+                    out.writeInt(amount);
+                    break;
+                case COMMUNITY_CARDS:
+                    out.writeByte(state.ordinal());
+                    writeCards(out, cards);
+                    break;
+                case HAND_ENDED:
+                    out.writeShort(winnerIds.size());
+                    for (String winnerId : winnerIds) {
+                        writeString(out, winnerId);
+                    }
+                    out.writeInt(amount);
+                    writeCards(out, cards);
+                    break;
+                case BLINDS_POSTED:
+                    writeString(out, playerId);
+                    out.writeInt(amount);
+                    out.writeInt(bigBlind);
+                    break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static HandRecord decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("unknown hand record format version " + version);
+        }
+        Type type = Type.values()[in.get()];
+        HandRecord record = new HandRecord(type, in.getLong(), readString(in), in.getInt());
+        switch (type) {
+            case HAND_STARTED:
+                int seats = in.getShort();
+                record.seats = new ArrayList<>(seats);
+                for (int i = 0; i < seats; i++) {
+                    record.seats.add(new Seat(readString(in), readString(in), in.getInt(), readCards(in)));
+                }
+                break;
+            case ACTION:
+                record.playerId = readString(in);
+                record.action = readString(in);
+                record.amount = in.getInt();
+                break;
+            case COMMUNITY_CARDS:
+                record.state = GameState.values()[in.get()];
+                record.cards = readCards(in);
+                break;
+            case HAND_ENDED:
+                int winners = in.getShort();
+                record.winnerIds = new ArrayList<>(winners);
+                for (int i = 0; i < winners; i++) {
+                    record.winnerIds.add(readString(in));
+                }
+                record.amount = in.getInt();
+                record.cards = readCards(in);
+                break;
+            case BLINDS_POSTED:
+                record.playerId = readString(in);
+                record.amount = in.getInt();
+                record.bigBlind = in.getInt();
+                break;
+        }
+        return record;
+    }
+
+    private static void writeCards(DataOutputStream out, List<Card> cards) throws IOException {
+        out.writeByte(cards.size());
+        for (Card card : cards) {
+            out.writeByte(card.index());
+        }
+    }
+
+    private static List<Card> readCards(ByteBuffer in) {
+        int count = in.get();
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.of(in.get()));
+        }
+        return cards;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("string too long for a hand record");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public int getHand() {
+        return hand;
+    }
+
+    public List<Seat> getSeats() {
+        return seats;
+    }
+
+    /*
+     * The player who acted for an ACTION, who posted the small blind for BLINDS_POSTED.
+     */
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    /*
+     * The amount bet by an ACTION, the small blind of BLINDS_POSTED, the pot of HAND_ENDED.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /*
+     * The big blind of BLINDS_POSTED, posted by the player after the small blind.
+     */
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    /*
+     * The community cards so far for COMMUNITY_CARDS, the winner's hand for HAND_ENDED.
+     */
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    public List<String> getWinnerIds() {
+        return winnerIds;
+    }
+}
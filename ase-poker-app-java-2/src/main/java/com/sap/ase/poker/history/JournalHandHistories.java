@@ -0,0 +1,97 @@
+package com.sap.ase.poker.history;
+
+import com.sap.ase.poker.journal.Journal;
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
+import com.sap.ase.poker.service.HandHistories;
+import com.sap.ase.poker.service.HandHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Writes the hands of all tables to one journal. Records are encoded on the table's
+ * thread and handed to the journal's writer, so a table never waits for the disk;
+ * a failed write is logged and does not affect the game.
+ */
+public class JournalHandHistories implements HandHistories, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalHandHistories.class);
+
+    private final Journal journal;
+    private final Clock clock;
+
+    public JournalHandHistories(Journal journal, Clock clock) {
+        this.journal = journal;
+        this.clock = clock;
+    }
+
+    @Override
+    public HandHistory forTable(String tableId) {
+        return new TableHistory(tableId);
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private void append(HandRecord record) {
+        journal.append(record.encode()).whenComplete((offset, error) -> {
+            if (error != null) {
+                LOGGER.error("Failed to record {} of hand {} at table {}", record.getType(), record.getHand(),
+                        record.getTableId(), error);
+            }
+        });
+    }
+
+    private class TableHistory implements HandHistory {
+        private final String tableId;
+
+        TableHistory(String tableId) {
+            this.tableId = tableId;
+        }
+
+        @Override
+        public void handStarted(int hand, List<Player> players, long[] holeCards) {
+            List<HandRecord.Seat> seats = new ArrayList<>(players.size());
+            for (int seat = 0; seat < players.size(); seat++) {
+                Player player = players.get(seat);
+                long cards = seat < holeCards.length ? holeCards[seat] : Cards.NONE;
+                seats.add(new HandRecord.Seat(player.getId(), player.getName(), player.getCash(), Cards.toList(cards)));
+            }
+            append(HandRecord.handStarted(clock.millis(), tableId, hand, seats));
+        }
+
+        @Override
+        public void blindsPosted(int hand, String smallBlindId, int smallBlind, int bigBlind) {
+            append(HandRecord.blindsPosted(clock.millis(), tableId, hand, smallBlindId, smallBlind, bigBlind));
+        }
+
+        @Override
+        public void action(int hand, String playerId, String action, int amount) {
+            append(HandRecord.action(clock.millis(), tableId, hand, playerId, action, amount));
+        }
+
+        @Override
+        public void communityCards(int hand, GameState state, List<Card> communityCards) {
+            append(HandRecord.communityCards(clock.millis(), tableId, hand, state, new ArrayList<>(communityCards)));
+        }
+
+        @Override
+        public void handEnded(int hand, List<Player> winners, int pot, List<Card> winnerHand) {
+            List<String> winnerIds = new ArrayList<>(winners.size());
+            for (Player winner : winners) {
+                winnerIds.add(winner.getId());
+            }
+            append(HandRecord.handEnded(clock.millis(), tableId, hand, winnerIds, pot, new ArrayList<>(winnerHand)));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sap.ase.poker.history;
+
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.service.HandHistories;
+import com.sap.ase.poker.service.HandHistory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/*
+ * Counts the hands started and completed at all tables and records the size of their
+ * pots, then passes the events on to the decorated histories. The meters are shared by
+ * all tables, so recording is an increment on the table's writer thread.
+ */
+public class MeteredHandHistories implements HandHistories, Closeable {
+
+    private final HandHistories delegate;
+
+    private final Counter handsStarted;
+
+    private final Counter handsCompleted;
+
+    private final DistributionSummary pots;
+
+    public MeteredHandHistories(HandHistories delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.handsStarted = Counter.builder("poker.hands.started")
+                .description("Hands dealt")
+                .register(registry);
+        this.handsCompleted = Counter.builder("poker.hands.completed")
+                .description("Hands played to the end")
+                .register(registry);
+        this.pots = DistributionSummary.builder("poker.hand.pot")
+                .description("Pot of a completed hand")
+                .baseUnit("chips")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public HandHistory forTable(String tableId) {
+        HandHistory history = delegate.forTable(tableId);
+        return new HandHistory() {
+
+            @Override
+            public void handStarted(int hand, List<Player> players, long[] holeCards) {
+                handsStarted.increment();
+                history.handStarted(hand, players, holeCards);
+            }
+
+            @Override
+            public void blindsPosted(int hand, String smallBlindId, int smallBlind, int bigBlind) {
+                history.blindsPosted(hand, smallBlindId, smallBlind, bigBlind);
+            }
+
+            @Override
+            public void action(int hand, String playerId, String action, int amount) {
+                history.action(hand, playerId, action, amount);
+            }
+
+            @Override
+            public void communityCards(int hand, GameState state, List<Card> communityCards) {
+                history.communityCards(hand, state, communityCards);
+            }
+
+            @Override
+            public void handEnded(int hand, List<Player> winners, int pot, List<Card> winnerHand) {
+                handsCompleted.increment();
+                pots.record(pot);
+                history.handEnded(hand, winners, pot, winnerHand);
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.sap.ase.poker.journal;
+
+public enum FsyncPolicy {
+    /* force every batch to disk before its appends complete */
+    ALWAYS,
+    /* force at most once per fsync interval; appends complete once written */
+    INTERVAL,
+    /* never force, leave it to the operating system */
+    NEVER
+}
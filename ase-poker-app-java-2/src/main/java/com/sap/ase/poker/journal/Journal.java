@@ -0,0 +1,315 @@
+package com.sap.ase.poker.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/*
+ * An append-only file of records. Each record is framed as int length, int CRC32 of
+ * the payload, payload. append() only queues the record; a single writer thread drains
+ * everything queued so far into one write (a group commit) and forces it to disk
+ * according to the FsyncPolicy, then completes the appends with their file offsets.
+ *
+ * Opening a journal drops a torn or corrupt tail left by a crash, so that new records
+ * are never appended behind garbage.
+ */
+public class Journal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Journal.class);
+
+    static final int FRAME_HEADER_BYTES = 8;
+
+    public static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private static final int MAX_BATCH_RECORDS = 4096;
+
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private static final Append CLOSE = new Append(new byte[0]);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final BlockingQueue<Append> queue;
+    private final Thread writer;
+    private final CRC32 crc = new CRC32();
+
+    private ByteBuffer batchBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private long position;
+    private long lastForce = System.nanoTime();
+    private boolean dirty;
+    private volatile boolean closed;
+
+    // set by the writer before it fails what is left in the queue and exits
+    private volatile boolean stopped;
+
+    public Journal(Path file, FsyncPolicy fsyncPolicy, Duration fsyncInterval, int queueCapacity) throws IOException {
+        this.file = file;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd = read(channel, (offset, record) -> {
+        });
+        if (validEnd < channel.size()) {
+            LOGGER.warn("Dropping {} bytes of incomplete records at the end of {}", channel.size() - validEnd, file);
+            channel.truncate(validEnd);
+        }
+        this.position = validEnd;
+        this.writer = new Thread(this::writeLoop, "journal-" + file.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /*
+     * Queues a record. The future completes with the record's offset once it is written,
+     * and forced to disk if the policy is ALWAYS. Never waits: while the queue is full,
+     * that is while the disk cannot keep up, and once the journal is closed the append
+     * fails right away, as the caller's thread is often a table's.
+     */
+    public CompletableFuture<Long> append(byte[] record) {
+        if (record.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("record of " + record.length + " bytes exceeds " + MAX_RECORD_BYTES);
+        }
+        Append append = new Append(record);
+        if (closed || stopped) {
+            append.result.completeExceptionally(new JournalException("journal closed: " + file));
+        } else if (!queue.offer(append)) {
+            append.result.completeExceptionally(new JournalException("journal queue full: " + file));
+        } else if (stopped && queue.remove(append)) {
+            // the writer stopped after the check, with nobody left to take the record
+            append.result.completeExceptionally(new JournalException("journal closed: " + file));
+        }
+        return append.result;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /*
+     * Reads all intact records of a journal file in order, passing each record's offset
+     * and payload; returns the offset after the last intact record. The file is read in
+     * large blocks and a payload is only valid until the callback returns.
+     */
+    public static long read(Path file, BiConsumer<Long, ByteBuffer> records) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, records);
+        }
+    }
+
+    private static long read(FileChannel channel, BiConsumer<Long, ByteBuffer> records) throws IOException {
+        // buffer holds the file from offset on, up to its limit
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        buffer.flip();
+        CRC32 crc = new CRC32();
+        long offset = 0;
+        long size = channel.size();
+        while (offset + FRAME_HEADER_BYTES <= size) {
+            buffer = fill(channel, buffer, offset, FRAME_HEADER_BYTES);
+            int length = buffer.getInt(buffer.position());
+            int checksum = buffer.getInt(buffer.position() + 4);
+            if (length < 0 || length > MAX_RECORD_BYTES || offset + FRAME_HEADER_BYTES + length > size) {
+                break;
+            }
+            buffer = fill(channel, buffer, offset, FRAME_HEADER_BYTES + length);
+            if (buffer.remaining() < FRAME_HEADER_BYTES + length) {
+                break;
+            }
+            int start = buffer.position() + FRAME_HEADER_BYTES;
+            crc.reset();
+            crc.update(buffer.array(), buffer.arrayOffset() + start, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            ByteBuffer payload = buffer.duplicate();
+            payload.limit(start + length).position(start);
+            records.accept(offset, payload.slice());
+            buffer.position(start + length);
+            offset += FRAME_HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    /*
+     * Makes buffer hold at least the given number of bytes from offset on, or all that
+     * is left of the file, reading ahead as far as the buffer allows.
+     */
+    private static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, long offset, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        if (bytes > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(bytes);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /*
+     * Writes what is queued, forces the file and stops the writer. The writer is
+     * stopped by a marker record rather than an interrupt, which would close the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!queue.offer(CLOSE, 10, TimeUnit.SECONDS)) {
+                LOGGER.warn("Writer of {} does not take records, closing without it", file);
+            }
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void writeLoop() {
+        List<Append> batch = new ArrayList<>();
+        boolean closing = false;
+        while (!closing) {
+            try {
+                Append first = fsyncPolicy == FsyncPolicy.INTERVAL && dirty
+                        ? queue.poll(fsyncIntervalNanos, TimeUnit.NANOSECONDS)
+                        : queue.take();
+                if (first == null) {
+                    forceIfDue();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_RECORDS - 1);
+                closing = batch.remove(CLOSE);
+                if (closing) {
+                    // appends racing with close() may still be queued behind the marker
+                    queue.drainTo(batch);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                LOGGER.warn("Writer of {} interrupted, stopping", file);
+                closing = true;
+            } catch (IOException e) {
+                LOGGER.error("Failed to force {}", file, e);
+            }
+        }
+        try {
+            if (dirty && fsyncPolicy != FsyncPolicy.NEVER) {
+                force();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to force {} on close", file, e);
+        }
+        stopped = true;
+        queue.drainTo(batch);
+        for (Append append : batch) {
+            append.result.completeExceptionally(new JournalException("journal closed: " + file));
+        }
+    }
+
+    private void write(List<Append> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = position;
+        try {
+            ByteBuffer buffer = frame(batch);
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            dirty = true;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                force();
+            } else {
+                forceIfDue();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to write {} records to {}", batch.size(), file, e);
+            position = start;
+            for (Append append : batch) {
+                append.result.completeExceptionally(new JournalException("failed to write to " + file, e));
+            }
+            return;
+        }
+        long offset = start;
+        for (Append append : batch) {
+            append.result.complete(offset);
+            offset += FRAME_HEADER_BYTES + append.record.length;
+        }
+    }
+
+    private ByteBuffer frame(List<Append> batch) {
+        int size = 0;
+        for (Append append : batch) {
+            size += FRAME_HEADER_BYTES + append.record.length;
+        }
+        if (batchBuffer.capacity() < size) {
+            batchBuffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size) << 1);
+        }
+        batchBuffer.clear();
+        for (Append append : batch) {
+            crc.reset();
+            crc.update(append.record, 0, append.record.length);
+            batchBuffer.putInt(append.record.length);
+            batchBuffer.putInt((int) crc.getValue());
+            batchBuffer.put(append.record);
+        }
+        batchBuffer.flip();
+        return batchBuffer;
+    }
+
+    private void forceIfDue() throws IOException {
+        if (dirty && fsyncPolicy == FsyncPolicy.INTERVAL && System.nanoTime() - lastForce >= fsyncIntervalNanos) {
+            force();
+        }
+    }
+
+    private void force() throws IOException {
+        channel.force(false);
+        lastForce = System.nanoTime();
+        dirty = false;
+    }
+
+    private static class Append {
+        private final byte[] record;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        Append(byte[] record) {
+            this.record = record;
+        }
+    }
+}
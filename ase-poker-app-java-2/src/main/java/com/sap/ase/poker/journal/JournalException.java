@@ -0,0 +1,11 @@
+package com.sap.ase.poker.journal;
+
+public class JournalException extends RuntimeException {
+    public JournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public JournalException(String message) {
+        super(message);
+    }
+}
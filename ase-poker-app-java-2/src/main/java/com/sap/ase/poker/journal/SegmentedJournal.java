@@ -0,0 +1,136 @@
+package com.sap.ase.poker.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * A journal split into numbered segment files <prefix>-<number>.journal. Appends go to
+ * the newest segment; roll() starts a new one, so that segments whose records are no
+ * longer needed can be deleted as a whole.
+ */
+public class SegmentedJournal implements Closeable {
+
+    private final Path directory;
+    private final String prefix;
+    private final Pattern segmentName;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private final int queueCapacity;
+
+    // appends hold the read lock, so that roll() never closes a segment under an append
+    private final ReadWriteLock rollLock = new ReentrantReadWriteLock();
+    // held for a whole roll, which writes and closes the old segment outside the rollLock
+    private final ReentrantLock rolling = new ReentrantLock();
+    private Journal current;
+    private long currentSegment;
+
+    public SegmentedJournal(Path directory, String prefix, FsyncPolicy fsyncPolicy, Duration fsyncInterval,
+                            int queueCapacity) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentName = Pattern.compile(Pattern.quote(prefix) + "-(\\d+)\\.journal");
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.queueCapacity = queueCapacity;
+        Files.createDirectories(directory);
+        List<Long> segments = segments();
+        currentSegment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        current = open(currentSegment);
+    }
+
+    public CompletableFuture<Long> append(byte[] record) {
+        rollLock.readLock().lock();
+        try {
+            return current.append(record);
+        } finally {
+            rollLock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Continues in a new segment and closes the current one, after writing what was
+     * appended to it. Returns the number of the new segment. Appends wait for the switch
+     * only, not for the old segment to be written and closed.
+     */
+    public long roll() throws IOException {
+        rolling.lock();
+        try {
+            Journal next = open(currentSegment + 1);
+            Journal previous;
+            rollLock.writeLock().lock();
+            try {
+                previous = current;
+                current = next;
+                currentSegment++;
+            } finally {
+                rollLock.writeLock().unlock();
+            }
+            // appends to it went in under the read lock, so all of them are queued by now
+            previous.close();
+            return currentSegment;
+        } finally {
+            rolling.unlock();
+        }
+    }
+
+    /*
+     * The numbers of all segments on disk, in ascending order.
+     */
+    public List<Long> segments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "-*.journal")) {
+            for (Path file : files) {
+                Matcher matcher = segmentName.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    public Path segmentFile(long segment) {
+        return directory.resolve(String.format("%s-%06d.journal", prefix, segment));
+    }
+
+    public void deleteBefore(long segment) throws IOException {
+        for (long old : segments()) {
+            if (old < segment) {
+                Files.deleteIfExists(segmentFile(old));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        rolling.lock();
+        try {
+            // at shutdown, so appends may as well wait for the last segment
+            rollLock.writeLock().lock();
+            try {
+                current.close();
+            } finally {
+                rollLock.writeLock().unlock();
+            }
+        } finally {
+            rolling.unlock();
+        }
+    }
+
+    private Journal open(long segment) throws IOException {
+        return new Journal(segmentFile(segment), fsyncPolicy, fsyncInterval, queueCapacity);
+    }
+}
@@ -15,6 +15,12 @@ public class Player {
         this.cash = cash;
     }
 
+    public Player(String id, String name, int cash, int bet, boolean isActive) {
+        this(id, name, cash);
+        this.bet = bet;
+        this.isActive = isActive;
+    }
+
     public String getName() {
         return name;
     }
@@ -1,13 +1,50 @@
 package com.sap.ase.poker.model.deck;
 
-public class Card implements Comparable<Card> {
+/*
+ * The 52 cards are interned: Card.of(...) always returns the same instance for a kind
+ * and suit. Each card also has a compact encoding, an index 0-51 (13 per suit, twos
+ * first) and the corresponding single bit of a 64-bit hand mask, see Cards.
+ */
+public final class Card implements Comparable<Card> {
+
+    private static final Card[] CARDS = new Card[Cards.COUNT];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Kind kind : Kind.values()) {
+                Card card = new Card(kind, suit);
+                CARDS[card.index] = card;
+            }
+        }
+    }
 
     public final Kind kind;
     public final Suit suit;
+    private final int index;
 
-    public Card(Kind kind, Suit suit) {
+    private Card(Kind kind, Suit suit) {
         this.kind = kind;
         this.suit = suit;
+        this.index = suit.ordinal() * Cards.KINDS + kind.ordinal();
+    }
+
+    public static Card of(Kind kind, Suit suit) {
+        return CARDS[suit.ordinal() * Cards.KINDS + kind.ordinal()];
+    }
+
+    public static Card of(int index) {
+        if (index < 0 || index >= Cards.COUNT) {
+            throw new IllegalArgumentException("no card with index " + index);
+        }
+        return CARDS[index];
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public long mask() {
+        return 1L << index;
     }
 
     @Override
@@ -22,26 +59,11 @@ public class Card implements Comparable<Card> {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((kind == null) ? 0 : kind.hashCode());
-        result = prime * result + ((suit == null) ? 0 : suit.hashCode());
-        return result;
+        return index;
     }
 
     @Override
     public boolean equals(Object obj) {
-        if (this == obj)
-            return true;
-        if (obj == null)
-            return false;
-        if (getClass() != obj.getClass())
-            return false;
-        Card other = (Card) obj;
-        if (kind != other.kind)
-            return false;
-        if (suit != other.suit)
-            return false;
-        return true;
-    }
-}
\ No newline at end of file
+        return this == obj;
+    }
+}
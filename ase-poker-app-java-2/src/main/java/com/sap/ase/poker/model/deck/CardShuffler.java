@@ -1,7 +1,19 @@
 package com.sap.ase.poker.model.deck;
 
+import java.util.Arrays;
 import java.util.List;
 
 public interface CardShuffler {
     List<Card> shuffle(List<Card> cards);
+
+    /*
+     * Shuffles the array in place. Implementations should override this, the default
+     * goes through the list version.
+     */
+    default void shuffle(Card[] cards) {
+        List<Card> shuffled = shuffle(Arrays.asList(cards));
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = shuffled.get(i);
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package com.sap.ase.poker.model.deck;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Helpers for hands encoded as a 64-bit mask with bit Card.index() set for each card
+ * in the hand. Bits 0-12 hold the diamonds, 13-25 the hearts, 26-38 the spades and
+ * 39-51 the clubs, each lane ordered from two to ace.
+ */
+public final class Cards {
+
+    public static final int KINDS = 13;
+
+    public static final int COUNT = KINDS * 4;
+
+    public static final long NONE = 0L;
+
+    public static final long ALL = (1L << COUNT) - 1;
+
+    private Cards() {
+    }
+
+    public static long mask(Collection<Card> cards) {
+        long mask = NONE;
+        for (Card card : cards) {
+            mask |= card.mask();
+        }
+        return mask;
+    }
+
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    public static boolean contains(long mask, Card card) {
+        return (mask & card.mask()) != 0;
+    }
+
+    /*
+     * The cards of a mask, ordered by index.
+     */
+    public static List<Card> toList(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            cards.add(Card.of(Long.numberOfTrailingZeros(remaining)));
+        }
+        return cards;
+    }
+}
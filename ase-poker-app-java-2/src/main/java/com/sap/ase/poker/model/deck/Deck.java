@@ -1,31 +1,50 @@
 package com.sap.ase.poker.model.deck;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+/*
+ * The cards live in a fixed array that is shuffled in place, and draw() only advances
+ * a cursor. shuffle() puts all cards back, so one deck can be reused for every hand.
+ */
 public class Deck {
-    private List<Card> cards;
+    private final Card[] cards;
     private final CardShuffler cardShuffler;
-    private final List<Card> pokerCardsSupply;
+    private int next = 0;
 
     public Deck(List<Card> pokerCardsSupply, CardShuffler cardShuffler) {
-        this.pokerCardsSupply = new ArrayList<>(pokerCardsSupply);
-        this.cards = new ArrayList<>(pokerCardsSupply);
+        this.cards = pokerCardsSupply.toArray(new Card[0]);
         this.cardShuffler = cardShuffler;
     }
 
+    /*
+     * A deck that deals the given cards in the given order, for restoring a deck.
+     */
+    public static Deck ordered(List<Card> cards) {
+        return new Deck(cards, unshuffled -> unshuffled);
+    }
+
+    /*
+     * The cards not yet drawn, in the order they will be drawn.
+     */
     public List<Card> getCards() {
-        return cards;
+        return Collections.unmodifiableList(Arrays.asList(cards).subList(next, cards.length));
+    }
+
+    public int remaining() {
+        return cards.length - next;
     }
 
     public Card draw() {
-        if (cards.isEmpty()) {
+        if (next == cards.length) {
             throw new OutOfCardsException("No cards left to draw.");
         }
-        return cards.remove(0);
+        return cards[next++];
     }
 
     public void shuffle() {
-        cards = cardShuffler.shuffle(pokerCardsSupply);
+        next = 0;
+        cardShuffler.shuffle(cards);
     }
 }
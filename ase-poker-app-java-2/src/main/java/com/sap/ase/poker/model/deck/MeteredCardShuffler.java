@@ -0,0 +1,38 @@
+package com.sap.ase.poker.model.deck;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Base for shufflers that shuffle arrays in place and count their shuffles.
+ */
+public abstract class MeteredCardShuffler implements CardShuffler {
+
+    private final ShuffleMeter meter = new ShuffleMeter();
+
+    @Override
+    public List<Card> shuffle(List<Card> cards) {
+        Card[] shuffled = cards.toArray(new Card[0]);
+        shuffle(shuffled);
+        return new ArrayList<>(Arrays.asList(shuffled));
+    }
+
+    @Override
+    public final void shuffle(Card[] cards) {
+        shuffleInPlace(cards);
+        meter.record();
+    }
+
+    protected abstract void shuffleInPlace(Card[] cards);
+
+    public ShuffleMeter getMeter() {
+        return meter;
+    }
+
+    static void swap(Card[] cards, int i, int j) {
+        Card card = cards[i];
+        cards[i] = cards[j];
+        cards[j] = card;
+    }
+}
@@ -19,7 +19,7 @@ public class PokerCardsSupplier implements Supplier<List<Card>> {
 
         for (Suit suit : suits) {
             for (Kind kind : kinds) {
-                pokerCards.add(new Card(kind, suit));
+                pokerCards.add(Card.of(kind, suit));
             }
         }
 
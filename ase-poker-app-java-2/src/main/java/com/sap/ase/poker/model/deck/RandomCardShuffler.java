@@ -1,18 +1,31 @@
 package com.sap.ase.poker.model.deck;
 
-import org.springframework.stereotype.Component;
-
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
-@Component
 public class RandomCardShuffler implements CardShuffler {
 
     @Override
     public List<Card> shuffle(List<Card> cards) {
-        ArrayList<Card> shuffled = new ArrayList<>(cards);
-        Collections.shuffle(shuffled);
-        return new ArrayList<>(shuffled);
+        Card[] shuffled = cards.toArray(new Card[0]);
+        shuffle(shuffled);
+        return new ArrayList<>(Arrays.asList(shuffled));
+    }
+
+    /*
+     * Fisher-Yates, swapping each position with a random one not yet fixed.
+     */
+    @Override
+    public void shuffle(Card[] cards) {
+        Random random = ThreadLocalRandom.current();
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Card card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
     }
 }
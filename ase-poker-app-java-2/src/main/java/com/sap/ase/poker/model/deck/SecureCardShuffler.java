@@ -0,0 +1,71 @@
+package com.sap.ase.poker.model.deck;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/*
+ * Fisher-Yates with a SecureRandom per dealing thread, so shuffles on different threads
+ * never contend on one generator. Each thread's generator is replaced by a freshly
+ * seeded one once the reseed interval has passed; the check happens on the next
+ * shuffle of that thread, so no timer thread is needed.
+ */
+public class SecureCardShuffler extends MeteredCardShuffler {
+
+    // preferred algorithms: per-instance locking only, unlike NativePRNG which shares one lock
+    private static final String[] ALGORITHMS = {"DRBG", "SHA1PRNG"};
+
+    private final long reseedIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder reseeds = new LongAdder();
+    private final ThreadLocal<Generator> generators = ThreadLocal.withInitial(Generator::new);
+
+    public SecureCardShuffler(Duration reseedInterval) {
+        this(reseedInterval, System::nanoTime);
+    }
+
+    SecureCardShuffler(Duration reseedInterval, LongSupplier nanoClock) {
+        this.reseedIntervalNanos = reseedInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    protected void shuffleInPlace(Card[] cards) {
+        SecureRandom random = generators.get().random();
+        for (int i = cards.length - 1; i > 0; i--) {
+            swap(cards, i, random.nextInt(i + 1));
+        }
+    }
+
+    public long getReseedCount() {
+        return reseeds.sum();
+    }
+
+    private static SecureRandom newSecureRandom() {
+        for (String algorithm : ALGORITHMS) {
+            try {
+                return SecureRandom.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                // not available on this JVM, try the next one
+            }
+        }
+        return new SecureRandom();
+    }
+
+    private class Generator {
+        private SecureRandom random = newSecureRandom();
+        private long seededAt = nanoClock.getAsLong();
+
+        SecureRandom random() {
+            long now = nanoClock.getAsLong();
+            if (now - seededAt >= reseedIntervalNanos) {
+                random = newSecureRandom();
+                seededAt = now;
+                reseeds.increment();
+            }
+            return random;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.sap.ase.poker.model.deck;
+
+import java.util.SplittableRandom;
+
+/*
+ * Fisher-Yates over one SplittableRandom stream with a fixed seed, for tests and
+ * reproducing games: the same seed yields the same sequence of decks. Not for real
+ * play, and shuffles are serialized so that the sequence does not depend on threads.
+ */
+public class SeededCardShuffler extends MeteredCardShuffler {
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    public SeededCardShuffler(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    protected synchronized void shuffleInPlace(Card[] cards) {
+        for (int i = cards.length - 1; i > 0; i--) {
+            swap(cards, i, random.nextInt(i + 1));
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,54 @@
+package com.sap.ase.poker.model.deck;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/*
+ * Counts shuffles without contention (a LongAdder) and derives the shuffle rate when
+ * it is read, so recording stays a single increment on the dealing threads.
+ */
+public class ShuffleMeter {
+
+    private static final long MIN_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder shuffles = new LongAdder();
+    private final LongSupplier nanoClock;
+
+    private long windowStart;
+    private long windowStartCount;
+    private double rate;
+
+    public ShuffleMeter() {
+        this(System::nanoTime);
+    }
+
+    ShuffleMeter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    void record() {
+        shuffles.increment();
+    }
+
+    public long getCount() {
+        return shuffles.sum();
+    }
+
+    /*
+     * Shuffles per second since the previous window, which ends when this is called at
+     * least a second after the window started.
+     */
+    public synchronized double getRatePerSecond() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - windowStart;
+        if (elapsed >= MIN_WINDOW_NANOS) {
+            long count = shuffles.sum();
+            rate = (count - windowStartCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            windowStart = now;
+            windowStartCount = count;
+        }
+        return rate;
+    }
+}
@@ -5,19 +5,24 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 import java.util.function.Supplier;
 
+/*
+ * Supplies each table with its deck, shuffled for the first hand; the table shuffles
+ * it again in place for every later hand.
+ */
 @Component
 public class ShuffledDeckSupplier implements Supplier<Deck> {
 
-    private final Supplier<List<Card>> cardSupplier;
+    private final List<Card> cards;
     private final CardShuffler cardShuffler;
 
     public ShuffledDeckSupplier(Supplier<List<Card>> cardSupplier, CardShuffler cardShuffler) {
-        this.cardSupplier = cardSupplier;
+        // cards are immutable singletons, so the list can be shared by all decks
+        this.cards = cardSupplier.get();
         this.cardShuffler = cardShuffler;
     }
 
     public Deck get() {
-        Deck deck = new Deck(cardSupplier.get(), cardShuffler);
+        Deck deck = new Deck(cards, cardShuffler);
         deck.shuffle();
         return deck;
     }
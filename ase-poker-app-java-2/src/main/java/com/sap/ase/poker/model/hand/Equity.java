@@ -0,0 +1,47 @@
+package com.sap.ase.poker.model.hand;
+
+/*
+ * Result of an equity calculation: each hand's share of the pot averaged over all
+ * boards that were evaluated, in the order the hands were given. With unknown hands a
+ * board is counted once per deal of their hole cards.
+ */
+public class Equity {
+
+    private final double[] equities;
+    private final long boards;
+    private final boolean exact;
+    private final double standardError;
+
+    Equity(double[] equities, long boards, boolean exact, double standardError) {
+        this.equities = equities;
+        this.boards = boards;
+        this.exact = exact;
+        this.standardError = standardError;
+    }
+
+    public double get(int hand) {
+        return equities[hand];
+    }
+
+    public int size() {
+        return equities.length;
+    }
+
+    public long getBoards() {
+        return boards;
+    }
+
+    /*
+     * true if all possible deals were enumerated, false if they were sampled
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /*
+     * The largest standard error of the hands' equities, 0 for exact results.
+     */
+    public double getStandardError() {
+        return standardError;
+    }
+}
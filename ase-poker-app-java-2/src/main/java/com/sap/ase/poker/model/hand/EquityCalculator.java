@@ -0,0 +1,287 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/*
+ * Computes pot equity of hands given as card masks, a hand of Cards.NONE being unknown
+ * (dealt at random). When there are few enough deals left, counting the boards and the
+ * hole cards of the unknown hands, every deal is enumerated; otherwise deals are sampled
+ * in rounds until the standard error drops to the requested precision or the time
+ * budget is spent.
+ *
+ * Both run as parallel streams in the given pool. Sampling is split into a fixed number
+ * of chunks per round, each with its own generator split off the seeded root in order,
+ * so a seed reproduces the same result on any number of cores, as long as the
+ * precision and not the time budget ends the calculation.
+ */
+@Component
+public class EquityCalculator {
+
+    static final long EXACT_LIMIT = 100_000;
+
+    private static final int CHUNKS = 64;
+    private static final int SAMPLES_PER_CHUNK = 256;
+    private static final long MAX_SAMPLES = 20_000_000;
+
+    private final ForkJoinPool pool;
+
+    public EquityCalculator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EquityCalculator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public Equity calculate(long[] hands, long board, double precision, Duration timeBudget, long seed) {
+        long dealt = board;
+        int unknownHands = 0;
+        for (long hand : hands) {
+            if (hand == Cards.NONE) {
+                unknownHands++;
+            } else if (Cards.count(hand) != 2 || (dealt & hand) != 0) {
+                throw new IllegalArgumentException("hands must be two cards each and must not share cards");
+            }
+            dealt |= hand;
+        }
+        int missing = 5 - Cards.count(board);
+        if (missing < 0) {
+            throw new IllegalArgumentException("board has more than five cards");
+        }
+        int[] undealt = undealt(dealt);
+
+        if (deals(undealt.length, missing, unknownHands) <= EXACT_LIMIT) {
+            return enumerate(hands, board, undealt, missing, unknowns(hands, unknownHands));
+        }
+        return simulate(hands, board, undealt, missing, precision, timeBudget.toNanos(), seed);
+    }
+
+    /*
+     * Splits the enumeration by the first card dealt: the first board card, or on the
+     * river the first hole card of the first unknown hand.
+     */
+    private Equity enumerate(long[] hands, long board, int[] undealt, int missing, int[] unknowns) {
+        Tally tally;
+        if (missing == 0 && unknowns.length == 0) {
+            tally = new Tally(hands.length);
+            tally.add(hands, board);
+        } else {
+            tally = pool.submit(() -> IntStream.range(0, undealt.length).parallel()
+                    .mapToObj(first -> {
+                        Tally chunk = new Tally(hands.length);
+                        long card = 1L << undealt[first];
+                        if (missing > 0) {
+                            dealBoard(hands.clone(), board | card, card, undealt, first + 1, missing - 1, unknowns, chunk);
+                        } else {
+                            long[] dealtHands = hands.clone();
+                            for (int second = first + 1; second < undealt.length; second++) {
+                                dealtHands[unknowns[0]] = card | 1L << undealt[second];
+                                dealHands(dealtHands, board, dealtHands[unknowns[0]], undealt, unknowns, 1, chunk);
+                            }
+                        }
+                        return chunk;
+                    })
+                    .reduce(Tally::merge).get()).join();
+        }
+        return tally.toEquity(true);
+    }
+
+    private static void dealBoard(long[] hands, long board, long used, int[] undealt, int from, int missing,
+                                  int[] unknowns, Tally tally) {
+        if (missing == 0) {
+            dealHands(hands, board, used, undealt, unknowns, 0, tally);
+            return;
+        }
+        for (int i = from; i <= undealt.length - missing; i++) {
+            long card = 1L << undealt[i];
+            dealBoard(hands, board | card, used | card, undealt, i + 1, missing - 1, unknowns, tally);
+        }
+    }
+
+    private static void dealHands(long[] hands, long board, long used, int[] undealt, int[] unknowns, int next,
+                                  Tally tally) {
+        if (next == unknowns.length) {
+            tally.add(hands, board);
+            return;
+        }
+        for (int i = 0; i < undealt.length; i++) {
+            long first = 1L << undealt[i];
+            if ((used & first) != 0) {
+                continue;
+            }
+            for (int j = i + 1; j < undealt.length; j++) {
+                long second = 1L << undealt[j];
+                if ((used & second) == 0) {
+                    hands[unknowns[next]] = first | second;
+                    dealHands(hands, board, used | first | second, undealt, unknowns, next + 1, tally);
+                }
+            }
+        }
+    }
+
+    private Equity simulate(long[] hands, long board, int[] undealt, int missing,
+                            double precision, long timeBudgetNanos, long seed) {
+        long start = System.nanoTime();
+        SplittableRandom root = new SplittableRandom(seed);
+        Tally tally = new Tally(hands.length);
+        do {
+            SplittableRandom[] randoms = new SplittableRandom[CHUNKS];
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                randoms[chunk] = root.split();
+            }
+            Tally round = pool.submit(() -> IntStream.range(0, CHUNKS).parallel()
+                    .mapToObj(chunk -> sample(hands, board, undealt, missing, randoms[chunk]))
+                    .reduce(Tally::merge).get()).join();
+            tally = tally.merge(round);
+        } while (tally.standardError() > precision
+                && System.nanoTime() - start < timeBudgetNanos
+                && tally.boards < MAX_SAMPLES);
+        return tally.toEquity(false);
+    }
+
+    private static Tally sample(long[] hands, long board, int[] undealt, int missing, SplittableRandom random) {
+        Tally tally = new Tally(hands.length);
+        int[] cards = undealt.clone();
+        long[] dealtHands = hands.clone();
+        for (int sample = 0; sample < SAMPLES_PER_CHUNK; sample++) {
+            // partial Fisher-Yates: the first 'drawn' positions become a uniform random draw
+            int drawn = 0;
+            long sampledBoard = board;
+            for (int i = 0; i < missing; i++) {
+                sampledBoard |= 1L << draw(cards, drawn++, random);
+            }
+            for (int hand = 0; hand < hands.length; hand++) {
+                if (hands[hand] == Cards.NONE) {
+                    dealtHands[hand] = 1L << draw(cards, drawn++, random) | 1L << draw(cards, drawn++, random);
+                }
+            }
+            tally.add(dealtHands, sampledBoard);
+        }
+        return tally;
+    }
+
+    private static int draw(int[] cards, int position, SplittableRandom random) {
+        int other = position + random.nextInt(cards.length - position);
+        int card = cards[other];
+        cards[other] = cards[position];
+        cards[position] = card;
+        return card;
+    }
+
+    private static int[] undealt(long dealt) {
+        int[] undealt = new int[Cards.COUNT - Long.bitCount(dealt)];
+        int i = 0;
+        for (int index = 0; index < Cards.COUNT; index++) {
+            if (!Cards.contains(dealt, Card.of(index))) {
+                undealt[i++] = index;
+            }
+        }
+        return undealt;
+    }
+
+    private static int[] unknowns(long[] hands, int unknownHands) {
+        int[] unknowns = new int[unknownHands];
+        int i = 0;
+        for (int hand = 0; hand < hands.length; hand++) {
+            if (hands[hand] == Cards.NONE) {
+                unknowns[i++] = hand;
+            }
+        }
+        return unknowns;
+    }
+
+    /*
+     * The number of ways to deal the missing board cards and the unknown hands, or
+     * anything above EXACT_LIMIT once it gets there.
+     */
+    static long deals(int undealt, int missing, int unknownHands) {
+        long deals = combinations(undealt, missing);
+        int left = undealt - missing;
+        for (int hand = 0; hand < unknownHands && deals <= EXACT_LIMIT; hand++) {
+            deals *= combinations(left, 2);
+            left -= 2;
+        }
+        return deals;
+    }
+
+    static long combinations(int n, int k) {
+        long combinations = 1;
+        for (int i = 0; i < k; i++) {
+            combinations = combinations * (n - i) / (i + 1);
+        }
+        return combinations;
+    }
+
+    /*
+     * Per hand the sum and sum of squares of its pot share over the evaluated boards.
+     */
+    private static class Tally {
+        private final double[] shares;
+        private final double[] squares;
+        private final int[] scores;
+        private long boards;
+
+        Tally(int hands) {
+            shares = new double[hands];
+            squares = new double[hands];
+            scores = new int[hands];
+        }
+
+        void add(long[] hands, long board) {
+            int best = -1;
+            int winners = 0;
+            for (int hand = 0; hand < hands.length; hand++) {
+                int score = HandEvaluator.evaluate(board | hands[hand]);
+                scores[hand] = score;
+                if (score > best) {
+                    best = score;
+                    winners = 1;
+                } else if (score == best) {
+                    winners++;
+                }
+            }
+            double share = 1.0 / winners;
+            for (int hand = 0; hand < hands.length; hand++) {
+                if (scores[hand] == best) {
+                    shares[hand] += share;
+                    squares[hand] += share * share;
+                }
+            }
+            boards++;
+        }
+
+        Tally merge(Tally other) {
+            for (int hand = 0; hand < shares.length; hand++) {
+                shares[hand] += other.shares[hand];
+                squares[hand] += other.squares[hand];
+            }
+            boards += other.boards;
+            return this;
+        }
+
+        double standardError() {
+            double max = 0;
+            for (int hand = 0; hand < shares.length; hand++) {
+                double mean = shares[hand] / boards;
+                double variance = Math.max(0, squares[hand] / boards - mean * mean);
+                max = Math.max(max, Math.sqrt(variance / boards));
+            }
+            return max;
+        }
+
+        Equity toEquity(boolean exact) {
+            double[] equities = new double[shares.length];
+            for (int hand = 0; hand < shares.length; hand++) {
+                equities[hand] = shares[hand] / boards;
+            }
+            return new Equity(equities, boards, exact, exact ? 0 : standardError());
+        }
+    }
+}
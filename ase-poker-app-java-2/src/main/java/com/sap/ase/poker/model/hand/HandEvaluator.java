@@ -0,0 +1,159 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
+
+import java.util.Collection;
+
+/*
+ * Ranks poker hands of up to seven cards. A hand is a card mask as described in Cards,
+ * 13 bits per suit (bit 0 of a suit is a two, bit 12 an ace). Evaluation works on the
+ * four 13-bit suit masks: rank multiplicities are derived with a few bitwise operations
+ * and straights and kickers are read from tables precomputed over all 8192 rank masks,
+ * so evaluating a hand does not allocate.
+ *
+ * The returned score is HandCategory.ordinal() << 26 | primary ranks << 13 | kickers,
+ * where primary ranks and kickers are rank masks. A higher score is a better hand and
+ * equal scores split the pot.
+ */
+public final class HandEvaluator {
+
+    private static final int RANKS = Cards.KINDS;
+    private static final int RANK_MASK = (1 << RANKS) - 1;
+    private static final int CATEGORY_SHIFT = 26;
+    private static final int WHEEL = 0b1_0000_0000_1111;
+
+    // rank bit of the highest card of the best straight in a rank mask, 0 if there is none
+    private static final short[] STRAIGHT_HIGH = new short[1 << RANKS];
+
+    // the n highest rank bits of a rank mask, indexed [n][mask]
+    private static final short[][] TOP_RANKS = new short[6][1 << RANKS];
+
+    static {
+        for (int ranks = 0; ranks <= RANK_MASK; ranks++) {
+            STRAIGHT_HIGH[ranks] = (short) straightHigh(ranks);
+            int remaining = ranks;
+            int top = 0;
+            for (int n = 1; n <= 5; n++) {
+                top |= Integer.highestOneBit(remaining);
+                remaining &= ~top;
+                TOP_RANKS[n][ranks] = (short) top;
+            }
+        }
+    }
+
+    private HandEvaluator() {
+    }
+
+    public static int evaluate(long cards) {
+        int s0 = (int) cards & RANK_MASK;
+        int s1 = (int) (cards >>> RANKS) & RANK_MASK;
+        int s2 = (int) (cards >>> 2 * RANKS) & RANK_MASK;
+        int s3 = (int) (cards >>> 3 * RANKS) & RANK_MASK;
+        int ranks = s0 | s1 | s2 | s3;
+
+        int flush = 0;
+        if (Integer.bitCount(s0) >= 5) {
+            flush = s0;
+        } else if (Integer.bitCount(s1) >= 5) {
+            flush = s1;
+        } else if (Integer.bitCount(s2) >= 5) {
+            flush = s2;
+        } else if (Integer.bitCount(s3) >= 5) {
+            flush = s3;
+        }
+        if (flush != 0 && STRAIGHT_HIGH[flush] != 0) {
+            return score(HandCategory.STRAIGHT_FLUSH, STRAIGHT_HIGH[flush], 0);
+        }
+
+        int fours = s0 & s1 & s2 & s3;
+        if (fours != 0) {
+            return score(HandCategory.FOUR_OF_A_KIND, fours, TOP_RANKS[1][ranks & ~fours]);
+        }
+        int threes = (s0 & s1 & s2) | (s0 & s1 & s3) | (s0 & s2 & s3) | (s1 & s2 & s3);
+        int pairs = ((s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3)) & ~threes;
+        if (threes != 0) {
+            int three = TOP_RANKS[1][threes];
+            int pairForFullHouse = (threes & ~three) | pairs;
+            if (pairForFullHouse != 0) {
+                return score(HandCategory.FULL_HOUSE, three, TOP_RANKS[1][pairForFullHouse]);
+            }
+        }
+        if (flush != 0) {
+            return score(HandCategory.FLUSH, TOP_RANKS[5][flush], 0);
+        }
+        if (STRAIGHT_HIGH[ranks] != 0) {
+            return score(HandCategory.STRAIGHT, STRAIGHT_HIGH[ranks], 0);
+        }
+        if (threes != 0) {
+            return score(HandCategory.THREE_OF_A_KIND, threes, TOP_RANKS[2][ranks & ~threes]);
+        }
+        if (Integer.bitCount(pairs) >= 2) {
+            int twoPairs = TOP_RANKS[2][pairs];
+            return score(HandCategory.TWO_PAIR, twoPairs, TOP_RANKS[1][ranks & ~twoPairs]);
+        }
+        if (pairs != 0) {
+            return score(HandCategory.ONE_PAIR, pairs, TOP_RANKS[3][ranks & ~pairs]);
+        }
+        return score(HandCategory.HIGH_CARD, TOP_RANKS[5][ranks], 0);
+    }
+
+    public static int evaluate(Collection<Card> cards) {
+        return evaluate(Cards.mask(cards));
+    }
+
+    public static HandCategory category(int score) {
+        return HandCategory.values()[score >>> CATEGORY_SHIFT];
+    }
+
+    /*
+     * The five of the given cards that make up the best hand. Tries all subsets, meant
+     * for presenting a result rather than for ranking.
+     */
+    public static long bestFive(long cards) {
+        int count = Long.bitCount(cards);
+        if (count <= 5) {
+            return cards;
+        }
+        long[] singleCards = new long[count];
+        int index = 0;
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            singleCards[index++] = Long.lowestOneBit(remaining);
+        }
+        long best = 0;
+        int bestScore = -1;
+        // visit all subsets of five of the cards' indexes in increasing order (Gosper's hack)
+        for (int subset = 0b11111; subset < 1 << count; subset = nextSubset(subset)) {
+            long hand = 0;
+            for (int bits = subset; bits != 0; bits &= bits - 1) {
+                hand |= singleCards[Integer.numberOfTrailingZeros(bits)];
+            }
+            int score = evaluate(hand);
+            if (score > bestScore) {
+                bestScore = score;
+                best = hand;
+            }
+        }
+        return best;
+    }
+
+    private static int score(HandCategory category, int primary, int kickers) {
+        return category.ordinal() << CATEGORY_SHIFT | primary << RANKS | kickers;
+    }
+
+    private static int nextSubset(int subset) {
+        int lowest = subset & -subset;
+        int ripple = subset + lowest;
+        return (((ripple ^ subset) >>> 2) / lowest) | ripple;
+    }
+
+    private static int straightHigh(int ranks) {
+        for (int high = RANKS - 1; high >= 4; high--) {
+            int straight = 0b11111 << (high - 4);
+            if ((ranks & straight) == straight) {
+                return 1 << high;
+            }
+        }
+        return (ranks & WHEEL) == WHEEL ? 1 << 3 : 0;
+    }
+}
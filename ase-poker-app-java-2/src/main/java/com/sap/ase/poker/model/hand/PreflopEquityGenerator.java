@@ -0,0 +1,86 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Cards;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Offline tool that simulates the preflop equity of every starting hand class against
+ * 1 to 8 random hands and writes the file read by PreflopEquityTable. The bundled table
+ * was generated with
+ *
+ *   java -cp target/classes com.sap.ase.poker.model.hand.PreflopEquityGenerator \
+ *       src/main/resources/preflop-equity.bin 0.001 2022
+ *
+ * (output file, standard error per entry, seed).
+ */
+public class PreflopEquityGenerator {
+
+    private final EquityCalculator equityCalculator;
+    private final double precision;
+    private final long seed;
+
+    public PreflopEquityGenerator(EquityCalculator equityCalculator, double precision, long seed) {
+        this.equityCalculator = equityCalculator;
+        this.precision = precision;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: PreflopEquityGenerator <file> [precision] [seed]");
+            System.exit(1);
+        }
+        double precision = args.length > 1 ? Double.parseDouble(args[1]) : 0.001;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        new PreflopEquityGenerator(new EquityCalculator(ForkJoinPool.commonPool()), precision, seed)
+                .write(Paths.get(args[0]));
+    }
+
+    public ByteBuffer generate() {
+        ByteBuffer table = ByteBuffer.allocate(PreflopEquityTable.SIZE_BYTES);
+        table.putInt(PreflopEquityTable.MAGIC);
+        table.putShort(PreflopEquityTable.FORMAT_VERSION);
+        table.put((byte) PreflopEquityTable.MIN_PLAYERS);
+        table.put((byte) PreflopEquityTable.MAX_PLAYERS);
+        table.putShort((short) StartingHands.COUNT);
+        for (int handClass = 0; handClass < StartingHands.COUNT; handClass++) {
+            for (int players = PreflopEquityTable.MIN_PLAYERS; players <= PreflopEquityTable.MAX_PLAYERS; players++) {
+                long[] hands = new long[players];
+                hands[0] = StartingHands.representative(handClass);
+                Equity equity = equityCalculator.calculate(hands, Cards.NONE, precision, Duration.ofMinutes(1),
+                        seed + handClass * PreflopEquityTable.PLAYER_COUNTS + players);
+                table.putShort(PreflopEquityTable.offset(handClass, players),
+                        (short) Math.round(equity.get(0) * PreflopEquityTable.SCALE));
+            }
+        }
+        table.position(0);
+        return table;
+    }
+
+    /*
+     * Writes to a temporary file first, so that an interrupted run does not leave a
+     * truncated table behind.
+     */
+    public void write(Path file) throws IOException {
+        ByteBuffer table = generate();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (table.hasRemaining()) {
+                channel.write(table);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.sap.ase.poker.model.hand;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Preflop equity of each starting hand class against 1 to 8 random hands, read from a
+ * file written by PreflopEquityGenerator. The file is memory mapped, lookups read two
+ * bytes from the mapping and allocate nothing.
+ *
+ * Format (big endian): int magic "PFEQ", short format version, byte minimum and byte
+ * maximum number of players, short number of hand classes, then per hand class and
+ * number of players the equity as an unsigned short fraction of 65535.
+ */
+public class PreflopEquityTable {
+
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 9;
+
+    static final int MAGIC = 0x50464551;
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 10;
+    static final int PLAYER_COUNTS = MAX_PLAYERS - MIN_PLAYERS + 1;
+    static final int SIZE_BYTES = HEADER_BYTES + StartingHands.COUNT * PLAYER_COUNTS * 2;
+    static final double SCALE = 0xFFFF;
+
+    private final ByteBuffer equities;
+
+    PreflopEquityTable(ByteBuffer equities) {
+        if (equities.capacity() != SIZE_BYTES
+                || equities.getInt(0) != MAGIC
+                || equities.getShort(4) != FORMAT_VERSION
+                || equities.get(6) != MIN_PLAYERS
+                || equities.get(7) != MAX_PLAYERS
+                || equities.getShort(8) != StartingHands.COUNT) {
+            throw new IllegalArgumentException("not a preflop equity table of format version " + FORMAT_VERSION);
+        }
+        this.equities = equities;
+    }
+
+    public static PreflopEquityTable map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PreflopEquityTable(mapped);
+        }
+    }
+
+    public double equity(int handClass, int players) {
+        if (handClass < 0 || handClass >= StartingHands.COUNT || players < MIN_PLAYERS || players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("no equity for hand class " + handClass + " and " + players + " players");
+        }
+        return (equities.getShort(offset(handClass, players)) & 0xFFFF) / SCALE;
+    }
+
+    public double equity(long holeCards, int players) {
+        return equity(StartingHands.classOf(holeCards), players);
+    }
+
+    static int offset(int handClass, int players) {
+        return HEADER_BYTES + (handClass * PLAYER_COUNTS + players - MIN_PLAYERS) * 2;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+
+/*
+ * The 169 classes of starting hands, numbered as a 13x13 grid of rank ordinals: pairs on
+ * the diagonal, suited hands at [high][low] and offsuit hands at [low][high].
+ */
+public final class StartingHands {
+
+    public static final int COUNT = Cards.KINDS * Cards.KINDS;
+
+    private static final String KIND_NAMES = "23456789TJQKA";
+
+    private StartingHands() {
+    }
+
+    public static int classOf(long holeCards) {
+        if (Cards.count(holeCards) != 2) {
+            throw new IllegalArgumentException("starting hands have two cards");
+        }
+        Card first = Card.of(Long.numberOfTrailingZeros(holeCards));
+        Card second = Card.of(63 - Long.numberOfLeadingZeros(holeCards));
+        int high = Math.max(first.kind.ordinal(), second.kind.ordinal());
+        int low = Math.min(first.kind.ordinal(), second.kind.ordinal());
+        return first.suit == second.suit ? high * Cards.KINDS + low : low * Cards.KINDS + high;
+    }
+
+    /*
+     * Two cards of the given class.
+     */
+    public static long representative(int handClass) {
+        int row = handClass / Cards.KINDS;
+        int column = handClass % Cards.KINDS;
+        Kind high = Kind.values()[Math.max(row, column)];
+        Kind low = Kind.values()[Math.min(row, column)];
+        if (row == column) {
+            return Card.of(high, Suit.DIAMONDS).mask() | Card.of(low, Suit.HEARTS).mask();
+        }
+        Suit lowSuit = row > column ? Suit.SPADES : Suit.HEARTS;
+        return Card.of(high, Suit.SPADES).mask() | Card.of(low, lowSuit).mask();
+    }
+
+    /*
+     * Conventional name of a class, e.g. "AA", "AKs" or "72o".
+     */
+    public static String name(int handClass) {
+        int row = handClass / Cards.KINDS;
+        int column = handClass % Cards.KINDS;
+        String ranks = "" + KIND_NAMES.charAt(Math.max(row, column)) + KIND_NAMES.charAt(Math.min(row, column));
+        if (row == column) {
+            return ranks;
+        }
+        return ranks + (row > column ? "s" : "o");
+    }
+}
@@ -0,0 +1,212 @@
+package com.sap.ase.poker.recovery;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.service.TableService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * A command accepted by a table, as written to the write-ahead log: format version,
+ * type, table id, the table's command sequence number, then the arguments.
+ */
+public class TableCommand {
+
+    static final byte FORMAT_VERSION = 2;
+
+    public enum Type {
+        // appended only, the ordinal is what is written
+        PLAYER_ADDED, HAND_STARTED, ACTION, PLAYER_REMOVED, BLINDS_POSTED, TABLE_CLOSED
+    }
+
+    private final Type type;
+    private final String tableId;
+    private final long sequence;
+    private String playerId;
+    private String playerName;
+    private int cash;
+    private List<Card> deck = Collections.emptyList();
+    private String action;
+    private int amount;
+    private int smallBlind;
+    private int bigBlind;
+
+    private TableCommand(Type type, String tableId, long sequence) {
+        this.type = type;
+        this.tableId = tableId;
+        this.sequence = sequence;
+    }
+
+    public static TableCommand playerAdded(String tableId, long sequence, String playerId, String playerName,
+                                           int cash) {
+        TableCommand command = new TableCommand(Type.PLAYER_ADDED, tableId, sequence);
+        command.playerId = playerId;
+        command.playerName = playerName;
+        command.cash = cash;
+        return command;
+    }
+
+    public static TableCommand playerRemoved(String tableId, long sequence, String playerId) {
+        TableCommand command = new TableCommand(Type.PLAYER_REMOVED, tableId, sequence);
+        command.playerId = playerId;
+        return command;
+    }
+
+    public static TableCommand handStarted(String tableId, long sequence, List<Card> deck) {
+        TableCommand command = new TableCommand(Type.HAND_STARTED, tableId, sequence);
+        command.deck = deck;
+        return command;
+    }
+
+    public static TableCommand action(String tableId, long sequence, String action, int amount) {
+        TableCommand command = new TableCommand(Type.ACTION, tableId, sequence);
+        command.action = action;
+        command.amount = amount;
+        return command;
+    }
+
+    public static TableCommand blindsPosted(String tableId, long sequence, int smallBlind, int bigBlind) {
+        TableCommand command = new TableCommand(Type.BLINDS_POSTED, tableId, sequence);
+        command.smallBlind = smallBlind;
+        command.bigBlind = bigBlind;
+        return command;
+    }
+
+    /*
+     * Marks the end of a table that was removed; recovery drops what it read of the
+     * table before.
+     */
+    public static TableCommand tableClosed(String tableId, long sequence) {
+        return new TableCommand(Type.TABLE_CLOSED, tableId, sequence);
+    }
+
+    /*
+     * Runs the command again through the table's public operations.
+     */
+    public void applyTo(TableService table) {
+        switch (type) {
+            case PLAYER_ADDED:
+                table.addPlayer(playerId, playerName, cash);
+                break;
+            case HAND_STARTED:
+                table.start(Deck.ordered(deck));
+                break;
+            case ACTION:
+                table.performAction(action, amount);
+                break;
+            case PLAYER_REMOVED:
+                table.removePlayer(playerId);
+                break;
+            case BLINDS_POSTED:
+                table.postBlinds(smallBlind, bigBlind);
+                break;
+            case TABLE_CLOSED:
+                table.close();
+                break;
+        }
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(type.ordinal());
+            writeString(out, tableId);
+            out.writeLong(sequence);
+            switch (type) {
+                case PLAYER_ADDED:
+                    writeString(out, playerId);
+                    writeString(out, playerName);
+                    out.writeInt(cash);
+                    break;
+                case HAND_STARTED:
+                    out.writeByte(deck.size());
+                    for (Card card : deck) {
+                        out.writeByte(card.index());
+                    }
+                    break;
+                case ACTION:
+                    writeString(out, action);
+                    out.writeInt(amount);
+                    break;
+                case PLAYER_REMOVED:
+                    writeString(out, playerId);
+                    break;
+                case BLINDS_POSTED:
+                    out.writeInt(smallBlind);
+                    out.writeInt(bigBlind);
+                    break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static TableCommand decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version != FORMAT_VERSION && version != 1) {
+            throw new IllegalArgumentException("unknown table command format version " + version);
+        }
+        TableCommand command = new TableCommand(Type.values()[in.get()], readString(in), in.getLong());
+        switch (command.type) {
+            case PLAYER_ADDED:
+                command.playerId = readString(in);
+                command.playerName = readString(in);
+                // version 1 had no cash, every player joined with 100
+                command.cash = version == 1 ? 100 : in.getInt();
+                break;
+            case HAND_STARTED:
+                int cards = in.get();
+                command.deck = new ArrayList<>(cards);
+                for (int i = 0; i < cards; i++) {
+                    command.deck.add(Card.of(in.get()));
+                }
+                break;
+            case ACTION:
+                command.action = readString(in);
+                command.amount = in.getInt();
+                break;
+            case PLAYER_REMOVED:
+                command.playerId = readString(in);
+                break;
+            case BLINDS_POSTED:
+                command.smallBlind = in.getInt();
+                command.bigBlind = in.getInt();
+                break;
+        }
+        return command;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
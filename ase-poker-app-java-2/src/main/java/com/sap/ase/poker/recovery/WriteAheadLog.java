@@ -0,0 +1,313 @@
+package com.sap.ase.poker.recovery;
+
+import com.sap.ase.poker.journal.Journal;
+import com.sap.ase.poker.journal.SegmentedJournal;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.service.CommandLog;
+import com.sap.ase.poker.service.TablePersistence;
+import com.sap.ase.poker.service.TableService;
+import com.sap.ase.poker.service.TableState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/*
+ * Persists tables as a write-ahead log of their commands in journal segments plus
+ * checkpoints. A checkpoint rolls the log to a new segment n, then writes the states
+ * of all tables, captured after the roll, to snapshot-n; every command in segments
+ * before n is then covered by the snapshot and those segments are deleted.
+ *
+ * Recovery loads the newest intact snapshot and replays the commands of segments from
+ * its number on whose sequence number is past the table's snapshot, so it only reads
+ * what was logged since the last checkpoint. A table that was closed is not recovered.
+ */
+public class WriteAheadLog implements TablePersistence, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x54534E50;
+    private static final byte SNAPSHOT_FORMAT_VERSION = 1;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private final Path directory;
+    private final SegmentedJournal journal;
+
+    public WriteAheadLog(Path directory, SegmentedJournal journal) {
+        this.directory = directory;
+        this.journal = journal;
+    }
+
+    @Override
+    public CommandLog forTable(String tableId) {
+        return new TableCommandLog(tableId);
+    }
+
+    @Override
+    public Map<String, Consumer<TableService>> recover() {
+        try {
+            long start = System.nanoTime();
+            Map<String, TableState> states = new LinkedHashMap<>();
+            long snapshot = readLatestSnapshot(states);
+            Map<String, List<TableCommand>> commands = new LinkedHashMap<>();
+            int commandCount = 0;
+            for (long segment : journal.segments()) {
+                if (segment < snapshot) {
+                    continue;
+                }
+                List<TableCommand> segmentCommands = new ArrayList<>();
+                Journal.read(journal.segmentFile(segment),
+                        (offset, record) -> segmentCommands.add(TableCommand.decode(record)));
+                for (TableCommand command : segmentCommands) {
+                    TableState state = states.get(command.getTableId());
+                    if (command.getType() == TableCommand.Type.TABLE_CLOSED) {
+                        states.remove(command.getTableId());
+                        List<TableCommand> dropped = commands.remove(command.getTableId());
+                        commandCount -= dropped == null ? 0 : dropped.size();
+                    } else if (state == null || command.getSequence() > state.getSequence()) {
+                        List<TableCommand> tableCommands = commands.computeIfAbsent(command.getTableId(),
+                                id -> new ArrayList<>());
+                        // a table recovered up to a gap numbers its commands from the gap on
+                        // again; what it logged after the gap back then was never acknowledged
+                        while (!tableCommands.isEmpty()
+                                && tableCommands.get(tableCommands.size() - 1).getSequence() >= command.getSequence()) {
+                            tableCommands.remove(tableCommands.size() - 1);
+                            commandCount--;
+                        }
+                        tableCommands.add(command);
+                        commandCount++;
+                    }
+                }
+            }
+
+            Map<String, Consumer<TableService>> tables = new LinkedHashMap<>();
+            for (Map.Entry<String, TableState> state : states.entrySet()) {
+                tables.put(state.getKey(), table -> table.restore(state.getValue()));
+            }
+            for (Map.Entry<String, List<TableCommand>> tableCommands : commands.entrySet()) {
+                String tableId = tableCommands.getKey();
+                TableState state = states.get(tableId);
+                long sequence = state == null ? 0 : state.getSequence();
+                tables.put(tableId, table -> {
+                    if (state != null) {
+                        table.restore(state);
+                    }
+                    replay(tableId, sequence, tableCommands.getValue(), table);
+                });
+            }
+            LOGGER.info("Recovering {} tables from snapshot {} and {} logged commands, read in {} ms",
+                    tables.size(), snapshot, commandCount, (System.nanoTime() - start) / 1_000_000);
+            return tables;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to recover tables from " + directory, e);
+        }
+    }
+
+    private static void replay(String tableId, long sequence, List<TableCommand> commands, TableService table) {
+        for (TableCommand command : commands) {
+            if (command.getSequence() != sequence + 1) {
+                LOGGER.error("Command {} of table {} is missing from the log, recovered up to command {}",
+                        sequence + 1, tableId, sequence);
+                return;
+            }
+            try {
+                command.applyTo(table);
+            } catch (RuntimeException e) {
+                LOGGER.error("Replaying command {} of table {} failed, recovered up to command {}",
+                        command.getSequence(), tableId, sequence, e);
+                return;
+            }
+            sequence++;
+        }
+    }
+
+    @Override
+    public long beginCheckpoint() {
+        try {
+            return journal.roll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to start a new log segment in " + directory, e);
+        }
+    }
+
+    @Override
+    public void completeCheckpoint(long checkpoint, Map<String, TableState> tables) {
+        try {
+            writeSnapshot(checkpoint, tables);
+            for (long snapshot : snapshots()) {
+                if (snapshot < checkpoint) {
+                    Files.deleteIfExists(snapshotFile(snapshot));
+                }
+            }
+            journal.deleteBefore(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write snapshot " + checkpoint + " to " + directory, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private void writeSnapshot(long checkpoint, Map<String, TableState> tables) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tables.size() * 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeByte(SNAPSHOT_FORMAT_VERSION);
+            out.writeInt(tables.size());
+            for (Map.Entry<String, TableState> table : tables.entrySet()) {
+                byte[] id = table.getKey().getBytes(StandardCharsets.UTF_8);
+                byte[] state = table.getValue().encode();
+                out.writeShort(id.length);
+                out.write(id);
+                out.writeInt(state.length);
+                out.write(state);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        ByteBuffer snapshot = ByteBuffer.allocate(bytes.size() + 4);
+        snapshot.put(bytes.toByteArray()).putInt((int) crc.getValue()).flip();
+
+        Path file = snapshotFile(checkpoint);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (snapshot.hasRemaining()) {
+                channel.write(snapshot);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Reads the newest snapshot that is intact into states and returns its number, or 0
+     * if there is none.
+     */
+    private long readLatestSnapshot(Map<String, TableState> states) throws IOException {
+        List<Long> snapshots = snapshots();
+        Collections.reverse(snapshots);
+        for (long snapshot : snapshots) {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(snapshotFile(snapshot)));
+            CRC32 crc = new CRC32();
+            crc.update(in.array(), 0, Math.max(0, in.limit() - 4));
+            if (in.limit() < 13 || in.getInt(in.limit() - 4) != (int) crc.getValue()
+                    || in.getInt() != SNAPSHOT_MAGIC || in.get() != SNAPSHOT_FORMAT_VERSION) {
+                LOGGER.warn("Ignoring damaged snapshot {}", snapshotFile(snapshot));
+                continue;
+            }
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] id = new byte[in.getShort() & 0xFFFF];
+                in.get(id);
+                int length = in.getInt();
+                ByteBuffer state = in.slice();
+                state.limit(length);
+                states.put(new String(id, StandardCharsets.UTF_8), TableState.decode(state));
+                in.position(in.position() + length);
+            }
+            return snapshot;
+        }
+        return 0;
+    }
+
+    private List<Long> snapshots() throws IOException {
+        List<Long> snapshots = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "snapshot-*.bin")) {
+            for (Path file : files) {
+                Matcher matcher = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    snapshots.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        snapshots.sort(null);
+        return snapshots;
+    }
+
+    private Path snapshotFile(long snapshot) {
+        return directory.resolve(String.format("snapshot-%06d.bin", snapshot));
+    }
+
+    private class TableCommandLog implements CommandLog {
+        private final String tableId;
+        private CompletableFuture<Void> logged = CompletableFuture.completedFuture(null);
+
+        TableCommandLog(String tableId) {
+            this.tableId = tableId;
+        }
+
+        @Override
+        public void playerAdded(long sequence, String playerId, String playerName, int cash) {
+            append(TableCommand.playerAdded(tableId, sequence, playerId, playerName, cash));
+        }
+
+        @Override
+        public void playerRemoved(long sequence, String playerId) {
+            append(TableCommand.playerRemoved(tableId, sequence, playerId));
+        }
+
+        @Override
+        public void handStarted(long sequence, List<Card> deck) {
+            append(TableCommand.handStarted(tableId, sequence, new ArrayList<>(deck)));
+        }
+
+        @Override
+        public void blindsPosted(long sequence, int smallBlind, int bigBlind) {
+            append(TableCommand.blindsPosted(tableId, sequence, smallBlind, bigBlind));
+        }
+
+        @Override
+        public void actionPerformed(long sequence, String action, int amount) {
+            append(TableCommand.action(tableId, sequence, action, amount));
+        }
+
+        @Override
+        public void tableClosed(long sequence) {
+            append(TableCommand.tableClosed(tableId, sequence));
+        }
+
+        @Override
+        public CompletableFuture<Void> logged() {
+            return logged;
+        }
+
+        private void append(TableCommand command) {
+            if (logged.isCompletedExceptionally()) {
+                // the table is fenced, commands after the lost one could not be replayed
+                return;
+            }
+            CompletableFuture<Long> append = journal.append(command.encode());
+            append.whenComplete((offset, error) -> {
+                if (error != null) {
+                    LOGGER.error("Failed to log command {} of table {}", command.getSequence(), tableId, error);
+                }
+            });
+            logged = logged.thenCombine(append, (previous, offset) -> null);
+        }
+    }
+}
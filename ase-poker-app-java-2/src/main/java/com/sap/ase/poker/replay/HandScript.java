@@ -0,0 +1,167 @@
+package com.sap.ase.poker.replay;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.SeededCardShuffler;
+
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Everything needed to play one hand again: the seats with their cash, the deck, and
+ * the actions in the order they were taken. The deck is either given by a seed for
+ * SeededCardShuffler, for generated hands, or as the recorded order of the cards.
+ *
+ * A script may carry the blinds posted before the first action, as tournament tables
+ * post them, and the recorded outcome, winners and pot, which a replay is then
+ * checked against.
+ */
+public class HandScript {
+
+    private static final List<Card> CARDS = new PokerCardsSupplier().get();
+
+    public static class Seat {
+        private final String playerId;
+        private final String name;
+        private final int cash;
+
+        public Seat(String playerId, String name, int cash) {
+            this.playerId = playerId;
+            this.name = name;
+            this.cash = cash;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCash() {
+            return cash;
+        }
+    }
+
+    public static class Action {
+        private final String playerId;
+        private final String type;
+        private final int amount;
+
+        public Action(String playerId, String type, int amount) {
+            this.playerId = playerId;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+    }
+
+    private final String id;
+    private final long seed;
+    private final List<Card> deck;
+    private final List<Seat> seats;
+    private final List<Action> actions;
+    private String smallBlindId;
+    private int smallBlind;
+    private int bigBlind;
+    private List<String> expectedWinnerIds;
+    private int expectedPot;
+
+    private HandScript(String id, long seed, List<Card> deck, List<Seat> seats, List<Action> actions) {
+        this.id = id;
+        this.seed = seed;
+        this.deck = deck;
+        this.seats = seats;
+        this.actions = actions;
+    }
+
+    public static HandScript seeded(String id, long seed, List<Seat> seats, List<Action> actions) {
+        return new HandScript(id, seed, null, seats, actions);
+    }
+
+    public static HandScript dealt(String id, List<Card> deck, List<Seat> seats, List<Action> actions) {
+        return new HandScript(id, 0, deck, seats, actions);
+    }
+
+    /*
+     * The blinds posted before the first action, the small blind by the given player
+     * and the big blind by the next.
+     */
+    public HandScript withBlinds(String smallBlindId, int smallBlind, int bigBlind) {
+        this.smallBlindId = smallBlindId;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        return this;
+    }
+
+    public HandScript expecting(List<String> winnerIds, int pot) {
+        this.expectedWinnerIds = winnerIds;
+        this.expectedPot = pot;
+        return this;
+    }
+
+    /*
+     * A new deck, in the order the cards will be drawn.
+     */
+    public Deck newDeck() {
+        if (deck != null) {
+            return Deck.ordered(deck);
+        }
+        Deck seeded = new Deck(CARDS, new SeededCardShuffler(seed));
+        seeded.shuffle();
+        return seeded;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<Seat> getSeats() {
+        return seats;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    public boolean hasBlinds() {
+        return smallBlindId != null;
+    }
+
+    public String getSmallBlindId() {
+        return smallBlindId;
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    public boolean hasExpectedOutcome() {
+        return expectedWinnerIds != null;
+    }
+
+    public List<String> getExpectedWinnerIds() {
+        return expectedWinnerIds == null ? Collections.emptyList() : expectedWinnerIds;
+    }
+
+    public int getExpectedPot() {
+        return expectedPot;
+    }
+}
@@ -0,0 +1,121 @@
+package com.sap.ase.poker.replay;
+
+import com.sap.ase.poker.history.HandRecord;
+import com.sap.ase.poker.journal.Journal;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*
+ * Turns the hand history journal back into scripts, one per finished hand.
+ *
+ * The history does not record the deck, so it is rebuilt in the order TableService
+ * draws: two hole cards per seat, then a burn card before the flop, the turn and the
+ * river. Burn cards and cards that were never dealt are filled in from the unused
+ * cards in index order; a replay that follows the recorded hand never sees them.
+ */
+public final class HandScripts {
+
+    private HandScripts() {
+    }
+
+    /*
+     * Passes the script of every finished hand in the file to scripts, in the order the
+     * hands ended. Returns the number of hands that were started but never finished.
+     */
+    public static long read(Path historyFile, Consumer<HandScript> scripts) throws IOException {
+        Map<String, HandBuilder> hands = new HashMap<>();
+        long[] abandoned = {0};
+        Journal.read(historyFile, (offset, payload) -> {
+            HandRecord record = HandRecord.decode(payload);
+            String id = record.getTableId() + "/" + record.getHand();
+            if (record.getType() == HandRecord.Type.HAND_STARTED) {
+                if (hands.put(id, new HandBuilder(id, record.getSeats())) != null) {
+                    abandoned[0]++;
+                }
+                return;
+            }
+            HandBuilder hand = hands.get(id);
+            if (hand == null) {
+                return;
+            }
+            switch (record.getType()) {
+                case BLINDS_POSTED:
+                    hand.blinds = record;
+                    break;
+                case ACTION:
+                    hand.actions.add(new HandScript.Action(record.getPlayerId(), record.getAction(), record.getAmount()));
+                    break;
+                case COMMUNITY_CARDS:
+                    hand.board = record.getCards();
+                    break;
+                case HAND_ENDED:
+                    hands.remove(id);
+                    scripts.accept(hand.build().expecting(record.getWinnerIds(), record.getAmount()));
+                    break;
+                default:
+                    break;
+            }
+        });
+        return abandoned[0] + hands.size();
+    }
+
+    private static class HandBuilder {
+        private final String id;
+        private final List<HandRecord.Seat> seats;
+        private final List<HandScript.Action> actions = new ArrayList<>();
+        private List<Card> board = new ArrayList<>();
+        private HandRecord blinds;
+
+        HandBuilder(String id, List<HandRecord.Seat> seats) {
+            this.id = id;
+            this.seats = seats;
+        }
+
+        HandScript build() {
+            long used = Cards.mask(board);
+            for (HandRecord.Seat seat : seats) {
+                used |= Cards.mask(seat.getHoleCards());
+            }
+            long unused = Cards.ALL & ~used;
+
+            List<Card> deck = new ArrayList<>(Cards.COUNT);
+            List<HandScript.Seat> scriptSeats = new ArrayList<>(seats.size());
+            for (HandRecord.Seat seat : seats) {
+                scriptSeats.add(new HandScript.Seat(seat.getPlayerId(), seat.getName(), seat.getCash()));
+                List<Card> holeCards = seat.getHoleCards();
+                for (int i = 0; i < 2; i++) {
+                    unused = add(deck, i < holeCards.size() ? holeCards.get(i) : null, unused);
+                }
+            }
+            for (int i = 0; i < 5; i++) {
+                if (i == 0 || i >= 3) {
+                    unused = add(deck, null, unused);
+                }
+                unused = add(deck, i < board.size() ? board.get(i) : null, unused);
+            }
+            deck.addAll(Cards.toList(unused));
+            HandScript script = HandScript.dealt(id, deck, scriptSeats, actions);
+            return blinds == null ? script
+                    : script.withBlinds(blinds.getPlayerId(), blinds.getAmount(), blinds.getBigBlind());
+        }
+
+        /*
+         * Adds card, or the lowest unused card if it is null, and returns what is unused then.
+         */
+        private static long add(List<Card> deck, Card card, long unused) {
+            if (card == null) {
+                card = Card.of(Long.numberOfTrailingZeros(unused));
+            }
+            deck.add(card);
+            return unused & ~card.mask();
+        }
+    }
+}
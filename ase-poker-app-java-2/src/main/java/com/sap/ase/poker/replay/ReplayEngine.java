@@ -0,0 +1,184 @@
+package com.sap.ase.poker.replay;
+
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.service.CommandLog;
+import com.sap.ase.poker.service.HandHistory;
+import com.sap.ase.poker.service.TableService;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/*
+ * Plays scripted hands through TableService. A replay depends on nothing but the
+ * script, so the same script always gives the same result, and hands are independent
+ * of each other: a batch replay plays chunks of BATCH_SIZE hands in parallel on the
+ * pool, reading the next chunk while one is played, and reports results in order.
+ */
+public class ReplayEngine {
+
+    static final int BATCH_SIZE = 4096;
+
+    /*
+     * Produces scripts, e.g. consumer -> HandScripts.read(file, consumer).
+     */
+    public interface ScriptSource {
+        void forEach(Consumer<HandScript> scripts) throws IOException;
+    }
+
+    private final ForkJoinPool pool;
+
+    public ReplayEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ReplayEngine <hand-history.journal> [parallelism]");
+            System.exit(1);
+        }
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ReplayEngine engine = new ReplayEngine(new ForkJoinPool(parallelism));
+        long[] unfinished = {0};
+        ReplaySummary summary = engine.replayAll(
+                scripts -> unfinished[0] = HandScripts.read(Paths.get(args[0]), scripts),
+                result -> {
+                    if (result.getStatus() != ReplayResult.Status.REPRODUCED) {
+                        System.out.println(result);
+                    }
+                });
+        System.out.println(summary + ", " + unfinished[0] + " unfinished hands skipped");
+    }
+
+    public ReplayResult replay(HandScript script) {
+        Outcome outcome = new Outcome();
+        TableService table = new TableService(script::newDeck);
+        for (HandScript.Seat seat : script.getSeats()) {
+            table.addPlayer(seat.getPlayerId(), seat.getName(), seat.getCash());
+        }
+        table.attach(outcome, CommandLog.NONE);
+        try {
+            table.start();
+            if (script.hasBlinds()) {
+                table.postBlinds(seatOf(script, script.getSmallBlindId()), script.getSmallBlind(), script.getBigBlind());
+            }
+            List<HandScript.Action> actions = script.getActions();
+            for (int i = 0; i < actions.size(); i++) {
+                HandScript.Action action = actions.get(i);
+                String toAct = table.getCurrentPlayer().map(Player::getId).orElse(null);
+                if (action.getPlayerId() != null && !action.getPlayerId().equals(toAct)) {
+                    return result(script, table, outcome, ReplayResult.Status.DIVERGED,
+                            "action " + i + " was taken by " + action.getPlayerId() + " but " + toAct + " is to act");
+                }
+                table.performAction(action.getType(), action.getAmount());
+            }
+        } catch (RuntimeException e) {
+            return result(script, table, outcome, ReplayResult.Status.FAILED, e.toString());
+        }
+        if (script.hasExpectedOutcome()) {
+            if (outcome.winnerIds == null) {
+                return result(script, table, outcome, ReplayResult.Status.DIVERGED, "hand did not end");
+            }
+            if (!new HashSet<>(outcome.winnerIds).equals(new HashSet<>(script.getExpectedWinnerIds()))
+                    || outcome.pot != script.getExpectedPot()) {
+                return result(script, table, outcome, ReplayResult.Status.DIVERGED,
+                        "won by " + outcome.winnerIds + " with pot " + outcome.pot + ", recorded "
+                                + script.getExpectedWinnerIds() + " with pot " + script.getExpectedPot());
+            }
+        }
+        return result(script, table, outcome, ReplayResult.Status.REPRODUCED, null);
+    }
+
+    /*
+     * Replays every script of the source and passes the results to results, in the
+     * order of the scripts, on the calling thread.
+     */
+    public ReplaySummary replayAll(ScriptSource source, Consumer<ReplayResult> results) throws IOException {
+        long start = System.nanoTime();
+        BatchReplay batches = new BatchReplay(results);
+        source.forEach(batches);
+        batches.finish();
+        batches.summary.setElapsedNanos(System.nanoTime() - start);
+        return batches.summary;
+    }
+
+    private static int seatOf(HandScript script, String playerId) {
+        List<HandScript.Seat> seats = script.getSeats();
+        for (int seat = 0; seat < seats.size(); seat++) {
+            if (seats.get(seat).getPlayerId().equals(playerId)) {
+                return seat;
+            }
+        }
+        throw new IllegalArgumentException("blinds posted by " + playerId + ", who is not seated");
+    }
+
+    private static ReplayResult result(HandScript script, TableService table, Outcome outcome,
+                                       ReplayResult.Status status, String message) {
+        int pot = outcome.winnerIds == null ? table.getPot() : outcome.pot;
+        return new ReplayResult(script.getId(), status, message, table.getState(), outcome.winnerIds, pot);
+    }
+
+    private static class Outcome implements HandHistory {
+        private List<String> winnerIds;
+        private int pot;
+
+        @Override
+        public void handEnded(int hand, List<Player> winners, int pot, List<Card> winnerHand) {
+            this.winnerIds = winners.stream().map(Player::getId).collect(Collectors.toList());
+            this.pot = pot;
+        }
+    }
+
+    private class BatchReplay implements Consumer<HandScript> {
+        private final Consumer<ReplayResult> results;
+        private final ReplaySummary summary = new ReplaySummary();
+        private List<HandScript> batch = new ArrayList<>(BATCH_SIZE);
+        private ForkJoinTask<List<ReplayResult>> running;
+
+        BatchReplay(Consumer<ReplayResult> results) {
+            this.results = results;
+        }
+
+        @Override
+        public void accept(HandScript script) {
+            batch.add(script);
+            if (batch.size() == BATCH_SIZE) {
+                submit();
+            }
+        }
+
+        void finish() {
+            if (!batch.isEmpty()) {
+                submit();
+            }
+            collect();
+        }
+
+        private void submit() {
+            List<HandScript> scripts = batch;
+            batch = new ArrayList<>(BATCH_SIZE);
+            ForkJoinTask<List<ReplayResult>> next =
+                    pool.submit(() -> scripts.parallelStream().map(ReplayEngine.this::replay).collect(Collectors.toList()));
+            collect();
+            running = next;
+        }
+
+        private void collect() {
+            if (running == null) {
+                return;
+            }
+            for (ReplayResult result : running.join()) {
+                summary.add(result);
+                results.accept(result);
+            }
+            running = null;
+        }
+    }
+}
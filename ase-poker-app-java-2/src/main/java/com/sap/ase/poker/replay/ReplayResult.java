@@ -0,0 +1,63 @@
+package com.sap.ase.poker.replay;
+
+import com.sap.ase.poker.model.GameState;
+
+import java.util.Collections;
+import java.util.List;
+
+public class ReplayResult {
+
+    public enum Status {
+        /* played through all actions and, if recorded, ended with the recorded outcome */
+        REPRODUCED,
+        /* a different player was to act, or the outcome differs from the recorded one */
+        DIVERGED,
+        /* the table rejected an action */
+        FAILED
+    }
+
+    private final String scriptId;
+    private final Status status;
+    private final String message;
+    private final GameState state;
+    private final List<String> winnerIds;
+    private final int pot;
+
+    ReplayResult(String scriptId, Status status, String message, GameState state, List<String> winnerIds, int pot) {
+        this.scriptId = scriptId;
+        this.status = status;
+        this.message = message;
+        this.state = state;
+        this.winnerIds = winnerIds == null ? Collections.emptyList() : winnerIds;
+        this.pot = pot;
+    }
+
+    public String getScriptId() {
+        return scriptId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public List<String> getWinnerIds() {
+        return winnerIds;
+    }
+
+    public int getPot() {
+        return pot;
+    }
+
+    @Override
+    public String toString() {
+        return scriptId + " " + status + (message == null ? "" : ": " + message);
+    }
+}
@@ -0,0 +1,61 @@
+package com.sap.ase.poker.replay;
+
+import java.util.concurrent.TimeUnit;
+
+public class ReplaySummary {
+
+    private long hands;
+    private long reproduced;
+    private long diverged;
+    private long failed;
+    private long elapsedNanos;
+
+    void add(ReplayResult result) {
+        hands++;
+        switch (result.getStatus()) {
+            case REPRODUCED:
+                reproduced++;
+                break;
+            case DIVERGED:
+                diverged++;
+                break;
+            case FAILED:
+                failed++;
+                break;
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public long getReproduced() {
+        return reproduced;
+    }
+
+    public long getDiverged() {
+        return diverged;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public double getHandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hands in %d ms (%.0f hands/s): %d reproduced, %d diverged, %d failed",
+                hands, getElapsedMillis(), getHandsPerSecond(), reproduced, diverged, failed);
+    }
+}
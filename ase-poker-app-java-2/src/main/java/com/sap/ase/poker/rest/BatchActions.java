@@ -0,0 +1,124 @@
+package com.sap.ase.poker.rest;
+
+import com.sap.ase.poker.dto.BatchActionDto;
+import com.sap.ase.poker.dto.BatchActionResultDto;
+import com.sap.ase.poker.model.IllegalActionException;
+import com.sap.ase.poker.model.IllegalAmountException;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableBusyException;
+import com.sap.ase.poker.service.TableRegistry;
+import com.sap.ase.poker.service.TableUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Applies the actions of a batch request, shared by TableController and
+ * ReactiveTableController. Every action is one command of its table, applied
+ * atomically like a single placeBet; the commands are queued in the order of the
+ * batch, so the actions for a table are applied in that order, each against the
+ * state the previous ones left. A rejected action does not stop the batch, its result
+ * says why it was rejected, but the actions after it for the same table are skipped
+ * with 409: they were meant for the state the rejected one would have left, and applied
+ * anyway could act for a different player.
+ */
+final class BatchActions {
+
+	static final int MAX_ACTIONS = 100;
+
+	private BatchActions() {
+	}
+
+	static CompletableFuture<List<BatchActionResultDto>> apply(TableRegistry tableRegistry, MeterRegistry meterRegistry,
+															   List<BatchActionDto> actions) {
+		if (actions == null || actions.isEmpty() || actions.size() > MAX_ACTIONS) {
+			throw new BadRequestException("a batch holds 1 to " + MAX_ACTIONS + " actions");
+		}
+		List<CompletableFuture<BatchActionResultDto>> results = new ArrayList<>(actions.size());
+		// index of the first rejected action by table, read and written on the tables' threads
+		Map<String, AtomicInteger> firstRejected = new HashMap<>();
+		for (int index = 0; index < actions.size(); index++) {
+			BatchActionDto action = actions.get(index);
+			String tableId = action.getTableId() == null ? TableRegistry.DEFAULT_TABLE_ID : action.getTableId();
+			AtomicInteger rejected = firstRejected.computeIfAbsent(tableId, id -> new AtomicInteger(Integer.MAX_VALUE));
+			results.add(apply(tableRegistry, meterRegistry, tableId, action, index, rejected));
+		}
+		return CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+			List<BatchActionResultDto> applied = new ArrayList<>(results.size());
+			for (CompletableFuture<BatchActionResultDto> result : results) {
+				applied.add(result.join());
+			}
+			return applied;
+		});
+	}
+
+	private static CompletableFuture<BatchActionResultDto> apply(TableRegistry tableRegistry, MeterRegistry meterRegistry,
+																 String tableId, BatchActionDto action, int index,
+																 AtomicInteger rejected) {
+		String type = action.getType();
+		Optional<TableActor> table = tableRegistry.find(tableId);
+		if (!table.isPresent()) {
+			return CompletableFuture.completedFuture(
+					new BatchActionResultDto(tableId, type, HttpStatus.NOT_FOUND.value(), "unknown table: " + tableId));
+		}
+		if (rejected.get() < index) {
+			return CompletableFuture.completedFuture(skipped(tableId, type));
+		}
+		Timer.Sample sample = Timer.start(meterRegistry);
+		int amount = action.getArgs() == null || action.getArgs().length == 0 ? 0 : action.getArgs()[0];
+		CompletableFuture<Boolean> applied = table.get().submit(tableService -> {
+			if (rejected.get() < index) {
+				return false;
+			}
+			try {
+				tableService.performAction(type, amount);
+				return true;
+			} catch (RuntimeException e) {
+				rejected.accumulateAndGet(index, Math::min);
+				throw e;
+			}
+		});
+		if (applied.isCompletedExceptionally()) {
+			// refused by a full mailbox, so the later actions for the table must not run either
+			rejected.accumulateAndGet(index, Math::min);
+		}
+		return applied
+				.handle((done, error) -> {
+					Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+					if (cause == null && !done) {
+						return skipped(tableId, type);
+					}
+					String exception = cause == null ? "none" : cause.getClass().getSimpleName();
+					sample.stop(TableController.actionTimer(meterRegistry, type, exception));
+					return new BatchActionResultDto(tableId, type, statusOf(cause).value(),
+							cause == null ? null : cause.getMessage());
+				});
+	}
+
+	private static BatchActionResultDto skipped(String tableId, String type) {
+		return new BatchActionResultDto(tableId, type, HttpStatus.CONFLICT.value(),
+				"skipped, an earlier action of the batch for table " + tableId + " was rejected");
+	}
+
+	private static HttpStatus statusOf(Throwable error) {
+		if (error == null) {
+			return HttpStatus.OK;
+		}
+		if (error instanceof IllegalAmountException || error instanceof IllegalActionException) {
+			return HttpStatus.BAD_REQUEST;
+		}
+		if (error instanceof TableBusyException || error instanceof TableUnavailableException) {
+			return HttpStatus.SERVICE_UNAVAILABLE;
+		}
+		return HttpStatus.INTERNAL_SERVER_ERROR;
+	}
+}
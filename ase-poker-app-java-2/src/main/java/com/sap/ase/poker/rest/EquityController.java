@@ -0,0 +1,156 @@
+package com.sap.ase.poker.rest;
+
+import com.sap.ase.poker.dto.EquityResponseDto;
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Cards;
+import com.sap.ase.poker.model.hand.Equity;
+import com.sap.ase.poker.model.hand.EquityCalculator;
+import com.sap.ase.poker.model.hand.PreflopEquityTable;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableRegistry;
+import com.sap.ase.poker.service.TableService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(TableController.PATH)
+public class EquityController {
+
+	private static final long MAX_TIME_BUDGET_MILLIS = 5000;
+
+	private final TableRegistry tableRegistry;
+
+	private final EquityCalculator equityCalculator;
+
+	private final PreflopEquityTable preflopEquityTable;
+
+	// each calculation runs on the whole common pool, so only a few may run at once
+	private final Semaphore calculations;
+
+	public EquityController(TableRegistry tableRegistry, EquityCalculator equityCalculator,
+							PreflopEquityTable preflopEquityTable,
+							@Value("${poker.equity.max-concurrent-calculations:2}") int maxConcurrentCalculations) {
+		this.tableRegistry = tableRegistry;
+		this.equityCalculator = equityCalculator;
+		this.preflopEquityTable = preflopEquityTable;
+		this.calculations = new Semaphore(maxConcurrentCalculations);
+	}
+
+	@GetMapping("/equity")
+	public EquityResponseDto getEquity(@RequestParam(defaultValue = "0.001") double precision,
+									   @RequestParam(defaultValue = "500") long timeBudgetMillis,
+									   @RequestParam(defaultValue = "0") long seed, Principal principal) {
+		return getEquity(TableRegistry.DEFAULT_TABLE_ID, precision, timeBudgetMillis, seed, principal);
+	}
+
+	/*
+	 * Equity of each player still in the hand, for a player who is in it. The hole cards
+	 * are read on the table's thread, the calculation runs off it, against unknown
+	 * opponent cards, so that the response does not reveal their hands; before the flop
+	 * that is a lookup in the precomputed preflop table. Anybody else, folded players
+	 * and spectators included, is refused, as is a calculation while
+	 * poker.equity.max-concurrent-calculations others are running.
+	 */
+	@GetMapping("/tables/{tableId}/equity")
+	public EquityResponseDto getEquity(@PathVariable String tableId,
+									   @RequestParam(defaultValue = "0.001") double precision,
+									   @RequestParam(defaultValue = "500") long timeBudgetMillis,
+									   @RequestParam(defaultValue = "0") long seed, Principal principal) {
+		if (precision <= 0 || timeBudgetMillis <= 0 || timeBudgetMillis > MAX_TIME_BUDGET_MILLIS) {
+			throw new BadRequestException("precision must be positive and timeBudgetMillis between 1 and "
+					+ MAX_TIME_BUDGET_MILLIS);
+		}
+		TableActor table = tableRegistry.find(tableId)
+				.orElseThrow(() -> new NotFoundException("unknown table: " + tableId));
+		LiveHand hand = TableController.await(table.submit(tableService -> LiveHand.capture(tableService, principal.getName())));
+		if (hand == null) {
+			throw new BadRequestException("no hand in progress");
+		}
+		if (hand.viewer < 0) {
+			throw new ForbiddenException("equity is shown to the players in the hand only");
+		}
+
+		if (hand.isPreflopAgainstUnknownHands()) {
+			return preflopEquity(hand);
+		}
+		if (!calculations.tryAcquire()) {
+			throw new ServiceUnavailableException("too many equity calculations in progress, try again");
+		}
+		Equity equity;
+		try {
+			equity = equityCalculator.calculate(hand.holeCards, hand.board, precision,
+					Duration.ofMillis(timeBudgetMillis), seed);
+		} finally {
+			calculations.release();
+		}
+
+		EquityResponseDto response = new EquityResponseDto();
+		for (int i = 0; i < hand.playerIds.size(); i++) {
+			response.getEquities().put(hand.playerIds.get(i), equity.get(i));
+		}
+		response.setBoards(equity.getBoards());
+		response.setExact(equity.isExact());
+		response.setStandardError(equity.getStandardError());
+		return response;
+	}
+
+	private EquityResponseDto preflopEquity(LiveHand hand) {
+		int players = hand.playerIds.size();
+		double viewerEquity = preflopEquityTable.equity(hand.holeCards[hand.viewer], players);
+		EquityResponseDto response = new EquityResponseDto();
+		for (int i = 0; i < players; i++) {
+			// the unknown hands are alike, so they share the rest of the pot equally
+			response.getEquities().put(hand.playerIds.get(i),
+					i == hand.viewer ? viewerEquity : (1 - viewerEquity) / (players - 1));
+		}
+		return response;
+	}
+
+	private static final class LiveHand {
+		private final List<String> playerIds = new ArrayList<>();
+		private long[] holeCards;
+		private long board;
+		private int viewer = -1;
+
+		boolean isPreflopAgainstUnknownHands() {
+			return board == Cards.NONE
+					&& playerIds.size() >= PreflopEquityTable.MIN_PLAYERS && playerIds.size() <= PreflopEquityTable.MAX_PLAYERS;
+		}
+
+		static LiveHand capture(TableService tableService, String viewerId) {
+			if (tableService.getState() == GameState.OPEN) {
+				return null;
+			}
+			LiveHand hand = new LiveHand();
+			List<Long> holeCards = new ArrayList<>();
+			for (Player player : tableService.getPlayers()) {
+				long cards = Cards.mask(tableService.getPlayerCards(player.getId()));
+				if (player.isActive() && cards != Cards.NONE) {
+					hand.playerIds.add(player.getId());
+					holeCards.add(cards);
+					if (player.getId().equals(viewerId)) {
+						hand.viewer = hand.playerIds.size() - 1;
+					}
+				}
+			}
+			if (hand.playerIds.isEmpty()) {
+				return null;
+			}
+			hand.holeCards = new long[holeCards.size()];
+			for (int i = 0; i < holeCards.size(); i++) {
+				hand.holeCards[i] = i == hand.viewer ? holeCards.get(i) : Cards.NONE;
+			}
+			hand.board = Cards.mask(tableService.getCommunityCards());
+			return hand;
+		}
+	}
+}
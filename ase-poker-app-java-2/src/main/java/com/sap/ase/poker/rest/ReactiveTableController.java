@@ -0,0 +1,198 @@
+package com.sap.ase.poker.rest;
+
+import com.sap.ase.poker.data.PlayerNamesRepository;
+import com.sap.ase.poker.dto.BatchActionDto;
+import com.sap.ase.poker.dto.BatchActionResultDto;
+import com.sap.ase.poker.dto.BetRequestDto;
+import com.sap.ase.poker.model.IllegalAmountException;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableBusyException;
+import com.sap.ase.poker.service.TableRegistry;
+import com.sap.ase.poker.service.TableService;
+import com.sap.ase.poker.service.TableUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * TableController for the reactive profile, with the same paths and responses. The
+ * handlers run on Netty's event loops and never wait there: every table command and
+ * snapshot is a CompletableFuture of the table engine, returned as a Mono. The
+ * futures are shared between requests, so a cancelled request must not cancel them,
+ * which is why they are adapted with Mono.fromCompletionStage.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(TableController.PATH)
+public class ReactiveTableController {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveTableController.class);
+
+	private final TableRegistry tableRegistry;
+
+	private final PlayerNamesRepository playerNamesRepository;
+
+	private final TableEventStream tableEventStream;
+
+	private final TableSnapshotCache tableSnapshotCache;
+
+	private final MeterRegistry meterRegistry;
+
+	public ReactiveTableController(TableRegistry tableRegistry, PlayerNamesRepository playerNamesRepository,
+								   TableEventStream tableEventStream, TableSnapshotCache tableSnapshotCache,
+								   MeterRegistry meterRegistry) {
+		this.tableRegistry = tableRegistry;
+		this.playerNamesRepository = playerNamesRepository;
+		this.tableEventStream = tableEventStream;
+		this.tableSnapshotCache = tableSnapshotCache;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@GetMapping
+	public Mono<ResponseEntity<byte[]>> getTable(Principal principal) {
+		return getTable(TableRegistry.DEFAULT_TABLE_ID, principal);
+	}
+
+	@GetMapping("/tables/{tableId}")
+	public Mono<ResponseEntity<byte[]>> getTable(@PathVariable String tableId, Principal principal) {
+		String playerId = principal.getName();
+		return fromTable(tableSnapshotCache.get(findTable(tableId)))
+				.map(snapshot -> TableController.json(snapshot.render(playerId)));
+	}
+
+	@GetMapping(params = "sinceVersion")
+	public Mono<ResponseEntity<byte[]>> getTableChanges(@RequestParam long sinceVersion,
+														@RequestParam(defaultValue = "0") long waitMillis,
+														Principal principal) {
+		return getTableChanges(TableRegistry.DEFAULT_TABLE_ID, sinceVersion, waitMillis, principal);
+	}
+
+	/*
+	 * As in TableController, but a long poll only holds a subscription to the table's
+	 * next change rather than a thread.
+	 */
+	@GetMapping(path = "/tables/{tableId}", params = "sinceVersion")
+	public Mono<ResponseEntity<byte[]>> getTableChanges(@PathVariable String tableId, @RequestParam long sinceVersion,
+														@RequestParam(defaultValue = "0") long waitMillis,
+														Principal principal) {
+		String playerId = principal.getName();
+		TableActor table = findTable(tableId);
+		CompletableFuture<Void> change = table.nextChange();
+		Mono<Void> changed = Mono.empty();
+		if (waitMillis > 0 && table.getVersion() == sinceVersion) {
+			changed = Mono.fromCompletionStage(change)
+					.timeout(Duration.ofMillis(Math.min(waitMillis, TableController.MAX_WAIT_MILLIS)), Mono.empty());
+		}
+		return changed.then(Mono.defer(() -> {
+			if (table.getVersion() == sinceVersion) {
+				return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<byte[]>build());
+			}
+			return fromTable(tableSnapshotCache.get(table)).map(snapshot -> {
+				byte[] changes = snapshot.renderChanges(playerId, sinceVersion);
+				return changes == null ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).<byte[]>build()
+						: TableController.json(changes);
+			});
+		}));
+	}
+
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<String>> subscribe(Principal principal) {
+		return subscribe(TableRegistry.DEFAULT_TABLE_ID, principal);
+	}
+
+	@GetMapping(path = "/tables/{tableId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<String>> subscribe(@PathVariable String tableId, Principal principal) {
+		return tableEventStream.subscribe(findTable(tableId), principal.getName());
+	}
+
+	@PutMapping("/tables/{tableId}")
+	public Mono<ResponseEntity<Void>> createTable(@PathVariable String tableId) {
+		TableController.checkTableId(tableId);
+		TableController.checkOpenToPlayers(tableRegistry, tableId);
+		if (tableRegistry.find(tableId).isPresent()) {
+			return Mono.just(ResponseEntity.noContent().build());
+		}
+		TableController.openTable(tableRegistry, tableId);
+		return Mono.just(ResponseEntity.status(HttpStatus.CREATED).build());
+	}
+
+	@PostMapping("/players")
+	public Mono<ResponseEntity<Void>> joinTable(Principal principal) {
+		return joinTable(TableRegistry.DEFAULT_TABLE_ID, principal);
+	}
+
+	@PostMapping("/tables/{tableId}/players")
+	public Mono<ResponseEntity<Void>> joinTable(@PathVariable String tableId, Principal principal) {
+		String playerId = principal.getName();
+		String playerName = playerNamesRepository.getNameForId(playerId);
+		TableActor table = findTable(tableId);
+		TableController.checkOpenToPlayers(tableRegistry, tableId);
+		return fromTable(table.execute(tableService -> tableService.addPlayer(playerId, playerName)))
+				.then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+	}
+
+	@PostMapping("/actions")
+	public Mono<Void> placeBet(@RequestBody BetRequestDto betRequest) {
+		return placeBet(TableRegistry.DEFAULT_TABLE_ID, betRequest);
+	}
+
+	/*
+	 * Recorded in the same poker.table.actions timer as TableController.placeBet.
+	 */
+	@PostMapping("/tables/{tableId}/actions")
+	public Mono<Void> placeBet(@PathVariable String tableId, @RequestBody BetRequestDto betRequest) {
+		TableActor table = findTable(tableId);
+		Timer.Sample sample = Timer.start(meterRegistry);
+		int amount = betRequest.getArgs().length == 0 ? 0 : betRequest.getArgs()[0];
+		return fromTable(table.execute(tableService -> tableService.performAction(betRequest.getType(), amount)))
+				.doOnSuccess(ignored -> sample.stop(TableController.actionTimer(meterRegistry, betRequest.getType(), "none")))
+				.doOnError(e -> sample.stop(TableController.actionTimer(meterRegistry, betRequest.getType(),
+						e.getClass().getSimpleName())))
+				.onErrorMap(IllegalAmountException.class, e -> {
+					LOGGER.debug("Rejected {} at table {}: {}", betRequest.getType(), tableId, e.getMessage());
+					return new BadRequestException(e.getMessage());
+				});
+	}
+
+	@PostMapping("/actions/batch")
+	public Mono<List<BatchActionResultDto>> placeBets(@RequestBody List<BatchActionDto> actions) {
+		return Mono.fromCompletionStage(BatchActions.apply(tableRegistry, meterRegistry, actions));
+	}
+
+	@PostMapping("/start")
+	public Mono<ResponseEntity<Void>> start() {
+		return start(TableRegistry.DEFAULT_TABLE_ID);
+	}
+
+	@PostMapping("/tables/{tableId}/start")
+	public Mono<ResponseEntity<Void>> start(@PathVariable String tableId) {
+		TableActor table = findTable(tableId);
+		TableController.checkOpenToPlayers(tableRegistry, tableId);
+		return fromTable(table.execute(TableService::start))
+				.then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+	}
+
+	private TableActor findTable(String tableId) {
+		return tableRegistry.find(tableId).orElseThrow(() -> new NotFoundException("unknown table: " + tableId));
+	}
+
+	private static <T> Mono<T> fromTable(CompletableFuture<T> result) {
+		return Mono.fromCompletionStage(result)
+				.onErrorMap(TableBusyException.class, e -> new ServiceUnavailableException(e.getMessage()))
+				.onErrorMap(TableUnavailableException.class, e -> new ServiceUnavailableException(e.getMessage()));
+	}
+}
@@ -1,73 +1,285 @@
 package com.sap.ase.poker.rest;
 
 import com.sap.ase.poker.data.PlayerNamesRepository;
+import com.sap.ase.poker.dto.BatchActionDto;
+import com.sap.ase.poker.dto.BatchActionResultDto;
 import com.sap.ase.poker.dto.BetRequestDto;
-import com.sap.ase.poker.dto.CardDto;
-import com.sap.ase.poker.dto.GetTableResponseDto;
-import com.sap.ase.poker.dto.PlayerDto;
 import com.sap.ase.poker.model.IllegalAmountException;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableBusyException;
+import com.sap.ase.poker.service.TableRegistry;
 import com.sap.ase.poker.service.TableService;
+import com.sap.ase.poker.service.TableUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(TableController.PATH)
 public class TableController {
 
 	public static final String PATH = "/api/v1";
 
-	private final TableService tableService;
+	private static final Logger LOGGER = LoggerFactory.getLogger(TableController.class);
+
+	// anything else is tagged as "other", so that clients cannot create timers at will
+	private static final Set<String> ACTIONS = new HashSet<>(Arrays.asList("check", "fold", "raise", "call"));
+
+	private static final long EVENTS_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+	static final long MAX_WAIT_MILLIS = 60 * 1000L;
+
+	private static final Pattern TABLE_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+	private final TableRegistry tableRegistry;
 
 	private final PlayerNamesRepository playerNamesRepository;
 
-	public TableController(TableService tableService, PlayerNamesRepository playerNamesRepository) {
-		this.tableService = tableService;
+	private final TableEventBroadcaster tableEventBroadcaster;
+
+	private final TableSnapshotCache tableSnapshotCache;
+
+	private final MeterRegistry meterRegistry;
+
+	public TableController(TableRegistry tableRegistry, PlayerNamesRepository playerNamesRepository,
+						   TableEventBroadcaster tableEventBroadcaster, TableSnapshotCache tableSnapshotCache,
+						   MeterRegistry meterRegistry) {
+		this.tableRegistry = tableRegistry;
 		this.playerNamesRepository = playerNamesRepository;
+		this.tableEventBroadcaster = tableEventBroadcaster;
+		this.tableSnapshotCache = tableSnapshotCache;
+		this.meterRegistry = meterRegistry;
 	}
 
 	@GetMapping
-	public GetTableResponseDto getTable(Principal principal) {
+	public ResponseEntity<byte[]> getTable(Principal principal) {
+		return getTable(TableRegistry.DEFAULT_TABLE_ID, principal);
+	}
+
+	/*
+	 * Responds with a GetTableResponseDto, assembled from the table's cached snapshot.
+	 */
+	@GetMapping("/tables/{tableId}")
+	public ResponseEntity<byte[]> getTable(@PathVariable String tableId, Principal principal) {
+		String playerId = principal.getName();
+		TableSnapshot snapshot = await(tableSnapshotCache.get(findTable(tableId)));
+		return json(snapshot.render(playerId));
+	}
+
+	@GetMapping(params = "sinceVersion")
+	public ResponseEntity<byte[]> getTableChanges(@RequestParam long sinceVersion,
+												  @RequestParam(defaultValue = "0") long waitMillis, Principal principal) {
+		return getTableChanges(TableRegistry.DEFAULT_TABLE_ID, sinceVersion, waitMillis, principal);
+	}
+
+	/*
+	 * Responds with the version and only those fields of GetTableResponseDto that
+	 * changed since the given version, or with 304 if nothing changed. With waitMillis,
+	 * an unchanged table is long-polled: the request waits up to that long, at most
+	 * MAX_WAIT_MILLIS, for the next change. The wait holds the request's thread, so
+	 * long polls belong on poker.server.virtual-threads or on the event stream.
+	 */
+	@GetMapping(path = "/tables/{tableId}", params = "sinceVersion")
+	public ResponseEntity<byte[]> getTableChanges(@PathVariable String tableId, @RequestParam long sinceVersion,
+												  @RequestParam(defaultValue = "0") long waitMillis,
+												  Principal principal) {
 		String playerId = principal.getName();
-		GetTableResponseDto tableStatus = new GetTableResponseDto();
+		TableActor table = findTable(tableId);
+		if (waitMillis > 0) {
+			awaitChange(table, sinceVersion, Math.min(waitMillis, MAX_WAIT_MILLIS));
+		}
+		if (table.getVersion() == sinceVersion) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		}
+		byte[] changes = await(tableSnapshotCache.get(table)).renderChanges(playerId, sinceVersion);
+		if (changes == null) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+		}
+		return json(changes);
+	}
+
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter subscribe(Principal principal) {
+		return subscribe(TableRegistry.DEFAULT_TABLE_ID, principal);
+	}
 
-		tableStatus.setPlayers(tableService.getPlayers().stream().map(PlayerDto::new).collect(Collectors.toList()));
-		tableStatus.setCurrentPlayer(tableService.getCurrentPlayer().map(PlayerDto::new).orElse(null));
-		tableStatus.setPot(tableService.getPot());
-		tableStatus.setPlayerCards(tableService.getPlayerCards(playerId).stream().map(CardDto::new).collect(Collectors.toList()));
-		tableStatus.setCommunityCards(tableService.getCommunityCards().stream().map(CardDto::new).collect(Collectors.toList()));
-		tableStatus.setBets(tableService.getBets());
-		tableStatus.setState(tableService.getState().getValue());
-		tableStatus.setWinner(tableService.getWinner().map(PlayerDto::new).orElse(null));
-		tableStatus.setWinnerHand(tableService.getWinnerHand().stream().map(CardDto::new).collect(Collectors.toList()));
-		return tableStatus;
+	@GetMapping(path = "/tables/{tableId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter subscribe(@PathVariable String tableId, Principal principal) {
+		findTable(tableId);
+		SseEmitter emitter = new SseEmitter(EVENTS_TIMEOUT_MILLIS);
+		tableEventBroadcaster.subscribe(tableId, principal.getName(), emitter);
+		return emitter;
+	}
+
+	/*
+	 * Opens a table; answers 201 if it was opened, 204 if it was open already and 503
+	 * if poker.tables.max tables are open.
+	 */
+	@PutMapping("/tables/{tableId}")
+	public ResponseEntity<Void> createTable(@PathVariable String tableId) {
+		checkTableId(tableId);
+		checkOpenToPlayers(tableRegistry, tableId);
+		if (tableRegistry.find(tableId).isPresent()) {
+			return ResponseEntity.noContent().build();
+		}
+		openTable(tableRegistry, tableId);
+		return ResponseEntity.status(HttpStatus.CREATED).build();
 	}
 
 	@PostMapping("/players")
 	public ResponseEntity<Void> joinTable(Principal principal) {
+		return joinTable(TableRegistry.DEFAULT_TABLE_ID, principal);
+	}
+
+	@PostMapping("/tables/{tableId}/players")
+	public ResponseEntity<Void> joinTable(@PathVariable String tableId, Principal principal) {
 		String playerId = principal.getName();
 		String playerName = playerNamesRepository.getNameForId(playerId);
-		tableService.addPlayer(playerId, playerName);
+		TableActor table = findTable(tableId);
+		checkOpenToPlayers(tableRegistry, tableId);
+		await(table.execute(tableService -> tableService.addPlayer(playerId, playerName)));
 		return ResponseEntity.noContent().build();
 	}
 
 	@PostMapping("/actions")
 	public void placeBet(@RequestBody BetRequestDto betRequest) {
+		placeBet(TableRegistry.DEFAULT_TABLE_ID, betRequest);
+	}
+
+	/*
+	 * Times the action including its wait in the table's mailbox, by action and by the
+	 * exception it was rejected with, if any.
+	 */
+	@PostMapping("/tables/{tableId}/actions")
+	public void placeBet(@PathVariable String tableId, @RequestBody BetRequestDto betRequest) {
+		TableActor table = findTable(tableId);
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = "none";
 		try {
 			int amount = betRequest.getArgs().length == 0 ? 0 : betRequest.getArgs()[0];
-			tableService.performAction(betRequest.getType(), amount);
+			await(table.execute(tableService -> tableService.performAction(betRequest.getType(), amount)));
 		} catch (IllegalAmountException e) {
-			e.printStackTrace();
+			exception = e.getClass().getSimpleName();
+			LOGGER.debug("Rejected {} at table {}: {}", betRequest.getType(), tableId, e.getMessage());
 			throw new BadRequestException(e.getMessage());
+		} catch (RuntimeException e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			sample.stop(actionTimer(meterRegistry, betRequest.getType(), exception));
 		}
 	}
 
+	/*
+	 * Applies up to BatchActions.MAX_ACTIONS actions, at one or more tables, with one
+	 * request, and answers with a result per action, in the order of the actions.
+	 */
+	@PostMapping("/actions/batch")
+	public List<BatchActionResultDto> placeBets(@RequestBody List<BatchActionDto> actions) {
+		return await(BatchActions.apply(tableRegistry, meterRegistry, actions));
+	}
+
 	@PostMapping("/start")
 	public ResponseEntity<Void> start() {
-		tableService.start();
+		return start(TableRegistry.DEFAULT_TABLE_ID);
+	}
+
+	@PostMapping("/tables/{tableId}/start")
+	public ResponseEntity<Void> start(@PathVariable String tableId) {
+		TableActor table = findTable(tableId);
+		checkOpenToPlayers(tableRegistry, tableId);
+		await(table.execute(TableService::start));
 		return ResponseEntity.noContent().build();
 
 	}
-}
\ No newline at end of file
+
+	static Timer actionTimer(MeterRegistry meterRegistry, String action, String exception) {
+		return Timer.builder("poker.table.actions")
+				.description("Actions placed at the tables")
+				.tag("action", ACTIONS.contains(action) ? action : "other")
+				.tag("exception", exception)
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	static void checkTableId(String tableId) {
+		if (!TABLE_ID.matcher(tableId).matches()) {
+			throw new BadRequestException("a table id is 1 to 64 letters, digits, '-' or '_'");
+		}
+	}
+
+	/*
+	 * The players of a reserved table, e.g. of a tournament, are seated and dealt to by
+	 * its owner only.
+	 */
+	static void checkOpenToPlayers(TableRegistry tableRegistry, String tableId) {
+		tableRegistry.getOwner(tableId).ifPresent(owner -> {
+			throw new ForbiddenException("table " + tableId + " is run by " + owner);
+		});
+	}
+
+	static void openTable(TableRegistry tableRegistry, String tableId) {
+		try {
+			tableRegistry.create(tableId).orElseThrow(() -> new ServiceUnavailableException("no more tables can be opened"));
+		} catch (IllegalArgumentException e) {
+			// reserved since it was checked
+			throw new ForbiddenException(e.getMessage());
+		}
+	}
+
+	static ResponseEntity<byte[]> json(byte[] body) {
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+
+	private static void awaitChange(TableActor table, long sinceVersion, long waitMillis) {
+		CompletableFuture<Void> change = table.nextChange();
+		if (table.getVersion() != sinceVersion) {
+			return;
+		}
+		try {
+			change.get(waitMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			// answered with 304 like an unchanged table without waiting
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private TableActor findTable(String tableId) {
+		return tableRegistry.find(tableId).orElseThrow(() -> new NotFoundException("unknown table: " + tableId));
+	}
+
+	static <T> T await(CompletableFuture<T> result) {
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof TableBusyException || e.getCause() instanceof TableUnavailableException) {
+				throw new ServiceUnavailableException(e.getCause().getMessage());
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
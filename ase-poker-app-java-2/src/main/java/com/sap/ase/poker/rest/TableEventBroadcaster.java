@@ -0,0 +1,176 @@
+package com.sap.ase.poker.rest;
+
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableListener;
+import com.sap.ase.poker.service.TableRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Pushes the table to its subscribed viewers whenever a command changed it. Bursts
+ * of changes are coalesced: while a push for a table is pending, further changes of
+ * that table do not schedule another one, the pending push sends the latest state.
+ * A table has at most one push in flight; changes made meanwhile are pushed after it,
+ * so a viewer never receives an older table after a newer one.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TableEventBroadcaster implements TableListener {
+
+	public static final String EVENT_NAME = "table";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TableEventBroadcaster.class);
+
+	private final TableRegistry tableRegistry;
+
+	private final TableSnapshotCache tableSnapshotCache;
+
+	private final ExecutorService executor;
+
+	private final ConcurrentMap<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+	// tables with a push scheduled or being sent
+	private final Set<String> pushingTables = ConcurrentHashMap.newKeySet();
+
+	// tables changed since their last push started
+	private final Set<String> changedTables = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	public TableEventBroadcaster(TableRegistry tableRegistry, TableSnapshotCache tableSnapshotCache) {
+		this(tableRegistry, tableSnapshotCache, Executors.newFixedThreadPool(2, runnable -> {
+			Thread thread = new Thread(runnable, "table-events");
+			thread.setDaemon(true);
+			return thread;
+		}));
+	}
+
+	TableEventBroadcaster(TableRegistry tableRegistry, TableSnapshotCache tableSnapshotCache, ExecutorService executor) {
+		this.tableRegistry = tableRegistry;
+		this.tableSnapshotCache = tableSnapshotCache;
+		this.executor = executor;
+		tableRegistry.addListener(this);
+	}
+
+	public void subscribe(String tableId, String playerId, SseEmitter emitter) {
+		Subscription subscription = new Subscription(playerId, emitter);
+		subscriptions.compute(tableId, (id, tableSubscriptions) -> {
+			List<Subscription> result = tableSubscriptions == null ? new CopyOnWriteArrayList<>() : tableSubscriptions;
+			result.add(subscription);
+			return result;
+		});
+		emitter.onCompletion(() -> unsubscribe(tableId, subscription));
+		emitter.onTimeout(() -> unsubscribe(tableId, subscription));
+		emitter.onError(error -> unsubscribe(tableId, subscription));
+		// send the current state right away, the client has nothing to render yet
+		tableChanged(tableId);
+	}
+
+	@Override
+	public void tableChanged(String tableId) {
+		if (subscriptions.containsKey(tableId)) {
+			changedTables.add(tableId);
+			schedule(tableId);
+		}
+	}
+
+	/*
+	 * Ends the event streams of a removed table.
+	 */
+	@Override
+	public void tableRemoved(String tableId) {
+		changedTables.remove(tableId);
+		List<Subscription> tableSubscriptions = subscriptions.remove(tableId);
+		if (tableSubscriptions != null) {
+			tableSubscriptions.forEach(subscription -> subscription.emitter.complete());
+		}
+		tableSnapshotCache.evict(tableId);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		tableRegistry.removeListener(this);
+		executor.shutdown();
+	}
+
+	private void schedule(String tableId) {
+		if (changedTables.contains(tableId) && pushingTables.add(tableId)) {
+			executor.execute(() -> broadcast(tableId));
+		}
+	}
+
+	private void broadcast(String tableId) {
+		changedTables.remove(tableId);
+		List<Subscription> tableSubscriptions = subscriptions.get(tableId);
+		Optional<TableActor> table = tableRegistry.find(tableId);
+		if (tableSubscriptions == null || tableSubscriptions.isEmpty() || !table.isPresent()) {
+			pushed(tableId);
+			return;
+		}
+		tableSnapshotCache.get(table.get())
+				.thenAcceptAsync(snapshot -> {
+					for (Subscription subscription : tableSubscriptions) {
+						send(tableId, subscription, snapshot.render(subscription.playerId));
+					}
+				}, executor)
+				.whenComplete((ignored, error) -> {
+					if (error != null) {
+						LOGGER.warn("could not push table {}", tableId, error);
+					}
+					pushed(tableId);
+				});
+	}
+
+	/*
+	 * Ends the push in flight and starts the next if the table changed meanwhile; a
+	 * change that came too late to see the push in flight schedules its own.
+	 */
+	private void pushed(String tableId) {
+		pushingTables.remove(tableId);
+		schedule(tableId);
+	}
+
+	private void send(String tableId, Subscription subscription, byte[] table) {
+		try {
+			// the snapshot is already JSON, send it as is instead of serializing it again
+			subscription.emitter.send(SseEmitter.event().name(EVENT_NAME).data(new String(table, StandardCharsets.UTF_8)));
+		} catch (IOException | IllegalStateException e) {
+			unsubscribe(tableId, subscription);
+			subscription.emitter.completeWithError(e);
+		}
+	}
+
+	private void unsubscribe(String tableId, Subscription subscription) {
+		subscriptions.computeIfPresent(tableId, (id, tableSubscriptions) -> {
+			tableSubscriptions.remove(subscription);
+			return tableSubscriptions.isEmpty() ? null : tableSubscriptions;
+		});
+	}
+
+	private static final class Subscription {
+
+		private final String playerId;
+
+		private final SseEmitter emitter;
+
+		private Subscription(String playerId, SseEmitter emitter) {
+			this.playerId = playerId;
+			this.emitter = emitter;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.sap.ase.poker.rest;
+
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableListener;
+import com.sap.ase.poker.service.TableRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * The reactive counterpart of TableEventBroadcaster. Each table with viewers has a
+ * sink that its changes are signalled to; every viewer's Flux renders the table for
+ * its player when signalled. An idle viewer is only a subscription, no thread and no
+ * buffer. Bursts are coalesced per viewer: while a render is in progress, further
+ * changes collapse into one that renders the latest state. A sink is kept as long as
+ * its table, like the table's snapshot in TableSnapshotCache.
+ *
+ * Changes are signalled on the tables' threads, and snapshots are taken there;
+ * rendering happens on the scheduler, by default Reactor's parallel threads, one per
+ * core.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class TableEventStream implements TableListener {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TableEventStream.class);
+
+	private static final Duration EVENTS_TIMEOUT = Duration.ofMinutes(30);
+
+	private final TableRegistry tableRegistry;
+
+	private final TableSnapshotCache tableSnapshotCache;
+
+	private final Scheduler scheduler;
+
+	private final ConcurrentMap<String, Sinks.Many<Long>> changes = new ConcurrentHashMap<>();
+
+	@Autowired
+	public TableEventStream(TableRegistry tableRegistry, TableSnapshotCache tableSnapshotCache) {
+		this(tableRegistry, tableSnapshotCache, Schedulers.parallel());
+	}
+
+	TableEventStream(TableRegistry tableRegistry, TableSnapshotCache tableSnapshotCache, Scheduler scheduler) {
+		this.tableRegistry = tableRegistry;
+		this.tableSnapshotCache = tableSnapshotCache;
+		this.scheduler = scheduler;
+		tableRegistry.addListener(this);
+	}
+
+	/*
+	 * The table as seen by the player, right away and after each change, for at most
+	 * 30 minutes like the servlet event stream.
+	 */
+	public Flux<ServerSentEvent<String>> subscribe(TableActor table, String playerId) {
+		Sinks.Many<Long> tableChanges = changes.computeIfAbsent(table.getTableId(),
+				id -> Sinks.many().multicast().directBestEffort());
+		// subscribed to the changes before the first render, so that none is missed
+		return tableChanges.asFlux()
+				.mergeWith(Mono.just(table.getVersion()))
+				.onBackpressureLatest()
+				.concatMap(version -> Mono.fromCompletionStage(tableSnapshotCache.get(table))
+						.onErrorResume(error -> {
+							LOGGER.warn("could not push table {}", table.getTableId(), error);
+							return Mono.empty();
+						}), 1)
+				.publishOn(scheduler, 1)
+				.map(snapshot -> ServerSentEvent.builder(new String(snapshot.render(playerId), StandardCharsets.UTF_8))
+						.event(TableEventBroadcaster.EVENT_NAME)
+						.build())
+				.take(EVENTS_TIMEOUT);
+	}
+
+	@Override
+	public void tableChanged(String tableId) {
+		Sinks.Many<Long> tableChanges = changes.get(tableId);
+		if (tableChanges != null) {
+			// a table applies its commands one at a time, so this does not contend
+			tableChanges.emitNext(0L, (signal, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+		}
+	}
+
+	/*
+	 * Completes the event streams of a removed table.
+	 */
+	@Override
+	public void tableRemoved(String tableId) {
+		Sinks.Many<Long> tableChanges = changes.remove(tableId);
+		if (tableChanges != null) {
+			tableChanges.emitComplete((signal, result) -> result == Sinks.EmitResult.FAIL_NON_SERIALIZED);
+		}
+		tableSnapshotCache.evict(tableId);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		tableRegistry.removeListener(this);
+	}
+}
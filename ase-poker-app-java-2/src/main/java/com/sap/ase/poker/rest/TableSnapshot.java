@@ -0,0 +1,148 @@
+package com.sap.ase.poker.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.dto.CardDto;
+import com.sap.ase.poker.dto.GetTableResponseDto;
+import com.sap.ase.poker.service.TableField;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * A table view serialized once and shared by all viewers of that version. The JSON
+ * of every public field is kept as a separate fragment, so a response for a viewer
+ * is assembled by copying bytes: the fragments (all of them, or only the changed ones
+ * for a delta) plus the viewer's own hole cards.
+ */
+final class TableSnapshot {
+
+	private static final byte[] NO_CARDS = "[]".getBytes(StandardCharsets.UTF_8);
+
+	private static final Map<TableField, String> FIELD_NAMES = new EnumMap<>(TableField.class);
+
+	static {
+		FIELD_NAMES.put(TableField.PLAYERS, "players");
+		FIELD_NAMES.put(TableField.CURRENT_PLAYER, "currentPlayer");
+		FIELD_NAMES.put(TableField.POT, "pot");
+		FIELD_NAMES.put(TableField.PLAYER_CARDS, "playerCards");
+		FIELD_NAMES.put(TableField.COMMUNITY_CARDS, "communityCards");
+		FIELD_NAMES.put(TableField.BETS, "bets");
+		FIELD_NAMES.put(TableField.STATE, "state");
+		FIELD_NAMES.put(TableField.WINNER, "winner");
+		FIELD_NAMES.put(TableField.WINNER_HAND, "winnerHand");
+	}
+
+	private final TableView view;
+
+	private final Map<TableField, byte[]> fragments = new EnumMap<>(TableField.class);
+
+	private final Map<String, byte[]> playerCards = new HashMap<>();
+
+	private int fragmentsSize;
+
+	private TableSnapshot(TableView view, ObjectMapper objectMapper) throws JsonProcessingException {
+		this.view = view;
+		GetTableResponseDto table = view.getPublicTable();
+		addFragment(TableField.PLAYERS, table.getPlayers(), objectMapper);
+		addFragment(TableField.CURRENT_PLAYER, table.getCurrentPlayer(), objectMapper);
+		addFragment(TableField.POT, table.getPot(), objectMapper);
+		addFragment(TableField.COMMUNITY_CARDS, table.getCommunityCards(), objectMapper);
+		addFragment(TableField.BETS, table.getBets(), objectMapper);
+		addFragment(TableField.STATE, table.getState(), objectMapper);
+		addFragment(TableField.WINNER, table.getWinner(), objectMapper);
+		addFragment(TableField.WINNER_HAND, table.getWinnerHand(), objectMapper);
+		for (Map.Entry<String, List<CardDto>> cards : view.getPlayerCards().entrySet()) {
+			playerCards.put(cards.getKey(), objectMapper.writeValueAsBytes(cards.getValue()));
+		}
+	}
+
+	static TableSnapshot serialize(TableView view, ObjectMapper objectMapper) {
+		try {
+			return new TableSnapshot(view, objectMapper);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("could not serialize table", e);
+		}
+	}
+
+	long getVersion() {
+		return view.getVersion();
+	}
+
+	/*
+	 * The complete table as seen by the given player, see GetTableResponseDto.
+	 */
+	byte[] render(String playerId) {
+		byte[] cards = playerCards.getOrDefault(playerId, NO_CARDS);
+		ByteArrayOutputStream json = startObject(fragmentsSize + cards.length + 64);
+		for (byte[] fragment : fragments.values()) {
+			writeFragment(json, fragment);
+		}
+		writeField(json, TableField.PLAYER_CARDS, cards);
+		return endObject(json);
+	}
+
+	/*
+	 * Only the fields that changed since the given version, or null if nothing changed.
+	 */
+	byte[] renderChanges(String playerId, long sinceVersion) {
+		if (view.getVersion() == sinceVersion) {
+			return null;
+		}
+		ByteArrayOutputStream json = startObject(fragmentsSize + 64);
+		for (Map.Entry<TableField, byte[]> fragment : fragments.entrySet()) {
+			if (changedSince(fragment.getKey(), sinceVersion)) {
+				writeFragment(json, fragment.getValue());
+			}
+		}
+		if (changedSince(TableField.PLAYER_CARDS, sinceVersion)) {
+			writeField(json, TableField.PLAYER_CARDS, playerCards.getOrDefault(playerId, NO_CARDS));
+		}
+		return endObject(json);
+	}
+
+	private boolean changedSince(TableField field, long sinceVersion) {
+		// a version from the future was handed out by another server instance
+		return sinceVersion > view.getVersion() || view.getFieldVersion(field) > sinceVersion;
+	}
+
+	private void addFragment(TableField field, Object value, ObjectMapper objectMapper) throws JsonProcessingException {
+		ByteArrayOutputStream fragment = new ByteArrayOutputStream();
+		writeField(fragment, field, objectMapper.writeValueAsBytes(value));
+		fragments.put(field, fragment.toByteArray());
+		fragmentsSize += fragment.size() + 1;
+	}
+
+	private ByteArrayOutputStream startObject(int expectedSize) {
+		ByteArrayOutputStream json = new ByteArrayOutputStream(expectedSize);
+		writeAscii(json, "{\"version\":" + view.getVersion());
+		return json;
+	}
+
+	private static byte[] endObject(ByteArrayOutputStream json) {
+		json.write('}');
+		return json.toByteArray();
+	}
+
+	private static void writeFragment(ByteArrayOutputStream json, byte[] fragment) {
+		json.write(',');
+		json.write(fragment, 0, fragment.length);
+	}
+
+	private static void writeField(ByteArrayOutputStream json, TableField field, byte[] value) {
+		if (json.size() > 0) {
+			json.write(',');
+		}
+		writeAscii(json, "\"" + FIELD_NAMES.get(field) + "\":");
+		json.write(value, 0, value.length);
+	}
+
+	private static void writeAscii(ByteArrayOutputStream json, String text) {
+		byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+		json.write(bytes, 0, bytes.length);
+	}
+}
@@ -0,0 +1,80 @@
+package com.sap.ase.poker.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.service.TableActor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * Keeps the latest snapshot of every table. As long as a table's version did not
+ * change, readers are served from the cached snapshot without entering the table's
+ * mailbox; after a change the first reader captures and serializes a new snapshot
+ * and concurrent readers of the same version wait for that one instead of building
+ * their own. Serializing the GetTableResponseDto of a snapshot is timed, since it
+ * runs once per version and table rather than once per request.
+ */
+@Component
+public class TableSnapshotCache {
+
+	private final ObjectMapper objectMapper;
+
+	private final Timer serialization;
+
+	private final ConcurrentMap<TableActor, Entry> snapshots = new ConcurrentHashMap<>();
+
+	public TableSnapshotCache(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		this.objectMapper = objectMapper;
+		this.serialization = Timer.builder("poker.table.serialization")
+				.description("Serialization of a table snapshot into GetTableResponseDto JSON")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	CompletableFuture<TableSnapshot> get(TableActor table) {
+		long version = table.getVersion();
+		Entry entry = snapshots.get(table);
+		if (entry != null && entry.isUpToDate(version)) {
+			return entry.snapshot;
+		}
+		return snapshots.compute(table, (key, current) -> {
+			if (current != null && current.isUpToDate(version)) {
+				return current;
+			}
+			CompletableFuture<TableSnapshot> snapshot = table.submit(TableView::capture)
+					.thenApply(view -> serialization.record(() -> TableSnapshot.serialize(view, objectMapper)));
+			return new Entry(version, snapshot);
+		}).snapshot;
+	}
+
+	/*
+	 * Drops the snapshot of a table that was removed.
+	 */
+	void evict(String tableId) {
+		snapshots.keySet().removeIf(table -> table.getTableId().equals(tableId));
+	}
+
+	private static final class Entry {
+
+		private final long requestedVersion;
+
+		private final CompletableFuture<TableSnapshot> snapshot;
+
+		private Entry(long requestedVersion, CompletableFuture<TableSnapshot> snapshot) {
+			this.requestedVersion = requestedVersion;
+			this.snapshot = snapshot;
+		}
+
+		private boolean isUpToDate(long version) {
+			if (!snapshot.isDone()) {
+				// the capture is still queued behind the commands that led to requestedVersion
+				return requestedVersion >= version;
+			}
+			return !snapshot.isCompletedExceptionally() && snapshot.join().getVersion() >= version;
+		}
+	}
+}
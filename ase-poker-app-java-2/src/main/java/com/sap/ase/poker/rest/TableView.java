@@ -0,0 +1,75 @@
+package com.sap.ase.poker.rest;
+
+import com.sap.ase.poker.dto.CardDto;
+import com.sap.ase.poker.dto.GetTableResponseDto;
+import com.sap.ase.poker.dto.PlayerDto;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.service.TableField;
+import com.sap.ase.poker.service.TableService;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+ * Copy of everything a viewer can see of a table at one version. Captured on the
+ * table's writer thread, it does not share any mutable state with the table.
+ */
+final class TableView {
+
+	private final long version;
+
+	private final Map<TableField, Long> fieldVersions = new EnumMap<>(TableField.class);
+
+	private final GetTableResponseDto publicTable = new GetTableResponseDto();
+
+	private final Map<String, List<CardDto>> playerCards = new HashMap<>();
+
+	private TableView(TableService tableService) {
+		version = tableService.getVersion();
+		for (TableField field : TableField.values()) {
+			fieldVersions.put(field, tableService.getFieldVersion(field));
+		}
+
+		publicTable.setVersion(version);
+		publicTable.setPlayers(tableService.getPlayers().stream().map(PlayerDto::new).collect(Collectors.toList()));
+		publicTable.setCurrentPlayer(tableService.getCurrentPlayer().map(PlayerDto::new).orElse(null));
+		publicTable.setPot(tableService.getPot());
+		publicTable.setCommunityCards(toCardDtos(tableService.getCommunityCards()));
+		publicTable.setBets(new HashMap<>(tableService.getBets()));
+		publicTable.setState(tableService.getState().getValue());
+		publicTable.setWinner(tableService.getWinner().map(PlayerDto::new).orElse(null));
+		publicTable.setWinnerHand(toCardDtos(tableService.getWinnerHand()));
+
+		for (Player player : tableService.getPlayers()) {
+			playerCards.put(player.getId(), toCardDtos(tableService.getPlayerCards(player.getId())));
+		}
+	}
+
+	static TableView capture(TableService tableService) {
+		return new TableView(tableService);
+	}
+
+	long getVersion() {
+		return version;
+	}
+
+	long getFieldVersion(TableField field) {
+		return fieldVersions.get(field);
+	}
+
+	GetTableResponseDto getPublicTable() {
+		return publicTable;
+	}
+
+	Map<String, List<CardDto>> getPlayerCards() {
+		return playerCards;
+	}
+
+	private static List<CardDto> toCardDtos(List<Card> cards) {
+		return cards.stream().map(CardDto::new).collect(Collectors.toList());
+	}
+}
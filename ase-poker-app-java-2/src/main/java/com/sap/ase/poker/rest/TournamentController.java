@@ -0,0 +1,100 @@
+package com.sap.ase.poker.rest;
+
+import com.sap.ase.poker.data.PlayerNamesRepository;
+import com.sap.ase.poker.dto.TournamentDto;
+import com.sap.ase.poker.model.IllegalActionException;
+import com.sap.ase.poker.tournament.BlindLevel;
+import com.sap.ase.poker.tournament.Tournament;
+import com.sap.ase.poker.tournament.TournamentScheduler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Creates, fills and starts tournaments; their tables are played through the table
+ * endpoints like any other table.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(TournamentController.PATH)
+public class TournamentController {
+
+	public static final String PATH = TableController.PATH + "/tournaments";
+
+	private final TournamentScheduler tournamentScheduler;
+
+	private final PlayerNamesRepository playerNamesRepository;
+
+	public TournamentController(TournamentScheduler tournamentScheduler, PlayerNamesRepository playerNamesRepository) {
+		this.tournamentScheduler = tournamentScheduler;
+		this.playerNamesRepository = playerNamesRepository;
+	}
+
+	@GetMapping
+	public List<String> getTournaments() {
+		return tournamentScheduler.getTournamentIds();
+	}
+
+	@PostMapping
+	public ResponseEntity<TournamentDto> createTournament() {
+		String tournamentId = TableController.await(tournamentScheduler.create());
+		return ResponseEntity.status(HttpStatus.CREATED).body(getTournament(tournamentId));
+	}
+
+	@GetMapping("/{tournamentId}")
+	public TournamentDto getTournament(@PathVariable String tournamentId) {
+		findTournament(tournamentId);
+		return await(tournamentScheduler.submit(tournamentId, TournamentController::toDto));
+	}
+
+	@PostMapping("/{tournamentId}/players")
+	public ResponseEntity<Void> register(@PathVariable String tournamentId, Principal principal) {
+		findTournament(tournamentId);
+		String playerId = principal.getName();
+		String playerName = playerNamesRepository.getNameForId(playerId);
+		await(tournamentScheduler.submit(tournamentId, tournament -> {
+			tournament.register(playerId, playerName);
+			return null;
+		}));
+		return ResponseEntity.noContent().build();
+	}
+
+	@PostMapping("/{tournamentId}/start")
+	public ResponseEntity<Void> start(@PathVariable String tournamentId) {
+		findTournament(tournamentId);
+		await(tournamentScheduler.start(tournamentId));
+		return ResponseEntity.noContent().build();
+	}
+
+	private void findTournament(String tournamentId) {
+		if (!tournamentScheduler.exists(tournamentId)) {
+			throw new NotFoundException("unknown tournament: " + tournamentId);
+		}
+	}
+
+	private static <T> T await(CompletableFuture<T> result) {
+		try {
+			return TableController.await(result);
+		} catch (IllegalActionException e) {
+			throw new BadRequestException(e.getMessage());
+		}
+	}
+
+	private static TournamentDto toDto(Tournament tournament) {
+		long now = System.currentTimeMillis();
+		BlindLevel level = tournament.getLevel(now);
+		return new TournamentDto(tournament.getId(), tournament.getStatus().name(), tournament.getEntrants(),
+				tournament.getPlayersLeft(), tournament.getPrizePool(), tournament.getLevelIndex(now) + 1,
+				level.getSmallBlind(), level.getBigBlind(), tournament.getMillisToNextLevel(now),
+				tournament.getSeating(), tournament.getStandings());
+	}
+}
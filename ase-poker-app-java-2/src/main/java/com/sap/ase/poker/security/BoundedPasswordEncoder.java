@@ -0,0 +1,163 @@
+package com.sap.ase.poker.security;
+
+import com.sap.ase.poker.cache.ExpiringLruCache;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Runs the password checks of logins, bcrypt with the default encoders, on a fixed
+ * number of threads, so that a burst of logins cannot take more than those cores from
+ * the tables. Checks wait in a bounded queue; when it is full, the login is refused
+ * with LoginCapacityExceededException instead of piling up.
+ *
+ * A successful check is remembered for cacheTimeToLive, so a client that logs in again
+ * within that window is not checked again. The cache key is a salted SHA-256 of the
+ * encoded and the raw password; the salt is random per process, and because the key
+ * includes the encoded password, changing a password invalidates its entries.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, Closeable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long cacheTimeToLiveMillis;
+    private final ExpiringLruCache<String, Boolean> verified;
+    private final byte[] salt = new byte[16];
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder checkNanos = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration cacheTimeToLive,
+                                  int cacheSize) {
+        this.delegate = delegate;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-check-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cacheTimeToLiveMillis = cacheTimeToLive.toMillis();
+        this.verified = new ExpiringLruCache<>(cacheSize);
+        new SecureRandom().nextBytes(salt);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String key = cacheKey(rawPassword, encodedPassword);
+        if (verified.get(key) != null) {
+            return true;
+        }
+        Future<Boolean> check;
+        try {
+            check = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return delegate.matches(rawPassword, encodedPassword);
+                } finally {
+                    checkNanos.add(System.nanoTime() - start);
+                    checks.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new LoginCapacityExceededException("too many logins in progress, try again");
+        }
+        boolean matches = await(check);
+        if (matches) {
+            verified.put(key, Boolean.TRUE, verified.currentTimeMillis() + cacheTimeToLiveMillis);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public long getChecks() {
+        return checks.sum();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    public double getAverageCheckMillis() {
+        long count = checks.sum();
+        return count == 0 ? 0 : checkNanos.sum() / 1e6 / count;
+    }
+
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    public long getCacheHits() {
+        return verified.getHits();
+    }
+
+    public long getCacheMisses() {
+        return verified.getMisses();
+    }
+
+    private static boolean await(Future<Boolean> check) {
+        try {
+            return check.get();
+        } catch (InterruptedException e) {
+            check.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("interrupted while checking the password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new AuthenticationServiceException("password check failed", e.getCause());
+        }
+    }
+
+    private String cacheKey(CharSequence rawPassword, String encodedPassword) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.sap.ase.poker.security;
+
+import com.sap.ase.poker.data.PlayerAccount;
+import com.sap.ase.poker.data.PlayerDirectory;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import reactor.core.publisher.Mono;
+
+/*
+ * Logs players in against the player directory, the same accounts that player names
+ * are looked up in. The configured directory answers from its cache or the accounts
+ * FilePlayerDirectory holds in memory, and reloads the file on a thread of its own,
+ * so the reactive lookup runs right on the calling thread without blocking it.
+ */
+public class DirectoryUserDetailsService implements UserDetailsService, ReactiveUserDetailsService {
+
+    private final PlayerDirectory playerDirectory;
+
+    public DirectoryUserDetailsService(PlayerDirectory playerDirectory) {
+        this.playerDirectory = playerDirectory;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        PlayerAccount account = playerDirectory.findById(username)
+                .orElseThrow(() -> new UsernameNotFoundException("unknown player: " + username));
+        return toUserDetails(account);
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return Mono.justOrEmpty(playerDirectory.findById(username)).map(DirectoryUserDetailsService::toUserDetails);
+    }
+
+    private static UserDetails toUserDetails(PlayerAccount account) {
+        return User.withUsername(account.getId())
+                .password(account.getEncodedPassword())
+                .roles("USER")
+                .build();
+    }
+}
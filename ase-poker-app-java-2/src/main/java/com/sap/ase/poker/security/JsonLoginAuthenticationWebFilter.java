@@ -0,0 +1,73 @@
+package com.sap.ase.poker.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.server.WebFilterExchange;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * The reactive counterpart of JsonUsernamePasswordAuthenticationFilter: a POST of a
+ * LoginRequest to /login is answered with the jwt cookie, 401 for wrong credentials,
+ * or 503 with Retry-After while the password checks are saturated.
+ */
+public class JsonLoginAuthenticationWebFilter extends AuthenticationWebFilter {
+
+    public JsonLoginAuthenticationWebFilter(ReactiveAuthenticationManager authenticationManager, ObjectMapper objectMapper,
+                                            JwtTools jwtTools) {
+        super(authenticationManager);
+        setRequiresAuthenticationMatcher(ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/login"));
+        setServerAuthenticationConverter(exchange -> readLoginRequest(exchange, objectMapper));
+        setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        setAuthenticationSuccessHandler((webFilterExchange, authentication) -> succeeded(webFilterExchange, authentication, jwtTools));
+        setAuthenticationFailureHandler(JsonLoginAuthenticationWebFilter::failed);
+    }
+
+    private static Mono<Authentication> readLoginRequest(ServerWebExchange exchange, ObjectMapper objectMapper) {
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+                .map(buffer -> {
+                    LoginRequest loginRequest;
+                    try (InputStream inputStream = buffer.asInputStream(true)) {
+                        loginRequest = objectMapper.readValue(inputStream, LoginRequest.class);
+                    } catch (IOException e) {
+                        throw new AuthenticationServiceException("Deserialization error: " + e.getMessage());
+                    }
+                    return new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword());
+                });
+    }
+
+    private static Mono<Void> succeeded(WebFilterExchange webFilterExchange, Authentication authentication, JwtTools jwtTools) {
+        String username = ((UserDetails) authentication.getPrincipal()).getUsername();
+        String token = jwtTools.create(username, username);
+        ServerHttpResponse response = webFilterExchange.getExchange().getResponse();
+        response.addCookie(ResponseCookie.from("jwt", token).build());
+        return response.setComplete();
+    }
+
+    private static Mono<Void> failed(WebFilterExchange webFilterExchange, AuthenticationException failed) {
+        ServerHttpResponse response = webFilterExchange.getExchange().getResponse();
+        if (failed instanceof LoginCapacityExceededException) {
+            response.getHeaders().set("Retry-After", "1");
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        } else {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        }
+        return response.setComplete();
+    }
+}
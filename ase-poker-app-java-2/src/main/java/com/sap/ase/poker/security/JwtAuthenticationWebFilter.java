@@ -0,0 +1,72 @@
+package com.sap.ase.poker.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The reactive counterpart of JwtAuthenticationRequestFilter: authenticates a request
+ * by its jwt cookie, recording the same poker.security.jwt timers. Verification is
+ * served from the JwtVerificationCache and does not block.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtVerificationCache jwtVerificationCache;
+
+    private final Timer absent;
+
+    private final Timer valid;
+
+    private final Timer invalid;
+
+    public JwtAuthenticationWebFilter(JwtVerificationCache jwtVerificationCache, MeterRegistry meterRegistry) {
+        this.jwtVerificationCache = jwtVerificationCache;
+        this.absent = JwtAuthenticationRequestFilter.timer(meterRegistry, "absent");
+        this.valid = JwtAuthenticationRequestFilter.timer(meterRegistry, "valid");
+        this.invalid = JwtAuthenticationRequestFilter.timer(meterRegistry, "invalid");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        Timer timer = absent;
+        String userId = null;
+        for (Map.Entry<String, List<HttpCookie>> cookies : exchange.getRequest().getCookies().entrySet()) {
+            if (!cookies.getKey().equalsIgnoreCase("jwt")) {
+                continue;
+            }
+            for (HttpCookie cookie : cookies.getValue()) {
+                try {
+                    // a JWT is URL safe, only decode values that were encoded anyway
+                    String cookieValue = cookie.getValue().indexOf('%') < 0
+                            ? cookie.getValue() : URLDecoder.decode(cookie.getValue(), "UTF-8");
+                    userId = jwtVerificationCache.verify(cookieValue).getUserId();
+                    timer = valid;
+                } catch (JWTVerificationException | UnsupportedEncodingException ignored) {
+                    timer = invalid;
+                }
+            }
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (userId == null) {
+            return chain.filter(exchange);
+        }
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userId, null, new ArrayList<>());
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authenticationToken));
+    }
+}
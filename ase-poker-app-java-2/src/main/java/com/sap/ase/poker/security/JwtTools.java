@@ -10,22 +10,47 @@ public class JwtTools {
 
 	public static final String SECRET = "OurVerySecretiveHighlyClassifiedSharedSecret";
 	
-	private final JWTVerifier verifier;
-	private final Algorithm algorithm;
+	private volatile Key key;
 
 	public JwtTools(String secret) {
-		algorithm = Algorithm.HMAC256(secret);
-		this.verifier = JWT.require(algorithm).build();
+		key = new Key(secret, 0);
 	}
 
 	public DecodedJWT verifyAndDecode(String jwt) throws JWTVerificationException {
 		if (jwt == null) {
 			throw new JWTVerificationException("Missing jwt token");
 		}
-		return verifier.verify(jwt);
+		return key.verifier.verify(jwt);
 	}
 
 	public String create(String id, String name) {
-		return JWT.create().withClaim("user_id", id).withClaim("user_name", name).sign(algorithm);
+		return JWT.create().withClaim("user_id", id).withClaim("user_name", name).sign(key.algorithm);
+	}
+
+	/*
+	 * Signs and verifies with the new secret from now on; tokens signed with the old one
+	 * are rejected.
+	 */
+	public synchronized void rotate(String secret) {
+		key = new Key(secret, key.generation + 1);
+	}
+
+	/*
+	 * Counts the rotations, so that results of verifications can be tied to the key.
+	 */
+	public long getKeyGeneration() {
+		return key.generation;
+	}
+
+	private static class Key {
+		private final Algorithm algorithm;
+		private final JWTVerifier verifier;
+		private final long generation;
+
+		Key(String secret, long generation) {
+			this.algorithm = Algorithm.HMAC256(secret);
+			this.verifier = JWT.require(algorithm).build();
+			this.generation = generation;
+		}
 	}
 }
@@ -0,0 +1,73 @@
+package com.sap.ase.poker.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.sap.ase.poker.cache.ExpiringLruCache;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.function.LongSupplier;
+
+/*
+ * Remembers tokens that passed verification, so that a client polling with the same
+ * token pays for the HMAC once. At most maximumSize tokens are kept, the least
+ * recently used is evicted first.
+ *
+ * An entry is only used until the earlier of its token's expiry and timeToLive after
+ * it was verified, and only while JwtTools still has the key it was verified with:
+ * the key generation is part of the cache key. Anything else is a miss and goes
+ * through JwtTools again, so the cache accepts no token that JwtTools would reject.
+ * Tokens that fail verification are not cached.
+ */
+public class JwtVerificationCache {
+
+    private final JwtTools jwtTools;
+    private final long timeToLiveMillis;
+    private final ExpiringLruCache<String, VerifiedJwt> cache;
+
+    public JwtVerificationCache(JwtTools jwtTools, int maximumSize, Duration timeToLive) {
+        this(jwtTools, maximumSize, timeToLive, System::currentTimeMillis);
+    }
+
+    JwtVerificationCache(JwtTools jwtTools, int maximumSize, Duration timeToLive, LongSupplier millisClock) {
+        this.jwtTools = jwtTools;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.cache = new ExpiringLruCache<>(maximumSize, millisClock);
+    }
+
+    public VerifiedJwt verify(String jwt) throws JWTVerificationException {
+        long now = cache.currentTimeMillis();
+        String key = jwtTools.getKeyGeneration() + ":" + jwt;
+        VerifiedJwt cached = jwt == null ? null : cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DecodedJWT decoded = jwtTools.verifyAndDecode(jwt);
+        VerifiedJwt verified = new VerifiedJwt(decoded.getClaim("user_id").asString(),
+                decoded.getClaim("user_name").asString());
+        long expiresAt = now + timeToLiveMillis;
+        Date tokenExpiresAt = decoded.getExpiresAt();
+        if (tokenExpiresAt != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiresAt.getTime());
+        }
+        cache.put(key, verified, expiresAt);
+        return verified;
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,10 @@
+package com.sap.ase.poker.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class LoginCapacityExceededException extends AuthenticationServiceException {
+
+    public LoginCapacityExceededException(String message) {
+        super(message);
+    }
+}
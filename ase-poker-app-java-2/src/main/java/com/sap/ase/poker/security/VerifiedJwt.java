@@ -0,0 +1,23 @@
+package com.sap.ase.poker.security;
+
+/*
+ * The claims of a token whose signature was verified.
+ */
+public class VerifiedJwt {
+
+    private final String userId;
+    private final String userName;
+
+    public VerifiedJwt(String userId, String userName) {
+        this.userId = userId;
+        this.userName = userName;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+}
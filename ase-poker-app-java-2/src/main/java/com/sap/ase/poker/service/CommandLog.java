@@ -0,0 +1,50 @@
+package com.sap.ase.poker.service;
+
+import com.sap.ase.poker.model.deck.Card;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Receives the commands a table accepted, numbered by the table's command sequence, on
+ * the table's writer thread. Replaying them in order through TableService rebuilds the
+ * table. Implementations must not block on I/O, and must copy what they keep of the
+ * arguments.
+ */
+public interface CommandLog {
+
+    CommandLog NONE = new CommandLog() {
+    };
+
+    default void playerAdded(long sequence, String playerId, String playerName, int cash) {
+    }
+
+    default void playerRemoved(long sequence, String playerId) {
+    }
+
+    /*
+     * deck is the order in which the hand's cards will be drawn
+     */
+    default void handStarted(long sequence, List<Card> deck) {
+    }
+
+    default void blindsPosted(long sequence, int smallBlind, int bigBlind) {
+    }
+
+    default void actionPerformed(long sequence, String action, int amount) {
+    }
+
+    /*
+     * The table was closed, it takes no commands after this one.
+     */
+    default void tableClosed(long sequence) {
+    }
+
+    /*
+     * Completes once every command received so far is stored as durably as the log
+     * promises, exceptionally if one of them could not be stored.
+     */
+    default CompletableFuture<Void> logged() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sap.ase.poker.service;
+
+/*
+ * Provides the hand history of each table.
+ */
+public interface HandHistories {
+
+    HandHistories NONE = tableId -> HandHistory.NONE;
+
+    HandHistory forTable(String tableId);
+}
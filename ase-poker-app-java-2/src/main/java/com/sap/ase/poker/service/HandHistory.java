@@ -0,0 +1,32 @@
+package com.sap.ase.poker.service;
+
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+
+import java.util.List;
+
+/*
+ * Receives the events of the hands played at one table, on the table's writer thread.
+ * Implementations must not block on I/O, and must copy what they keep of the arguments.
+ */
+public interface HandHistory {
+
+    HandHistory NONE = new HandHistory() {
+    };
+
+    default void handStarted(int hand, List<Player> players, long[] holeCards) {
+    }
+
+    default void blindsPosted(int hand, String smallBlindId, int smallBlind, int bigBlind) {
+    }
+
+    default void action(int hand, String playerId, String action, int amount) {
+    }
+
+    default void communityCards(int hand, GameState state, List<Card> communityCards) {
+    }
+
+    default void handEnded(int hand, List<Player> winners, int pot, List<Card> winnerHand) {
+    }
+}
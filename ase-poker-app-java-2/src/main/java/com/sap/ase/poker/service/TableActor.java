@@ -0,0 +1,234 @@
+package com.sap.ase.poker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+ * Single writer for one table. Commands are queued in a bounded mailbox and applied
+ * one after another on the executor of the table's shard, so the TableService behind
+ * the actor is never touched by two threads at the same time and needs no locking.
+ */
+public class TableActor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableActor.class);
+
+    private static final int MAX_COMMANDS_PER_RUN = 64;
+
+    private final String tableId;
+    private final TableService table;
+    private final Executor executor;
+    private final BlockingQueue<Runnable> mailbox;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final TableListener listener;
+    private volatile long version;
+    private volatile int seatedPlayers;
+    private volatile CompletableFuture<Void> nextChange = new CompletableFuture<>();
+    private volatile Throwable logFailure;
+    private volatile boolean closed;
+
+    public TableActor(String tableId, TableService table, Executor executor, int mailboxCapacity) {
+        this(tableId, table, executor, mailboxCapacity, changedTableId -> {
+        });
+    }
+
+    public TableActor(String tableId, TableService table, Executor executor, int mailboxCapacity, TableListener listener) {
+        this.tableId = tableId;
+        this.table = table;
+        this.executor = executor;
+        this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+        this.listener = listener;
+        this.version = table.getVersion();
+        this.seatedPlayers = table.getPlayers().size();
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    /*
+     * The version of the table after the last applied command. Can be read from any
+     * thread without going through the mailbox.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /*
+     * The number of players at the table after the last applied command, readable from
+     * any thread like the version.
+     */
+    public int getSeatedPlayers() {
+        return seatedPlayers;
+    }
+
+    /*
+     * Completes when the version changes the next time. Taken before reading the
+     * version, it also completes if the version changed in between, so a reader can wait
+     * on it without missing a change.
+     */
+    public CompletableFuture<Void> nextChange() {
+        return nextChange;
+    }
+
+    /*
+     * Queues a command; listeners are notified if the command changed the table's version.
+     * The returned future completes once what the table logged up to the command is
+     * stored. If that fails, the command fails and the table is fenced: the commands
+     * after it are refused.
+     */
+    public <T> CompletableFuture<T> submit(Function<TableService, T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            if (logFailure != null) {
+                result.completeExceptionally(unavailable(logFailure));
+                return;
+            }
+            if (closed) {
+                result.completeExceptionally(new TableUnavailableException("table " + tableId + " was closed"));
+                return;
+            }
+            long versionBefore = table.getVersion();
+            T value = null;
+            RuntimeException failure = null;
+            try {
+                value = command.apply(table);
+            } catch (RuntimeException e) {
+                failure = e;
+            } catch (Error e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+            boolean changed = table.getVersion() != versionBefore;
+            if (changed) {
+                // published before completing, so the caller reads what its command did
+                seatedPlayers = table.getPlayers().size();
+                version = table.getVersion();
+                CompletableFuture<Void> change = nextChange;
+                nextChange = new CompletableFuture<>();
+                change.complete(null);
+            }
+            answerWhenLogged(result, value, failure);
+            if (changed) {
+                notifyListener();
+            }
+        };
+        enqueue(task, result);
+        return result;
+    }
+
+    public CompletableFuture<Void> execute(Consumer<TableService> command) {
+        return submit(table -> {
+            command.accept(table);
+            return null;
+        });
+    }
+
+    /*
+     * Closes the table after the commands queued before; it refuses the commands after.
+     * Completes once the table's log says that it was closed.
+     */
+    CompletableFuture<Void> close() {
+        return execute(table -> {
+            table.close();
+            closed = true;
+        });
+    }
+
+    /*
+     * Exports the table's state for a checkpoint, also from a fenced table: the
+     * checkpoint then stores the state as it is, commands whose logging failed included.
+     * Null for a closed table, which the checkpoint leaves out.
+     */
+    CompletableFuture<TableState> exportState() {
+        CompletableFuture<TableState> result = new CompletableFuture<>();
+        enqueue(() -> {
+            try {
+                result.complete(closed ? null : table.exportState());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, result);
+        return result;
+    }
+
+    private void enqueue(Runnable task, CompletableFuture<?> result) {
+        if (!mailbox.offer(task)) {
+            result.completeExceptionally(new TableBusyException("table " + tableId + " is busy"));
+            return;
+        }
+        schedule();
+    }
+
+    private <T> void answerWhenLogged(CompletableFuture<T> result, T value, RuntimeException failure) {
+        CompletableFuture<Void> logged = table.logged();
+        if (logged.isDone() && !logged.isCompletedExceptionally()) {
+            complete(result, value, failure);
+            return;
+        }
+        // answered on the shard rather than on the thread that stored the log
+        logged.whenCompleteAsync((ignored, error) -> {
+            if (error == null) {
+                complete(result, value, failure);
+                return;
+            }
+            if (logFailure == null) {
+                LOGGER.error("Fencing table {}, its command log failed", tableId, error);
+                logFailure = error;
+            }
+            result.completeExceptionally(unavailable(error));
+        }, executor);
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, T value, RuntimeException failure) {
+        if (failure == null) {
+            result.complete(value);
+        } else {
+            result.completeExceptionally(failure);
+        }
+    }
+
+    private TableUnavailableException unavailable(Throwable logFailure) {
+        return new TableUnavailableException("table " + tableId + " is unavailable, its command log failed", logFailure);
+    }
+
+    private void notifyListener() {
+        try {
+            listener.tableChanged(tableId);
+        } catch (RuntimeException e) {
+            LOGGER.warn("listener failed for table {}", tableId, e);
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Runnable task;
+        int processed = 0;
+        // hand the thread back after a bounded number of commands so that one busy
+        // table cannot starve the other tables of its shard
+        try {
+            while (processed < MAX_COMMANDS_PER_RUN && (task = mailbox.poll()) != null) {
+                task.run();
+                processed++;
+            }
+        } finally {
+            // also after an Error, which would otherwise leave the table unscheduled for good
+            scheduled.set(false);
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
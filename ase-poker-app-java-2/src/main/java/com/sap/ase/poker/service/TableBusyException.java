@@ -0,0 +1,11 @@
+package com.sap.ase.poker.service;
+
+/*
+ * Thrown when a table's mailbox is full, i.e. commands arrive faster than the
+ * table can apply them. The command has not been applied and may be retried.
+ */
+public class TableBusyException extends RuntimeException {
+    public TableBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package com.sap.ase.poker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Checkpoints the tables every poker.wal.checkpoint-interval, which bounds both the
+ * log kept on disk and the number of commands replayed on recovery, and once more
+ * on shutdown so that a clean restart replays nothing.
+ */
+@Component
+public class TableCheckpointer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableCheckpointer.class);
+
+    private final TableRegistry tableRegistry;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "table-checkpointer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TableCheckpointer(TableRegistry tableRegistry,
+                             @Value("${poker.wal.checkpoint-interval:PT1M}") Duration interval) {
+        this.tableRegistry = tableRegistry;
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpoint, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        checkpoint();
+    }
+
+    private void checkpoint() {
+        try {
+            tableRegistry.checkpoint();
+        } catch (RuntimeException e) {
+            LOGGER.error("Checkpoint failed", e);
+        }
+    }
+}
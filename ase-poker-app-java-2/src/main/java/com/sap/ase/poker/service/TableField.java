@@ -0,0 +1,17 @@
+package com.sap.ase.poker.service;
+
+/*
+ * The parts of a table that are tracked separately by the table's version, so that
+ * clients can be sent only the parts that changed since the version they have seen.
+ */
+public enum TableField {
+    PLAYERS,
+    CURRENT_PLAYER,
+    POT,
+    PLAYER_CARDS,
+    COMMUNITY_CARDS,
+    BETS,
+    STATE,
+    WINNER,
+    WINNER_HAND
+}
@@ -0,0 +1,16 @@
+package com.sap.ase.poker.service;
+
+/*
+ * Notified on the table's writer thread after a command changed the table.
+ * Implementations must return quickly and must not call back into the table
+ * synchronously.
+ */
+public interface TableListener {
+    void tableChanged(String tableId);
+
+    /*
+     * The table was removed from the registry, what is kept for it can be dropped.
+     */
+    default void tableRemoved(String tableId) {
+    }
+}
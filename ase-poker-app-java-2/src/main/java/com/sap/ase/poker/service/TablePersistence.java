@@ -0,0 +1,49 @@
+package com.sap.ase.poker.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*
+ * Keeps tables across restarts: logs their commands, stores checkpoints of their state
+ * and rebuilds them on startup.
+ */
+public interface TablePersistence {
+
+    TablePersistence NONE = new TablePersistence() {
+        @Override
+        public CommandLog forTable(String tableId) {
+            return CommandLog.NONE;
+        }
+
+        @Override
+        public Map<String, Consumer<TableService>> recover() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public long beginCheckpoint() {
+            return -1;
+        }
+
+        @Override
+        public void completeCheckpoint(long checkpoint, Map<String, TableState> tables) {
+        }
+    };
+
+    CommandLog forTable(String tableId);
+
+    /*
+     * Per table persisted before the last shutdown, a function that brings a new
+     * TableService to the table's last logged state.
+     */
+    Map<String, Consumer<TableService>> recover();
+
+    /*
+     * Starts a checkpoint, returns its id or -1 if checkpoints are not supported. States
+     * captured after this call cover every command logged before it.
+     */
+    long beginCheckpoint();
+
+    void completeCheckpoint(long checkpoint, Map<String, TableState> tables);
+}
@@ -0,0 +1,253 @@
+package com.sap.ase.poker.service;
+
+import com.sap.ase.poker.model.deck.Deck;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Service
+public class TableRegistry {
+
+    public static final String DEFAULT_TABLE_ID = "default";
+
+    public static final int DEFAULT_MAX_TABLES = 10_000;
+
+    private final Supplier<Deck> deckSupplier;
+
+    private final HandHistories handHistories;
+
+    private final TablePersistence persistence;
+
+    private final TableShard[] shards;
+
+    private final int mailboxCapacity;
+
+    private final int maxTables;
+
+    private final List<TableListener> listeners = new CopyOnWriteArrayList<>();
+
+    // owners of table ids, see reserve
+    private final Set<String> owners = ConcurrentHashMap.newKeySet();
+
+    public TableRegistry(Supplier<Deck> deckSupplier, HandHistories handHistories, TablePersistence persistence,
+                         int shardCount, int mailboxCapacity) {
+        this(deckSupplier, handHistories, persistence, shardCount, mailboxCapacity, DEFAULT_MAX_TABLES);
+    }
+
+    @Autowired
+    public TableRegistry(Supplier<Deck> deckSupplier, HandHistories handHistories, TablePersistence persistence,
+                         @Value("${poker.tables.shards:0}") int shardCount,
+                         @Value("${poker.tables.mailbox-capacity:1024}") int mailboxCapacity,
+                         @Value("${poker.tables.max:" + DEFAULT_MAX_TABLES + "}") int maxTables) {
+        this.deckSupplier = deckSupplier;
+        this.handHistories = handHistories;
+        this.persistence = persistence;
+        this.mailboxCapacity = mailboxCapacity;
+        this.maxTables = maxTables;
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new TableShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new TableShard(i);
+        }
+        recover();
+        getOrCreate(DEFAULT_TABLE_ID);
+    }
+
+    public Optional<TableActor> find(String tableId) {
+        return shardFor(tableId).find(tableId);
+    }
+
+    /*
+     * Opens a table for players to join, or returns it if it is open already. Empty if
+     * poker.tables.max tables are open; concurrent calls may overshoot that by a few.
+     */
+    public synchronized Optional<TableActor> create(String tableId) {
+        Optional<TableActor> table = find(tableId);
+        if (table.isPresent() || size() >= maxTables) {
+            return table;
+        }
+        if (getOwner(tableId).isPresent()) {
+            throw new IllegalArgumentException("table " + tableId + " is reserved");
+        }
+        return Optional.of(getOrCreate(tableId));
+    }
+
+    /*
+     * Reserves the table ids starting with the owner and a '-', e.g. the tables of a
+     * tournament, for the server: players can neither open them nor join or deal at
+     * them. False if such a table is open already.
+     */
+    public synchronized boolean reserve(String owner) {
+        String prefix = owner + "-";
+        for (String tableId : getTableIds()) {
+            if (tableId.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return owners.add(owner);
+    }
+
+    public void release(String owner) {
+        owners.remove(owner);
+    }
+
+    /*
+     * The owner that reserved the table's id, if any.
+     */
+    public Optional<String> getOwner(String tableId) {
+        for (int i = tableId.indexOf('-'); i > 0; i = tableId.indexOf('-', i + 1)) {
+            String owner = tableId.substring(0, i);
+            if (owners.contains(owner)) {
+                return Optional.of(owner);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /*
+     * For the server's own tables, which are not bound by poker.tables.max.
+     */
+    public TableActor getOrCreate(String tableId) {
+        TableShard shard = shardFor(tableId);
+        return shard.getOrCreate(tableId, id -> newTable(id, new TableService(deckSupplier), shard));
+    }
+
+    /*
+     * Closes the table, after the commands queued for it, then drops it and tells the
+     * listeners. Completes once its log says that it was closed, so that it is not
+     * recovered after a restart; it fails if the table was busy, and can be retried.
+     */
+    public CompletableFuture<Void> remove(String tableId) {
+        Optional<TableActor> table = find(tableId);
+        if (!table.isPresent()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return table.get().close().thenRun(() -> {
+            if (shardFor(tableId).remove(tableId, table.get())) {
+                for (TableListener listener : listeners) {
+                    listener.tableRemoved(tableId);
+                }
+            }
+        });
+    }
+
+    /*
+     * Snapshots the states of all tables through the persistence, which can then drop
+     * the commands logged before. Each table is exported on its shard, between two
+     * of its commands.
+     */
+    public void checkpoint() {
+        long checkpoint = persistence.beginCheckpoint();
+        if (checkpoint < 0) {
+            return;
+        }
+        Map<String, CompletableFuture<TableState>> exports = new LinkedHashMap<>();
+        for (String tableId : getTableIds()) {
+            find(tableId).ifPresent(table -> exports.put(tableId, table.exportState()));
+        }
+        Map<String, TableState> states = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<TableState>> export : exports.entrySet()) {
+            TableState state = export.getValue().join();
+            if (state != null) {
+                states.put(export.getKey(), state);
+            }
+        }
+        persistence.completeCheckpoint(checkpoint, states);
+    }
+
+    public void addListener(TableListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(TableListener listener) {
+        listeners.remove(listener);
+    }
+
+    public List<String> getTableIds() {
+        List<String> tableIds = new ArrayList<>();
+        for (TableShard shard : shards) {
+            tableIds.addAll(shard.getTableIds());
+        }
+        return tableIds;
+    }
+
+    public int size() {
+        int size = 0;
+        for (TableShard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /*
+     * Players seated at all tables, as last published by the tables; the tables are
+     * not entered.
+     */
+    public int getSeatedPlayers() {
+        int seated = 0;
+        for (TableShard shard : shards) {
+            seated += shard.getSeatedPlayers();
+        }
+        return seated;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (TableShard shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    int getShardCount() {
+        return shards.length;
+    }
+
+    int shardIndexOf(String tableId) {
+        return shardFor(tableId).getIndex();
+    }
+
+    /*
+     * Rebuilds the persisted tables before any command can reach them. Their history
+     * and command log are attached afterwards, so replayed commands are not recorded
+     * twice.
+     */
+    private void recover() {
+        for (Map.Entry<String, Consumer<TableService>> recovered : persistence.recover().entrySet()) {
+            TableService table = new TableService(deckSupplier);
+            recovered.getValue().accept(table);
+            String tableId = recovered.getKey();
+            TableShard shard = shardFor(tableId);
+            shard.getOrCreate(tableId, id -> newTable(id, table, shard));
+        }
+    }
+
+    private TableActor newTable(String tableId, TableService table, TableShard shard) {
+        table.attach(handHistories.forTable(tableId), persistence.forTable(tableId));
+        return new TableActor(tableId, table, shard.getExecutor(), mailboxCapacity, this::fireTableChanged);
+    }
+
+    private void fireTableChanged(String tableId) {
+        for (TableListener listener : listeners) {
+            listener.tableChanged(tableId);
+        }
+    }
+
+    private TableShard shardFor(String tableId) {
+        int hash = tableId.hashCode();
+        hash ^= (hash >>> 16);
+        return shards[(hash & Integer.MAX_VALUE) % shards.length];
+    }
+}
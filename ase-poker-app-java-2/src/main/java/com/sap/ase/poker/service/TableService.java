@@ -5,43 +5,100 @@ import com.sap.ase.poker.model.IllegalActionException;
 import com.sap.ase.poker.model.IllegalAmountException;
 import com.sap.ase.poker.model.Player;
 import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
 import com.sap.ase.poker.model.deck.Deck;
-import com.sap.ase.poker.model.deck.Kind;
-import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.hand.HandEvaluator;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import org.springframework.stereotype.Service;
 
-@Service
 public class TableService {
 
     private final Supplier<Deck> deckSupplier;
 
+    private HandHistory handHistory;
+
+    private CommandLog commandLog = CommandLog.NONE;
+
+    // number of the last command logged, continues across restarts
+    private long commandSequence = 0;
+
+    private int handNumber = 0;
+
+    // the shuffled deck of the current hand, all cards of a hand are drawn from it
+    private Deck deck;
+
+    // the table's own deck, taken from the supplier once and shuffled in place for every hand
+    private Deck ownDeck;
+
     private GameState state = GameState.OPEN;
 
     private int currentPlayerIndex = 0;
 
-    private Map<String, List<Card>> cardsMap = new HashMap<>();
+    // hole cards as card masks, indexed like players; players who joined after the deal have none
+    private long[] holeCards = new long[0];
 
     private List<Card> communityCardsList = new ArrayList<>();
 
+    private long board = Cards.NONE;
+
     public List<Player> players = new ArrayList<>();
 
     public Player winner;
 
+    private List<Card> winnerHand = new ArrayList<>();
+
     int potAmount = 0;
 
     Map<String, Integer> betMap = new HashMap<String, Integer>();
 
+    private long version;
+
+    private final Map<TableField, Long> fieldVersions = new EnumMap<>(TableField.class);
+
     public TableService(Supplier<Deck> deckSupplier) {
+        this(deckSupplier, HandHistory.NONE);
+    }
+
+    public TableService(Supplier<Deck> deckSupplier, HandHistory handHistory) {
         this.deckSupplier = deckSupplier;
+        this.handHistory = handHistory;
+        // versions of a new table start at the wall clock, so that a client still holding
+        // a version from before a restart does not mistake the new table for unchanged
+        this.version = System.currentTimeMillis();
+        for (TableField field : TableField.values()) {
+            fieldVersions.put(field, version);
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getFieldVersion(TableField field) {
+        return fieldVersions.get(field);
+    }
+
+    public Set<TableField> getChangedFields(long sinceVersion) {
+        if (sinceVersion > version) {
+            return EnumSet.allOf(TableField.class);
+        }
+        Set<TableField> changedFields = EnumSet.noneOf(TableField.class);
+        for (Map.Entry<TableField, Long> fieldVersion : fieldVersions.entrySet()) {
+            if (fieldVersion.getValue() > sinceVersion) {
+                changedFields.add(fieldVersion.getKey());
+            }
+        }
+        return changedFields;
     }
 
     public GameState getState() {
@@ -54,7 +111,16 @@ public class TableService {
     }
 
     public List<Card> getPlayerCards(String playerId) {
-        return null == cardsMap.get(playerId) ? new ArrayList<>() : cardsMap.get(playerId);
+        return Cards.toList(getHoleCards(playerId));
+    }
+
+    private long getHoleCards(String playerId) {
+        for (int seat = 0; seat < holeCards.length; seat++) {
+            if (players.get(seat).getId().equals(playerId)) {
+                return holeCards[seat];
+            }
+        }
+        return Cards.NONE;
     }
 
     public List<Card> getCommunityCards() {
@@ -78,54 +144,183 @@ public class TableService {
     }
 
     public List<Card> getWinnerHand() {
-        // TODO: implement me
-        return Arrays.asList(
-                new Card(Kind.ACE, Suit.CLUBS),
-                new Card(Kind.KING, Suit.CLUBS),
-                new Card(Kind.QUEEN, Suit.CLUBS),
-                new Card(Kind.JACK, Suit.CLUBS),
-                new Card(Kind.TEN, Suit.CLUBS)
-        );
+        return winnerHand;
+    }
+
+    /*
+     * Replaces where the table reports its hands and commands, used once a recovered
+     * table has caught up.
+     */
+    public void attach(HandHistory handHistory, CommandLog commandLog) {
+        this.handHistory = handHistory;
+        this.commandLog = commandLog;
+    }
+
+    /*
+     * Completes once the commands the table applied so far are logged, see
+     * CommandLog.logged.
+     */
+    public CompletableFuture<Void> logged() {
+        return commandLog.logged();
+    }
+
+    /*
+     * Logs that the table is taken down; the TableActor takes no commands for it after.
+     */
+    public void close() {
+        commandLog.tableClosed(++commandSequence);
     }
 
     public void start() {
+        checkCanStart();
+        start(nextDeck());
+    }
+
+    private Deck nextDeck() {
+        if (ownDeck == null) {
+            ownDeck = deckSupplier.get();
+        } else {
+            ownDeck.shuffle();
+        }
+        return ownDeck;
+    }
+
+    /*
+     * Starts a hand dealt from the given, already shuffled deck.
+     */
+    public void start(Deck deck) {
+        checkCanStart();
+        resetHand();
+        state = GameState.PRE_FLOP;
+        this.deck = deck;
+        commandLog.handStarted(++commandSequence, deck.getCards());
+        dealCards();
+        handNumber++;
+        handHistory.handStarted(handNumber, players, holeCards.clone());
+        changed(TableField.values());
+    }
+
+    private void checkCanStart() {
         if (players.size() < 2) {
             throw new IllegalActionException("game can only be start with more than 2 people");
         }
-        state = GameState.PRE_FLOP;
-        Deck deck = deckSupplier.get();
-        dealCards(deck, players);
     }
 
-    private void dealCards(Deck deck, List<Player> players) {
+    private void resetHand() {
+        currentPlayerIndex = 0;
+        holeCards = new long[players.size()];
+        communityCardsList.clear();
+        board = Cards.NONE;
+        betMap.clear();
+        potAmount = 0;
+        winner = null;
+        winnerHand = new ArrayList<>();
         for (Player player : players) {
-            List<Card> cards = new ArrayList<>();
-            cards.add(deck.draw());
-            cards.add(deck.draw());
-            cardsMap.put(player.getId(), cards);
-            player.setActive();
+            player.clearBet();
+        }
+    }
+
+    private void dealCards() {
+        for (int seat = 0; seat < players.size(); seat++) {
+            holeCards[seat] = deck.draw().mask() | deck.draw().mask();
+            players.get(seat).setActive();
         }
     }
 
     public void addPlayer(String playerId, String playerName) {
-        players.add(new Player(playerId, playerName, 100));
+        addPlayer(playerId, playerName, 100);
+    }
+
+    public void addPlayer(String playerId, String playerName, int cash) {
+        players.add(new Player(playerId, playerName, cash));
+        commandLog.playerAdded(++commandSequence, playerId, playerName, cash);
+        changed(TableField.PLAYERS);
+    }
+
+    /*
+     * Takes a player's seat away between two hands, e.g. to seat them at another table,
+     * and returns the player with their cash.
+     */
+    public Player removePlayer(String playerId) {
+        if (state != GameState.OPEN && state != GameState.ENDED) {
+            throw new IllegalActionException("players can only leave between hands");
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            if (player.getId().equals(playerId)) {
+                players.remove(seat);
+                if (seat < holeCards.length) {
+                    long[] remaining = new long[holeCards.length - 1];
+                    System.arraycopy(holeCards, 0, remaining, 0, seat);
+                    System.arraycopy(holeCards, seat + 1, remaining, seat, remaining.length - seat);
+                    holeCards = remaining;
+                }
+                commandLog.playerRemoved(++commandSequence, playerId);
+                changed(TableField.PLAYERS);
+                return player;
+            }
+        }
+        throw new IllegalActionException("unknown player: " + playerId);
+    }
+
+    /*
+     * Takes the blinds of a hand that was just dealt from the two seats after the hand
+     * number, so that they go round the table. Blinds go to the pot as dead money, not
+     * as bets to be called; a player short of a blind posts what they have.
+     */
+    public void postBlinds(int smallBlind, int bigBlind) {
+        postBlinds((handNumber - 1) % players.size(), smallBlind, bigBlind);
+    }
+
+    /*
+     * Posts the small blind at the given seat and the big blind at the next, as a replay
+     * of a recorded hand does. A table's own blinds move round with the hand number,
+     * which is why the command log does not need the seat to post them again.
+     */
+    public void postBlinds(int smallBlindSeat, int smallBlind, int bigBlind) {
+        if (state != GameState.PRE_FLOP || !betMap.isEmpty() || potAmount != 0) {
+            throw new IllegalActionException("blinds can only be posted before the first action of a hand");
+        }
+        Player smallBlindPlayer = players.get(smallBlindSeat);
+        postBlind(smallBlindPlayer, smallBlind);
+        postBlind(players.get((smallBlindSeat + 1) % players.size()), bigBlind);
+        handHistory.blindsPosted(handNumber, smallBlindPlayer.getId(), smallBlind, bigBlind);
+        commandLog.blindsPosted(++commandSequence, smallBlind, bigBlind);
+        changed(TableField.PLAYERS, TableField.POT);
+    }
+
+    private void postBlind(Player player, int blind) {
+        int amount = Math.min(blind, player.getCash());
+        player.deductCash(amount);
+        potAmount += amount;
     }
 
     public void performAction(String action, int amount) throws IllegalAmountException, IllegalActionException {
+        applyAction(action, amount);
+        commandLog.actionPerformed(++commandSequence, action, amount);
+    }
+
+    private void applyAction(String action, int amount) {
         switch (action) {
             case "check":
                 if (getMaxBet()>0) {
                     throw new IllegalActionException("Invalid case");
                 }
+                recordAction(action, 0);
                 updateCurrentPlayer();
                 break;
             case "fold":
                 Player player = getPlayers().get(currentPlayerIndex);
                 player.setInactive();
+                changed(TableField.PLAYERS);
+                recordAction(action, 0);
                 List<Player> activePlayers = getActivePlayers();
                 if (activePlayers.size() == 1) {
                     state = GameState.ENDED;
                     winner = activePlayers.get(0);
+                    handHistory.handEnded(handNumber, activePlayers, potAmount, winnerHand);
+                    awardPot(activePlayers);
+                    changed(TableField.STATE, TableField.WINNER, TableField.WINNER_HAND);
                 }
                 updateCurrentPlayer();
                 break;
@@ -137,6 +332,8 @@ public class TableService {
                 player1.bet(amount);
                 betMap.put(player1.getId(), amount);
                 potAmount += amount;
+                changed(TableField.PLAYERS, TableField.BETS, TableField.POT);
+                recordAction(action, amount);
                 updateCurrentPlayer();
                 break;
             case "call":
@@ -149,6 +346,8 @@ public class TableService {
                 player2.bet(maxBetAmount);
                 betMap.put(player2.getId(), maxBetAmount);
                 potAmount += maxBetAmount;
+                changed(TableField.PLAYERS, TableField.BETS, TableField.POT);
+                recordAction(action, maxBetAmount);
                 updateCurrentPlayer();
                 break;
             default:
@@ -158,12 +357,24 @@ public class TableService {
 
     }
 
+    private void recordAction(String action, int amount) {
+        handHistory.action(handNumber, players.get(currentPlayerIndex).getId(), action, amount);
+    }
+
     private void updateCurrentPlayer() {
         if (currentPlayerIndex == players.size() - 1) {
             updateStateAndAddCommunityCards();
         } else {
             currentPlayerIndex++;
         }
+        changed(TableField.CURRENT_PLAYER);
+    }
+
+    private void changed(TableField... fields) {
+        version++;
+        for (TableField field : fields) {
+            fieldVersions.put(field, version);
+        }
     }
 
     int getMaxBet() {
@@ -179,7 +390,7 @@ public class TableService {
     }
 
     private int getPlayersCash() {
-        int minAmt = 100;
+        int minAmt = Integer.MAX_VALUE;
         for (Player player : players) {
             if (player.getCash() < minAmt) {
                 minAmt = player.getCash();
@@ -192,16 +403,110 @@ public class TableService {
         currentPlayerIndex = 0;
         if (state == GameState.PRE_FLOP) {
             state = GameState.FLOP;
-            communityCardsList.add(deckSupplier.get().draw());
-            communityCardsList.add(deckSupplier.get().draw());
-            communityCardsList.add(deckSupplier.get().draw());
+            deck.draw();
+            dealCommunityCard();
+            dealCommunityCard();
+            dealCommunityCard();
+            handHistory.communityCards(handNumber, state, communityCardsList);
+            changed(TableField.STATE, TableField.COMMUNITY_CARDS);
         } else if (state == GameState.FLOP) {
             state = GameState.TURN;
-            communityCardsList.add(deckSupplier.get().draw());
+            deck.draw();
+            dealCommunityCard();
+            handHistory.communityCards(handNumber, state, communityCardsList);
+            changed(TableField.STATE, TableField.COMMUNITY_CARDS);
         } else if (state == GameState.TURN) {
             state = GameState.RIVER;
-            communityCardsList.add(deckSupplier.get().draw());
+            deck.draw();
+            dealCommunityCard();
+            handHistory.communityCards(handNumber, state, communityCardsList);
+            changed(TableField.STATE, TableField.COMMUNITY_CARDS);
+        } else if (state == GameState.RIVER) {
+            showdown();
         }
     }
 
+    private void dealCommunityCard() {
+        Card card = deck.draw();
+        communityCardsList.add(card);
+        board |= card.mask();
+    }
+
+    private void showdown() {
+        int bestScore = -1;
+        long bestCards = Cards.NONE;
+        List<Player> winners = new ArrayList<>();
+        for (int seat = 0; seat < holeCards.length; seat++) {
+            Player player = players.get(seat);
+            if (!player.isActive()) {
+                continue;
+            }
+            int score = HandEvaluator.evaluate(board | holeCards[seat]);
+            if (score > bestScore) {
+                bestScore = score;
+                bestCards = board | holeCards[seat];
+                winners.clear();
+            }
+            if (score == bestScore) {
+                winners.add(player);
+            }
+        }
+        state = GameState.ENDED;
+        winner = winners.get(0);
+        winnerHand = Cards.toList(HandEvaluator.bestFive(bestCards));
+        handHistory.handEnded(handNumber, winners, potAmount, winnerHand);
+        awardPot(winners);
+        changed(TableField.STATE, TableField.WINNER, TableField.WINNER_HAND, TableField.PLAYERS);
+    }
+
+    private void awardPot(List<Player> winners) {
+        int share = potAmount / winners.size();
+        for (Player player : winners) {
+            player.addCash(share);
+        }
+        // the odd chips of a split pot go to the first winner
+        winners.get(0).addCash(potAmount - share * winners.size());
+    }
+
+    public TableState exportState() {
+        List<Player> playersCopy = new ArrayList<>(players.size());
+        for (Player player : players) {
+            playersCopy.add(new Player(player.getId(), player.getName(), player.getCash(), player.getBet(),
+                    player.isActive()));
+        }
+        return new TableState(commandSequence, version, handNumber, state, currentPlayerIndex, playersCopy,
+                holeCards.clone(), new ArrayList<>(communityCardsList),
+                deck == null ? Collections.emptyList() : new ArrayList<>(deck.getCards()),
+                new HashMap<>(betMap), potAmount, winner == null ? null : winner.getId(),
+                new ArrayList<>(winnerHand));
+    }
+
+    /*
+     * Replaces the table's state by an exported one; the deck continues with the
+     * exported undealt cards. The version continues above the exported one, even if the
+     * table changed faster than the wall clock before, so that a version a client kept
+     * from before a restart is never mistaken for a current one.
+     */
+    public void restore(TableState exported) {
+        version = Math.max(version, exported.version);
+        commandSequence = exported.sequence;
+        handNumber = exported.handNumber;
+        state = exported.state;
+        currentPlayerIndex = exported.currentPlayerIndex;
+        players = new ArrayList<>(exported.players);
+        holeCards = exported.holeCards.clone();
+        communityCardsList = new ArrayList<>(exported.communityCards);
+        board = Cards.mask(communityCardsList);
+        deck = Deck.ordered(exported.deck);
+        betMap = new HashMap<>(exported.bets);
+        potAmount = exported.pot;
+        winner = null;
+        for (Player player : players) {
+            if (player.getId().equals(exported.winnerId)) {
+                winner = player;
+            }
+        }
+        winnerHand = new ArrayList<>(exported.winnerHand);
+        changed(TableField.values());
+    }
 }
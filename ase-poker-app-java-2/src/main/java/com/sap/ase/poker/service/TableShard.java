@@ -0,0 +1,73 @@
+package com.sap.ase.poker.service;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/*
+ * A shard owns a disjoint subset of the tables. Tables are assigned to a shard by
+ * the hash of their id, so a lookup never has to consult more than one shard and
+ * creating a table only contends with tables that hash to the same bin. All tables
+ * of a shard are played on the shard's single thread.
+ */
+class TableShard {
+
+    private final int index;
+
+    private final ConcurrentMap<String, TableActor> tables = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    TableShard(int index) {
+        this.index = index;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "table-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    Optional<TableActor> find(String tableId) {
+        return Optional.ofNullable(tables.get(tableId));
+    }
+
+    TableActor getOrCreate(String tableId, Function<String, TableActor> factory) {
+        return tables.computeIfAbsent(tableId, factory);
+    }
+
+    boolean remove(String tableId, TableActor table) {
+        return tables.remove(tableId, table);
+    }
+
+    Collection<String> getTableIds() {
+        return tables.keySet();
+    }
+
+    int size() {
+        return tables.size();
+    }
+
+    int getSeatedPlayers() {
+        int seated = 0;
+        for (TableActor table : tables.values()) {
+            seated += table.getSeatedPlayers();
+        }
+        return seated;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,173 @@
+package com.sap.ase.poker.service;
+
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Card;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Everything needed to continue a table where it was, including the undealt cards of
+ * the running hand, in a compact binary form for checkpoints.
+ */
+public class TableState {
+
+    static final byte FORMAT_VERSION = 2;
+
+    final long sequence;
+    final long version;
+    final int handNumber;
+    final GameState state;
+    final int currentPlayerIndex;
+    final List<Player> players;
+    final long[] holeCards;
+    final List<Card> communityCards;
+    final List<Card> deck;
+    final Map<String, Integer> bets;
+    final int pot;
+    final String winnerId;
+    final List<Card> winnerHand;
+
+    TableState(long sequence, long version, int handNumber, GameState state, int currentPlayerIndex, List<Player> players,
+               long[] holeCards, List<Card> communityCards, List<Card> deck, Map<String, Integer> bets, int pot,
+               String winnerId, List<Card> winnerHand) {
+        this.sequence = sequence;
+        this.version = version;
+        this.handNumber = handNumber;
+        this.state = state;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.players = players;
+        this.holeCards = holeCards;
+        this.communityCards = communityCards;
+        this.deck = deck;
+        this.bets = bets;
+        this.pot = pot;
+        this.winnerId = winnerId;
+        this.winnerHand = winnerHand;
+    }
+
+    /*
+     * The command sequence number of the last command the state includes.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /*
+     * The table's version when it was exported; clients may hold any version up to it.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(sequence);
+            out.writeLong(version);
+            out.writeInt(handNumber);
+            out.writeByte(state.ordinal());
+            out.writeInt(currentPlayerIndex);
+            out.writeShort(players.size());
+            for (Player player : players) {
+                writeString(out, player.getId());
+                writeString(out, player.getName());
+                out.writeInt(player.getCash());
+                out.writeInt(player.getBet());
+                out.writeBoolean(player.isActive());
+            }
+            out.writeShort(holeCards.length);
+            for (long cards : holeCards) {
+                out.writeLong(cards);
+            }
+            writeCards(out, communityCards);
+            writeCards(out, deck);
+            out.writeShort(bets.size());
+            for (Map.Entry<String, Integer> bet : bets.entrySet()) {
+                writeString(out, bet.getKey());
+                out.writeInt(bet.getValue());
+            }
+            out.writeInt(pot);
+            out.writeBoolean(winnerId != null);
+            if (winnerId != null) {
+                writeString(out, winnerId);
+            }
+            writeCards(out, winnerHand);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static TableState decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version != FORMAT_VERSION && version != 1) {
+            throw new IllegalArgumentException("unknown table state format version " + version);
+        }
+        long sequence = in.getLong();
+        // version 1 did not keep the table's version, restoring it starts at the wall clock
+        long tableVersion = version == 1 ? 0 : in.getLong();
+        int handNumber = in.getInt();
+        GameState state = GameState.values()[in.get()];
+        int currentPlayerIndex = in.getInt();
+        int playerCount = in.getShort();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player(readString(in), readString(in), in.getInt(), in.getInt(), in.get() != 0));
+        }
+        long[] holeCards = new long[in.getShort()];
+        for (int i = 0; i < holeCards.length; i++) {
+            holeCards[i] = in.getLong();
+        }
+        List<Card> communityCards = readCards(in);
+        List<Card> deck = readCards(in);
+        int betCount = in.getShort();
+        Map<String, Integer> bets = new LinkedHashMap<>();
+        for (int i = 0; i < betCount; i++) {
+            bets.put(readString(in), in.getInt());
+        }
+        int pot = in.getInt();
+        String winnerId = in.get() != 0 ? readString(in) : null;
+        List<Card> winnerHand = readCards(in);
+        return new TableState(sequence, tableVersion, handNumber, state, currentPlayerIndex, players, holeCards,
+                communityCards, deck, bets, pot, winnerId, winnerHand);
+    }
+
+    private static void writeCards(DataOutputStream out, List<Card> cards) throws IOException {
+        out.writeByte(cards.size());
+        for (Card card : cards) {
+            out.writeByte(card.index());
+        }
+    }
+
+    private static List<Card> readCards(ByteBuffer in) {
+        int count = in.get();
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.of(in.get()));
+        }
+        return cards;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
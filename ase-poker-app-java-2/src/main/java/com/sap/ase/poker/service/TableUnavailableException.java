@@ -0,0 +1,16 @@
+package com.sap.ase.poker.service;
+
+/*
+ * Thrown for the commands of a table that was closed, or whose command log failed. The
+ * latter table is fenced: it applies no further commands, as they could not be
+ * recovered after the lost one.
+ */
+public class TableUnavailableException extends RuntimeException {
+    public TableUnavailableException(String message) {
+        super(message);
+    }
+
+    public TableUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
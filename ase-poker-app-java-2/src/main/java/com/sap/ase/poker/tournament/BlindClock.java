@@ -0,0 +1,49 @@
+package com.sap.ase.poker.tournament;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * The blind levels of a tournament, each played for the level duration from the start
+ * of the tournament; the last level is played until the end. The level follows from
+ * the elapsed time, so the clock needs no timer of its own.
+ */
+public class BlindClock {
+
+    private final List<BlindLevel> levels;
+    private final long levelMillis;
+
+    public BlindClock(List<BlindLevel> levels, Duration levelDuration) {
+        if (levels.isEmpty()) {
+            throw new IllegalArgumentException("a blind clock needs at least one level");
+        }
+        if (levelDuration.toMillis() <= 0) {
+            throw new IllegalArgumentException("levels must last longer than " + levelDuration);
+        }
+        this.levels = new ArrayList<>(levels);
+        this.levelMillis = levelDuration.toMillis();
+    }
+
+    /*
+     * The index of the level played at the given time since the start.
+     */
+    public int levelAt(long elapsedMillis) {
+        return (int) Math.min(Math.max(elapsedMillis, 0) / levelMillis, levels.size() - 1);
+    }
+
+    public BlindLevel getLevel(int level) {
+        return levels.get(level);
+    }
+
+    /*
+     * The time until the blinds go up, or -1 once the last level is played.
+     */
+    public long millisToNextLevel(long elapsedMillis) {
+        int level = levelAt(elapsedMillis);
+        if (level == levels.size() - 1) {
+            return -1;
+        }
+        return (level + 1) * levelMillis - Math.max(elapsedMillis, 0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.sap.ase.poker.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BlindLevel {
+
+    private final int smallBlind;
+    private final int bigBlind;
+
+    public BlindLevel(int smallBlind, int bigBlind) {
+        if (smallBlind < 0 || bigBlind < smallBlind) {
+            throw new IllegalArgumentException("invalid blinds " + smallBlind + "/" + bigBlind);
+        }
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+    }
+
+    /*
+     * Parses levels written as small blind/big blind, separated by commas, e.g.
+     * "10/20,15/30,25/50".
+     */
+    public static List<BlindLevel> parseAll(String levels) {
+        List<BlindLevel> parsed = new ArrayList<>();
+        for (String level : levels.split(",")) {
+            String[] blinds = level.trim().split("/");
+            if (blinds.length != 2) {
+                throw new IllegalArgumentException("blind level must be small/big, not " + level);
+            }
+            parsed.add(new BlindLevel(Integer.parseInt(blinds[0].trim()), Integer.parseInt(blinds[1].trim())));
+        }
+        return parsed;
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    @Override
+    public String toString() {
+        return smallBlind + "/" + bigBlind;
+    }
+}
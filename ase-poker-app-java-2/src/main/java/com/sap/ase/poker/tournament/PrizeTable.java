@@ -0,0 +1,56 @@
+package com.sap.ase.poker.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * The shares of the prize pool by place, in percent of the pool. If fewer players
+ * entered than places are paid, the shares of the missing places go to the winner, as
+ * do the chips lost to rounding.
+ */
+public class PrizeTable {
+
+    private final int[] percentages;
+
+    public PrizeTable(List<Integer> percentages) {
+        int total = 0;
+        this.percentages = new int[percentages.size()];
+        for (int place = 0; place < percentages.size(); place++) {
+            if (percentages.get(place) < 0) {
+                throw new IllegalArgumentException("negative share of place " + (place + 1));
+            }
+            this.percentages[place] = percentages.get(place);
+            total += percentages.get(place);
+        }
+        if (total != 100) {
+            throw new IllegalArgumentException("prize shares add up to " + total + "%, not 100%");
+        }
+    }
+
+    /*
+     * Parses percentages separated by commas, first place first, e.g. "50,30,20".
+     */
+    public static PrizeTable parse(String percentages) {
+        List<Integer> parsed = new ArrayList<>();
+        for (String percentage : percentages.split(",")) {
+            parsed.add(Integer.parseInt(percentage.trim()));
+        }
+        return new PrizeTable(parsed);
+    }
+
+    /*
+     * The prize of each place, first place first.
+     */
+    public int[] prizes(int pool, int entrants) {
+        int[] prizes = new int[entrants];
+        int paid = 0;
+        for (int place = 0; place < Math.min(entrants, percentages.length); place++) {
+            prizes[place] = (int) ((long) pool * percentages[place] / 100);
+            paid += prizes[place];
+        }
+        if (entrants > 0) {
+            prizes[0] += pool - paid;
+        }
+        return prizes;
+    }
+}
@@ -0,0 +1,44 @@
+package com.sap.ase.poker.tournament;
+
+public class Standing {
+
+    private final int place;
+    private final String playerId;
+    private final String playerName;
+    private final int chips;
+    private final int prize;
+    private final boolean busted;
+
+    public Standing(int place, String playerId, String playerName, int chips, int prize, boolean busted) {
+        this.place = place;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.chips = chips;
+        this.prize = prize;
+        this.busted = busted;
+    }
+
+    public int getPlace() {
+        return place;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getChips() {
+        return chips;
+    }
+
+    public int getPrize() {
+        return prize;
+    }
+
+    public boolean isBusted() {
+        return busted;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sap.ase.poker.tournament;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Plans the moves of players between the tables of a tournament. While the players fit
+ * at fewer tables, the table with the fewest players is broken up and its players are
+ * spread over the emptiest tables; then players move from the fullest to the emptiest
+ * table until no two tables differ by more than one player.
+ */
+final class TableBalancer {
+
+    private TableBalancer() {
+    }
+
+    static int tablesFor(int players, int seatsPerTable) {
+        return Math.max(1, (players + seatsPerTable - 1) / seatsPerTable);
+    }
+
+    /*
+     * seated holds the number of players by table, in the order in which the tables
+     * were opened; the tables opened last are broken first. Returns one move per player.
+     */
+    static List<Move> plan(Map<String, Integer> seated, int seatsPerTable) {
+        Map<String, Integer> counts = new LinkedHashMap<>(seated);
+        int players = 0;
+        for (int count : counts.values()) {
+            players += count;
+        }
+        List<Move> moves = new ArrayList<>();
+        while (counts.size() > tablesFor(players, seatsPerTable)) {
+            String broken = emptiest(counts, true);
+            int leaving = counts.remove(broken);
+            for (int i = 0; i < leaving; i++) {
+                String to = emptiest(counts, false);
+                counts.merge(to, 1, Integer::sum);
+                moves.add(new Move(broken, to));
+            }
+        }
+        while (counts.size() > 1) {
+            String from = fullest(counts);
+            String to = emptiest(counts, false);
+            if (counts.get(from) - counts.get(to) <= 1) {
+                break;
+            }
+            counts.merge(from, -1, Integer::sum);
+            counts.merge(to, 1, Integer::sum);
+            moves.add(new Move(from, to));
+        }
+        return moves;
+    }
+
+    private static String emptiest(Map<String, Integer> counts, boolean lastOnTie) {
+        String emptiest = null;
+        int fewest = Integer.MAX_VALUE;
+        for (Map.Entry<String, Integer> table : counts.entrySet()) {
+            if (table.getValue() < fewest || (lastOnTie && table.getValue() == fewest)) {
+                emptiest = table.getKey();
+                fewest = table.getValue();
+            }
+        }
+        return emptiest;
+    }
+
+    private static String fullest(Map<String, Integer> counts) {
+        String fullest = null;
+        int most = -1;
+        for (Map.Entry<String, Integer> table : counts.entrySet()) {
+            if (table.getValue() > most) {
+                fullest = table.getKey();
+                most = table.getValue();
+            }
+        }
+        return fullest;
+    }
+
+    static final class Move {
+        private final String from;
+        private final String to;
+
+        Move(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        String getFrom() {
+            return from;
+        }
+
+        String getTo() {
+            return to;
+        }
+
+        @Override
+        public String toString() {
+            return from + " -> " + to;
+        }
+    }
+}
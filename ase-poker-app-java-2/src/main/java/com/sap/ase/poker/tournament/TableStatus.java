@@ -0,0 +1,50 @@
+package com.sap.ase.poker.tournament;
+
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.service.TableService;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * What a tournament needs to know of one of its tables: whether a hand is being played
+ * and the cash of the seated players. Taken on the table's shard.
+ */
+final class TableStatus {
+
+    private final long version;
+    private final boolean idle;
+    private final Map<String, Integer> stacks;
+
+    TableStatus(long version, boolean idle, Map<String, Integer> stacks) {
+        this.version = version;
+        this.idle = idle;
+        this.stacks = Collections.unmodifiableMap(stacks);
+    }
+
+    static TableStatus of(TableService table) {
+        Map<String, Integer> stacks = new LinkedHashMap<>();
+        for (Player player : table.getPlayers()) {
+            stacks.put(player.getId(), player.getCash());
+        }
+        GameState state = table.getState();
+        return new TableStatus(table.getVersion(), state == GameState.OPEN || state == GameState.ENDED, stacks);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /*
+     * No hand is being played, so players can leave and join
+     */
+    boolean isIdle() {
+        return idle;
+    }
+
+    Map<String, Integer> getStacks() {
+        return stacks;
+    }
+}
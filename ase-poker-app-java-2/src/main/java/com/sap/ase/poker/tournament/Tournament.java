@@ -0,0 +1,254 @@
+package com.sap.ase.poker.tournament;
+
+import com.sap.ase.poker.model.IllegalActionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/*
+ * A tournament played at many tables: the entrants are seated when it starts, busted
+ * players leave, and the others are moved between the tables until one player holds
+ * all chips. Not thread-safe, the TournamentScheduler calls it from its thread only;
+ * the tables themselves are played through their actors like any other table.
+ */
+public class Tournament {
+
+    public enum Status {
+        REGISTERING, RUNNING, FINISHED
+    }
+
+    private final String id;
+    private final TournamentSettings settings;
+    private final Map<String, String> entrants = new LinkedHashMap<>();
+
+    // ids of the players by table, the tables in the order they were opened
+    private final Map<String, List<String>> seating = new LinkedHashMap<>();
+
+    // cash of the players when their table was last seen between hands
+    private final Map<String, Integer> stacks = new HashMap<>();
+
+    // ids of the busted players, the first to bust first
+    private final List<String> busted = new ArrayList<>();
+
+    private Status status = Status.REGISTERING;
+    private long startMillis;
+
+    public Tournament(String id, TournamentSettings settings) {
+        this.id = id;
+        this.settings = settings;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void register(String playerId, String playerName) {
+        if (status != Status.REGISTERING) {
+            throw new IllegalActionException("registration of tournament " + id + " is closed");
+        }
+        if (entrants.putIfAbsent(playerId, playerName) != null) {
+            throw new IllegalActionException(playerId + " is already registered");
+        }
+    }
+
+    /*
+     * Closes the registration and seats the entrants in random order, dealt round the
+     * tables like cards, so that no two tables differ by more than one player. Returns
+     * the ids of the players by table.
+     */
+    public Map<String, List<String>> start(long nowMillis, Random random) {
+        if (status != Status.REGISTERING) {
+            throw new IllegalActionException("tournament " + id + " was already started");
+        }
+        if (entrants.size() < 2) {
+            throw new IllegalActionException("a tournament needs at least 2 players");
+        }
+        List<String> players = new ArrayList<>(entrants.keySet());
+        Collections.shuffle(players, random);
+        int tables = TableBalancer.tablesFor(players.size(), settings.getSeatsPerTable());
+        List<List<String>> seats = new ArrayList<>(tables);
+        for (int table = 1; table <= tables; table++) {
+            List<String> seated = new ArrayList<>();
+            seating.put(id + "-" + table, seated);
+            seats.add(seated);
+        }
+        for (int i = 0; i < players.size(); i++) {
+            seats.get(i % tables).add(players.get(i));
+            stacks.put(players.get(i), settings.getStartingStack());
+        }
+        status = Status.RUNNING;
+        startMillis = nowMillis;
+        return getSeating();
+    }
+
+    /*
+     * Takes in the tables as they were seen, possibly not all of them, and decides what
+     * they do next. Players whose table is between hands with no cash left bust; those
+     * busting at the same time are ranked by the cash they started the hand with. Only
+     * tables between hands can give or take players, and those that are to give or take
+     * players start no new hand until they have. Tables left empty, and all tables once
+     * the tournament is over, are closed.
+     */
+    TournamentUpdate update(Map<String, TableStatus> tables, long nowMillis) {
+        TournamentUpdate update = new TournamentUpdate(getLevel(nowMillis));
+        if (status != Status.RUNNING) {
+            return update;
+        }
+        Set<String> idle = new HashSet<>();
+        List<String> bustedNow = new ArrayList<>();
+        for (Map.Entry<String, List<String>> table : seating.entrySet()) {
+            TableStatus seen = tables.get(table.getKey());
+            if (seen == null || !seen.isIdle()) {
+                continue;
+            }
+            idle.add(table.getKey());
+            for (Iterator<String> players = table.getValue().iterator(); players.hasNext(); ) {
+                String playerId = players.next();
+                Integer cash = seen.getStacks().get(playerId);
+                if (cash == null) {
+                    continue;
+                }
+                if (cash == 0) {
+                    players.remove();
+                    bustedNow.add(playerId);
+                    update.remove(table.getKey(), playerId);
+                } else {
+                    stacks.put(playerId, cash);
+                }
+            }
+        }
+        bustedNow.sort(Comparator.comparing(stacks::get));
+        for (String playerId : bustedNow) {
+            busted.add(playerId);
+            stacks.put(playerId, 0);
+        }
+        if (busted.size() >= entrants.size() - 1) {
+            status = Status.FINISHED;
+            seating.keySet().forEach(update::close);
+            return update;
+        }
+
+        Set<String> held = new HashSet<>();
+        for (TableBalancer.Move move : TableBalancer.plan(getSeatedCounts(), settings.getSeatsPerTable())) {
+            held.add(move.getFrom());
+            held.add(move.getTo());
+            if (idle.contains(move.getFrom()) && idle.contains(move.getTo())) {
+                List<String> from = seating.get(move.getFrom());
+                String playerId = from.remove(from.size() - 1);
+                seating.get(move.getTo()).add(playerId);
+                update.move(playerId, move.getFrom(), move.getTo());
+            }
+        }
+        for (Iterator<Map.Entry<String, List<String>>> seated = seating.entrySet().iterator(); seated.hasNext(); ) {
+            Map.Entry<String, List<String>> table = seated.next();
+            if (table.getValue().isEmpty()) {
+                seated.remove();
+                update.close(table.getKey());
+            }
+        }
+        for (Map.Entry<String, List<String>> table : seating.entrySet()) {
+            if (idle.contains(table.getKey()) && !held.contains(table.getKey()) && table.getValue().size() > 1) {
+                update.start(table.getKey());
+            }
+        }
+        return update;
+    }
+
+    private Map<String, Integer> getSeatedCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> table : seating.entrySet()) {
+            counts.put(table.getKey(), table.getValue().size());
+        }
+        return counts;
+    }
+
+    /*
+     * The places of all entrants: the players still in by their cash, then the busted
+     * players, the last to bust first; each with the prize of their place.
+     */
+    public List<Standing> getStandings() {
+        List<String> playing = new ArrayList<>();
+        if (status == Status.REGISTERING) {
+            playing.addAll(entrants.keySet());
+        } else {
+            for (List<String> players : seating.values()) {
+                playing.addAll(players);
+            }
+            playing.sort(Comparator.comparing((String playerId) -> stacks.get(playerId)).reversed());
+        }
+        List<String> places = new ArrayList<>(playing);
+        for (int i = busted.size() - 1; i >= 0; i--) {
+            places.add(busted.get(i));
+        }
+        int[] prizes = settings.getPrizeTable().prizes(getPrizePool(), entrants.size());
+        List<Standing> standings = new ArrayList<>(places.size());
+        for (int place = 0; place < places.size(); place++) {
+            String playerId = places.get(place);
+            standings.add(new Standing(place + 1, playerId, entrants.get(playerId),
+                    stacks.getOrDefault(playerId, settings.getStartingStack()), prizes[place], place >= playing.size()));
+        }
+        return standings;
+    }
+
+    public int getPrizePool() {
+        return entrants.size() * settings.getBuyIn();
+    }
+
+    public int getEntrants() {
+        return entrants.size();
+    }
+
+    public String getPlayerName(String playerId) {
+        return entrants.get(playerId);
+    }
+
+    public int getPlayersLeft() {
+        return entrants.size() - busted.size();
+    }
+
+    /*
+     * The ids of the players by table, as the tournament seated them.
+     */
+    public Map<String, List<String>> getSeating() {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> table : seating.entrySet()) {
+            copy.put(table.getKey(), Collections.unmodifiableList(new ArrayList<>(table.getValue())));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /*
+     * The index of the current blind level, 0 before the start.
+     */
+    public int getLevelIndex(long nowMillis) {
+        return status == Status.REGISTERING ? 0 : settings.getBlindClock().levelAt(nowMillis - startMillis);
+    }
+
+    public BlindLevel getLevel(long nowMillis) {
+        return settings.getBlindClock().getLevel(getLevelIndex(nowMillis));
+    }
+
+    /*
+     * The time until the blinds go up, -1 before the start and at the last level.
+     */
+    public long getMillisToNextLevel(long nowMillis) {
+        return status == Status.REGISTERING ? -1 : settings.getBlindClock().millisToNextLevel(nowMillis - startMillis);
+    }
+
+    public int getStartingStack() {
+        return settings.getStartingStack();
+    }
+}
@@ -0,0 +1,402 @@
+package com.sap.ase.poker.tournament;
+
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableBusyException;
+import com.sap.ase.poker.service.TableRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/*
+ * Runs all tournaments on a single thread. Every tick, each running tournament looks at
+ * its tables and tells them what to do next, through the tables' actors on the shards
+ * of the TableRegistry, so neither a tournament nor a table needs a thread of its own:
+ * a table costs one command per tick, and not even that while its version is unchanged.
+ * A tournament's next tick waits until its tables took all commands of the last one.
+ * A move that fails is tried again with the next tick, so that a player taken from one
+ * table is not lost on the way to the next, and so is the removal of a busted player
+ * that a busy table refused; the table deals no hand until the player left.
+ *
+ * Tables a tournament no longer uses are removed from the TableRegistry, and a
+ * finished tournament is forgotten poker.tournament.retention after its end.
+ */
+@Service
+public class TournamentScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TournamentScheduler.class);
+
+    private final TableRegistry tableRegistry;
+
+    private final TournamentSettings settings;
+
+    private final Duration retention;
+
+    private final ScheduledExecutorService executor;
+
+    private final Map<String, ScheduledTournament> tournaments = new ConcurrentHashMap<>();
+
+    // used on the scheduler thread only
+    private final Random random = new Random();
+
+    public TournamentScheduler(TableRegistry tableRegistry, TournamentSettings settings,
+                               @Value("${poker.tournament.tick:PT1S}") Duration tick,
+                               @Value("${poker.tournament.retention:PT1H}") Duration retention) {
+        this.tableRegistry = tableRegistry;
+        this.settings = settings;
+        this.retention = retention;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tournament-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Opens the registration of a new tournament and completes with its id.
+     */
+    public CompletableFuture<String> create() {
+        return CompletableFuture.supplyAsync(() -> {
+            String id;
+            do {
+                id = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            } while (tournaments.containsKey(id) || !tableRegistry.reserve(id));
+            tournaments.put(id, new ScheduledTournament(new Tournament(id, settings)));
+            return id;
+        }, executor);
+    }
+
+    public boolean exists(String tournamentId) {
+        return tournaments.containsKey(tournamentId);
+    }
+
+    public List<String> getTournamentIds() {
+        return new ArrayList<>(tournaments.keySet());
+    }
+
+    /*
+     * Runs the function with the tournament on the scheduler thread, e.g. to register a
+     * player or to read the standings.
+     */
+    public <T> CompletableFuture<T> submit(String tournamentId, Function<Tournament, T> function) {
+        return CompletableFuture.supplyAsync(() -> function.apply(get(tournamentId).tournament), executor);
+    }
+
+    /*
+     * Seats the entrants at new tables with the starting stack; the first hands are
+     * dealt with the next tick.
+     */
+    public CompletableFuture<Void> start(String tournamentId) {
+        return CompletableFuture.supplyAsync(() -> {
+            ScheduledTournament scheduled = get(tournamentId);
+            Tournament tournament = scheduled.tournament;
+            List<CompletableFuture<Void>> seated = new ArrayList<>();
+            for (Map.Entry<String, List<String>> table : tournament.start(System.currentTimeMillis(), random).entrySet()) {
+                List<String> players = table.getValue();
+                seated.add(tableRegistry.getOrCreate(table.getKey()).execute(tableService -> {
+                    for (String playerId : players) {
+                        tableService.addPlayer(playerId, tournament.getPlayerName(playerId), settings.getStartingStack());
+                    }
+                }));
+            }
+            scheduled.pending = CompletableFuture.allOf(seated.toArray(new CompletableFuture[0]));
+            LOGGER.info("Started tournament {} with {} players at {} tables", tournamentId, tournament.getEntrants(),
+                    seated.size());
+            return scheduled.pending;
+        }, executor).thenCompose(pending -> pending);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /*
+     * Runs a tick now instead of waiting for the next, completing when the tables took
+     * its commands.
+     */
+    CompletableFuture<Void> tickNow() {
+        return CompletableFuture.supplyAsync(this::tick, executor).thenCompose(ticked -> ticked);
+    }
+
+    private CompletableFuture<Void> tick() {
+        List<CompletableFuture<Void>> ticks = new ArrayList<>();
+        try {
+            for (ScheduledTournament scheduled : tournaments.values()) {
+                if (!scheduled.pending.isDone()) {
+                    continue;
+                }
+                Tournament tournament = scheduled.tournament;
+                if (tournament.getStatus() == Tournament.Status.RUNNING) {
+                    scheduled.pending = tick(scheduled);
+                    ticks.add(scheduled.pending);
+                } else if (tournament.getStatus() == Tournament.Status.FINISHED && !scheduled.closing.isEmpty()) {
+                    scheduled.pending = removeClosedTables(scheduled);
+                    ticks.add(scheduled.pending);
+                } else if (tournament.getStatus() == Tournament.Status.FINISHED
+                        && System.currentTimeMillis() - scheduled.finishedMillis >= retention.toMillis()) {
+                    tournaments.remove(tournament.getId());
+                    tableRegistry.release(tournament.getId());
+                    LOGGER.info("Forgot finished tournament {}", tournament.getId());
+                }
+            }
+        } catch (RuntimeException e) {
+            // an exception would cancel all further ticks
+            LOGGER.error("Tournament tick failed", e);
+        }
+        return CompletableFuture.allOf(ticks.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> tick(ScheduledTournament scheduled) {
+        Map<String, CompletableFuture<TableStatus>> seen = new LinkedHashMap<>();
+        for (String tableId : scheduled.tournament.getSeating().keySet()) {
+            Optional<TableActor> table = tableRegistry.find(tableId);
+            if (!table.isPresent()) {
+                continue;
+            }
+            TableStatus last = scheduled.statuses.get(tableId);
+            if (last != null && last.getVersion() == table.get().getVersion()) {
+                seen.put(tableId, CompletableFuture.completedFuture(last));
+            } else {
+                // a busy table is seen with the next tick
+                seen.put(tableId, table.get().submit(TableStatus::of).exceptionally(e -> null));
+            }
+        }
+        return CompletableFuture.allOf(seen.values().toArray(new CompletableFuture[0]))
+                .thenComposeAsync(ignored -> {
+                    Map<String, TableStatus> statuses = new HashMap<>();
+                    for (Map.Entry<String, CompletableFuture<TableStatus>> table : seen.entrySet()) {
+                        TableStatus status = table.getValue().join();
+                        if (status != null) {
+                            statuses.put(table.getKey(), status);
+                        }
+                    }
+                    scheduled.statuses = statuses;
+                    Tournament tournament = scheduled.tournament;
+                    CompletableFuture<Void> applied = apply(scheduled,
+                            tournament.update(statuses, System.currentTimeMillis()));
+                    if (tournament.getStatus() == Tournament.Status.FINISHED) {
+                        scheduled.finishedMillis = System.currentTimeMillis();
+                        LOGGER.info("Finished tournament {}", tournament.getId());
+                    }
+                    return applied;
+                }, executor)
+                .exceptionally(e -> {
+                    LOGGER.error("Tick of tournament {} failed", scheduled.tournament.getId(), e);
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> apply(ScheduledTournament scheduled, TournamentUpdate update) {
+        scheduled.closing.addAll(update.getCloses());
+        List<CompletableFuture<Void>> commands = new ArrayList<>();
+        Map<String, List<CompletableFuture<Boolean>>> removals = new HashMap<>();
+        FailedRemoval failedRemoval;
+        while ((failedRemoval = scheduled.failedRemovals.poll()) != null) {
+            removals.computeIfAbsent(failedRemoval.tableId, id -> new ArrayList<>())
+                    .add(remove(scheduled, failedRemoval.tableId, failedRemoval.playerId));
+        }
+        for (Map.Entry<String, List<String>> removal : update.getRemovals().entrySet()) {
+            for (String playerId : removal.getValue()) {
+                removals.computeIfAbsent(removal.getKey(), id -> new ArrayList<>())
+                        .add(remove(scheduled, removal.getKey(), playerId));
+            }
+        }
+        for (List<CompletableFuture<Boolean>> removed : removals.values()) {
+            removed.forEach(result -> commands.add(result.thenApply(ignored -> null)));
+        }
+        // queued before the hands are started, so a player moved late still joins the next hand
+        FailedMove failed;
+        while ((failed = scheduled.failedMoves.poll()) != null) {
+            commands.add(move(scheduled, failed.move, failed.player));
+        }
+        for (TournamentUpdate.Move move : update.getMoves()) {
+            commands.add(move(scheduled, move, null));
+        }
+        BlindLevel level = update.getLevel();
+        for (String tableId : update.getStarts()) {
+            List<CompletableFuture<Boolean>> removed = removals.getOrDefault(tableId, Collections.emptyList());
+            commands.add(CompletableFuture.allOf(removed.toArray(new CompletableFuture[0])).thenCompose(ignored -> {
+                // a busted player who is still seated would be dealt in
+                if (!removed.stream().allMatch(CompletableFuture::join)) {
+                    return CompletableFuture.completedFuture(null);
+                }
+                return logFailure(tableRegistry.getOrCreate(tableId).execute(tableService -> {
+                    tableService.start();
+                    tableService.postBlinds(level.getSmallBlind(), level.getBigBlind());
+                }), "start a hand at " + tableId);
+            }));
+        }
+        return CompletableFuture.allOf(commands.toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> removeClosedTables(scheduled));
+    }
+
+    /*
+     * Removes the tables the tournament closed. While it runs, a table that a player
+     * still has to be taken from is kept until they are; a table that could not be
+     * removed is tried again with the next tick.
+     */
+    private CompletableFuture<Void> removeClosedTables(ScheduledTournament scheduled) {
+        Set<String> inUse = new HashSet<>();
+        if (scheduled.tournament.getStatus() == Tournament.Status.RUNNING) {
+            for (FailedMove failed : scheduled.failedMoves) {
+                if (failed.player == null) {
+                    inUse.add(failed.move.getFrom());
+                }
+            }
+            for (FailedRemoval failed : scheduled.failedRemovals) {
+                inUse.add(failed.tableId);
+            }
+        }
+        List<String> closing = new ArrayList<>();
+        String tableId;
+        while ((tableId = scheduled.closing.poll()) != null) {
+            closing.add(tableId);
+        }
+        List<CompletableFuture<Void>> removals = new ArrayList<>();
+        for (String closed : closing) {
+            if (inUse.contains(closed)) {
+                scheduled.closing.add(closed);
+                continue;
+            }
+            removals.add(tableRegistry.remove(closed).exceptionally(e -> {
+                scheduled.closing.add(closed);
+                LOGGER.warn("Tournament failed to remove table {}, trying again with the next tick", closed, e);
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(removals.toArray(new CompletableFuture[0]));
+    }
+
+    /*
+     * Takes a busted player from their table; completes with whether they were taken. A
+     * removal that a busy table refused is kept for the next tick.
+     */
+    private CompletableFuture<Boolean> remove(ScheduledTournament scheduled, String tableId, String playerId) {
+        return tableRegistry.getOrCreate(tableId).execute(tableService -> tableService.removePlayer(playerId))
+                .handle((ignored, error) -> {
+                    if (error == null) {
+                        return true;
+                    }
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof TableBusyException) {
+                        scheduled.failedRemovals.add(new FailedRemoval(tableId, playerId));
+                        LOGGER.warn("Tournament failed to remove {} from {}, trying again with the next tick",
+                                playerId, tableId);
+                    } else {
+                        LOGGER.error("Tournament failed to remove {} from {}", playerId, tableId, cause);
+                    }
+                    return false;
+                });
+    }
+
+    /*
+     * Takes the player from the table they leave, unless they were already taken, and
+     * seats them with their cash at the other. A move that fails is kept for the next
+     * tick: the tournament has seated the player at the other table already.
+     */
+    private CompletableFuture<Void> move(ScheduledTournament scheduled, TournamentUpdate.Move move, Player taken) {
+        String description = "move " + move.getPlayerId() + " from " + move.getFrom() + " to " + move.getTo();
+        CompletableFuture<Player> removed = taken != null ? CompletableFuture.completedFuture(taken)
+                : tableRegistry.getOrCreate(move.getFrom()).submit(tableService -> tableService.removePlayer(move.getPlayerId()));
+        TableActor to = tableRegistry.getOrCreate(move.getTo());
+        return removed.handle((player, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                // a table that is not busy refused for good, e.g. because the player is not seated there
+                if (cause instanceof TableBusyException) {
+                    scheduled.failedMoves.add(new FailedMove(move, null));
+                }
+                LOGGER.error("Tournament failed to {}", description, cause);
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+            return to.execute(tableService -> tableService.addPlayer(player.getId(), player.getName(), player.getCash()))
+                    .exceptionally(e -> {
+                        scheduled.failedMoves.add(new FailedMove(move, player));
+                        LOGGER.error("Tournament failed to {}, trying again with the next tick", description, e);
+                        return null;
+                    });
+        }).thenCompose(added -> added);
+    }
+
+    private static CompletableFuture<Void> logFailure(CompletableFuture<Void> command, String description) {
+        return command.exceptionally(e -> {
+            LOGGER.error("Tournament failed to {}", description, e);
+            return null;
+        });
+    }
+
+    private ScheduledTournament get(String tournamentId) {
+        ScheduledTournament scheduled = tournaments.get(tournamentId);
+        if (scheduled == null) {
+            throw new IllegalArgumentException("unknown tournament: " + tournamentId);
+        }
+        return scheduled;
+    }
+
+    /*
+     * A tournament with what the scheduler keeps of it between ticks, touched on the
+     * scheduler thread only but for the failed moves and removals and the tables to
+     * close, which the tables report.
+     */
+    private static final class ScheduledTournament {
+        private final Tournament tournament;
+        private final Queue<FailedMove> failedMoves = new ConcurrentLinkedQueue<>();
+        private final Queue<FailedRemoval> failedRemovals = new ConcurrentLinkedQueue<>();
+        private final Queue<String> closing = new ConcurrentLinkedQueue<>();
+        private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+        private Map<String, TableStatus> statuses = new HashMap<>();
+        private long finishedMillis;
+
+        ScheduledTournament(Tournament tournament) {
+            this.tournament = tournament;
+        }
+    }
+
+    /*
+     * A move to try again, with the player if they were taken from their table already.
+     */
+    private static final class FailedMove {
+        private final TournamentUpdate.Move move;
+        private final Player player;
+
+        FailedMove(TournamentUpdate.Move move, Player player) {
+            this.move = move;
+            this.player = player;
+        }
+    }
+
+    private static final class FailedRemoval {
+        private final String tableId;
+        private final String playerId;
+
+        FailedRemoval(String tableId, String playerId) {
+            this.tableId = tableId;
+            this.playerId = playerId;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sap.ase.poker.tournament;
+
+public class TournamentSettings {
+
+    private final int seatsPerTable;
+    private final int startingStack;
+    private final int buyIn;
+    private final BlindClock blindClock;
+    private final PrizeTable prizeTable;
+
+    public TournamentSettings(int seatsPerTable, int startingStack, int buyIn, BlindClock blindClock,
+                              PrizeTable prizeTable) {
+        // with 2 seats, 3 players would leave one of them alone at a table
+        if (seatsPerTable < 3) {
+            throw new IllegalArgumentException("tournament tables need at least 3 seats");
+        }
+        if (startingStack <= 0 || buyIn < 0) {
+            throw new IllegalArgumentException("invalid starting stack " + startingStack + " or buy-in " + buyIn);
+        }
+        this.seatsPerTable = seatsPerTable;
+        this.startingStack = startingStack;
+        this.buyIn = buyIn;
+        this.blindClock = blindClock;
+        this.prizeTable = prizeTable;
+    }
+
+    public int getSeatsPerTable() {
+        return seatsPerTable;
+    }
+
+    public int getStartingStack() {
+        return startingStack;
+    }
+
+    public int getBuyIn() {
+        return buyIn;
+    }
+
+    public BlindClock getBlindClock() {
+        return blindClock;
+    }
+
+    public PrizeTable getPrizeTable() {
+        return prizeTable;
+    }
+}
@@ -0,0 +1,84 @@
+package com.sap.ase.poker.tournament;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * What the tables of a tournament do next, in this order: busted players leave their
+ * tables, players move between tables, and hands start with the blinds of the level.
+ * Tables the tournament no longer uses are closed once that is done.
+ */
+final class TournamentUpdate {
+
+    private final BlindLevel level;
+    private final Map<String, List<String>> removals = new LinkedHashMap<>();
+    private final List<Move> moves = new ArrayList<>();
+    private final List<String> starts = new ArrayList<>();
+    private final List<String> closes = new ArrayList<>();
+
+    TournamentUpdate(BlindLevel level) {
+        this.level = level;
+    }
+
+    void remove(String tableId, String playerId) {
+        removals.computeIfAbsent(tableId, id -> new ArrayList<>()).add(playerId);
+    }
+
+    void move(String playerId, String from, String to) {
+        moves.add(new Move(playerId, from, to));
+    }
+
+    void start(String tableId) {
+        starts.add(tableId);
+    }
+
+    void close(String tableId) {
+        closes.add(tableId);
+    }
+
+    BlindLevel getLevel() {
+        return level;
+    }
+
+    Map<String, List<String>> getRemovals() {
+        return removals;
+    }
+
+    List<Move> getMoves() {
+        return moves;
+    }
+
+    List<String> getStarts() {
+        return starts;
+    }
+
+    List<String> getCloses() {
+        return closes;
+    }
+
+    static final class Move {
+        private final String playerId;
+        private final String from;
+        private final String to;
+
+        Move(String playerId, String from, String to) {
+            this.playerId = playerId;
+            this.from = from;
+            this.to = to;
+        }
+
+        String getPlayerId() {
+            return playerId;
+        }
+
+        String getFrom() {
+            return from;
+        }
+
+        String getTo() {
+            return to;
+        }
+    }
+}
@@ -20,8 +20,24 @@ sap.ui.define([
       await this._updateModel()
       // join table if not already joined
       await this._joinTable()
-      // start polling for table updates
-      setInterval(() => this._updateModel(), 1000)
+      // receive table updates pushed by the server, fall back to polling
+      this._subscribe()
+    },
+
+    _subscribe() {
+      const source = table.subscribe(
+        tableData => this._applyTable(tableData),
+        () => this._startPolling()
+      )
+      if (!source) {
+        this._startPolling()
+      }
+    },
+
+    _startPolling() {
+      if (!this._pollInterval) {
+        this._pollInterval = setInterval(() => this._updateModelChanges(), 1000)
+      }
     },
 
     _getPlayer() {
@@ -38,38 +54,65 @@ sap.ui.define([
 
     async _updateModel() {
       try {
-        const player = this._getPlayer()
-        const { state, currentPlayer, players, bets, pot, communityCards, playerCards, winner, winnerHand } = await table.fetch()
-        const view = this.getView()
-        const model = view.getModel()
-        model.setProperty('/', Object.assign({}, model.getProperty('/'), {
-          state,
-          player,
-          currentPlayer,
-          players,
-          bets: bets ? Object.entries(bets).map(([id, bet]) => {
-            const name = players.find(p => p.id === id)?.name
-            return { name, bet }
-          }) : [],
-          pot,
-          communityCards,
-          playerCards,
-          winner,
-          winnerHand,
-          start: {
-            visible: player.id === players?.[0]?.id,
-            enabled: (state === 0 || state === 5) && (players.length > 1)
-          },
-          actions: {
-            enabled: currentPlayer?.id === player.id
-          }
-        }))
+        this._applyTable(await table.fetch())
       } catch ({ message, stack }) {
         console.error(stack)
         MessageBox.error(message)
       }
     },
 
+    async _updateModelChanges() {
+      if (!this._table) {
+        return this._updateModel()
+      }
+      try {
+        const changes = await table.fetchChanges(this._table.version)
+        if (changes) {
+          this._applyTable(Object.assign({}, this._table, changes))
+        }
+      } catch ({ message, stack }) {
+        console.error(stack)
+        MessageBox.error(message)
+      }
+    },
+
+    _applyTable(tableData) {
+      // pushes and polls may overtake each other, never go back to an older table
+      if (this._table && tableData.version < this._table.version) {
+        return
+      }
+      this._table = tableData
+      this._renderTable(tableData)
+    },
+
+    _renderTable({ state, currentPlayer, players, bets, pot, communityCards, playerCards, winner, winnerHand }) {
+      const player = this._getPlayer()
+      const view = this.getView()
+      const model = view.getModel()
+      model.setProperty('/', Object.assign({}, model.getProperty('/'), {
+        state,
+        player,
+        currentPlayer,
+        players,
+        bets: bets ? Object.entries(bets).map(([id, bet]) => {
+          const name = players.find(p => p.id === id)?.name
+          return { name, bet }
+        }) : [],
+        pot,
+        communityCards,
+        playerCards,
+        winner,
+        winnerHand,
+        start: {
+          visible: player.id === players?.[0]?.id,
+          enabled: (state === 0 || state === 5) && (players.length > 1)
+        },
+        actions: {
+          enabled: currentPlayer?.id === player.id
+        }
+      }))
+    },
+
     async _joinTable() {
       try {
         const view = this.getView()
@@ -17,6 +17,34 @@ sap.ui.define([], () => {
       return table
     },
 
+    // resolves to the fields changed since the given version, or null if nothing changed
+    async fetchChanges(sinceVersion) {
+      const response = await fetch(`${API_PATH}?sinceVersion=${sinceVersion}`)
+      if (response.status === 304) {
+        return null
+      }
+      if (!response.ok) {
+        const message = await response.text()
+        throw new Error(message)
+      }
+      return response.json()
+    },
+
+    subscribe(onTable, onError) {
+      if (typeof EventSource === 'undefined') {
+        return null
+      }
+      const source = new EventSource(`${API_PATH}/events`)
+      source.addEventListener('table', ({ data }) => onTable(JSON.parse(data)))
+      source.onerror = () => {
+        // EventSource reconnects on its own unless the server refused the stream
+        if (source.readyState === EventSource.CLOSED) {
+          onError()
+        }
+      }
+      return source
+    },
+
     async join() {
       await _fetch(`${API_PATH}/players`, {
         method: 'POST',
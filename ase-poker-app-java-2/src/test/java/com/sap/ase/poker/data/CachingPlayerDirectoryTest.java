@@ -0,0 +1,31 @@
+package com.sap.ase.poker.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingPlayerDirectoryTest {
+
+    @Test
+    void cacheReadsThroughOncePerId() {
+        int[] lookups = {0};
+        CachingPlayerDirectory players = new CachingPlayerDirectory(id -> {
+            lookups[0]++;
+            return id.equals("alice") ? Optional.of(new PlayerAccount("alice", "Alice", "{noop}secret"))
+                    : Optional.empty();
+        }, 100, Duration.ofMinutes(1));
+
+        assertThat(players.findById("alice")).isPresent();
+        assertThat(players.findById("alice")).isPresent();
+        assertThat(players.findById("carol")).isEmpty();
+        assertThat(players.findById("carol")).isEmpty();
+
+        assertThat(lookups[0]).isEqualTo(2);
+        assertThat(players.getHits()).isEqualTo(2);
+        assertThat(new PlayerNamesRepository(players).getNameForId("alice")).isEqualTo("Alice");
+        assertThat(new PlayerNamesRepository(players).getNameForId("carol")).isEqualTo("Unknown");
+    }
+}
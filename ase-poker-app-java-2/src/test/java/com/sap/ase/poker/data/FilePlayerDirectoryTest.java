@@ -0,0 +1,82 @@
+package com.sap.ase.poker.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilePlayerDirectoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void accountsAreReadFromTheFile() throws IOException {
+        Path file = write("# players", "", "alice\tAlice Cooper\t{noop}secret", "bob\tBob\t{noop}other");
+
+        try (FilePlayerDirectory players = new FilePlayerDirectory(file, Duration.ofMinutes(1))) {
+            assertThat(players.size()).isEqualTo(2);
+            PlayerAccount alice = players.findById("alice").get();
+            assertThat(alice.getName()).isEqualTo("Alice Cooper");
+            assertThat(alice.getEncodedPassword()).isEqualTo("{noop}secret");
+            assertThat(players.findById("carol")).isEmpty();
+        }
+    }
+
+    @Test
+    void modifiedFileIsReloaded() throws IOException {
+        Path file = write("alice\tAlice\t{noop}secret");
+        try (FilePlayerDirectory players = new FilePlayerDirectory(file, Duration.ofMinutes(1))) {
+            write("alice\tAlice\t{noop}changed", "bob\tBob\t{noop}other");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+
+            assertThat(players.findById("bob")).isEmpty();
+            players.reloadIfModified();
+
+            assertThat(players.findById("bob")).isPresent();
+            assertThat(players.findById("alice").get().getEncodedPassword()).isEqualTo("{noop}changed");
+        }
+    }
+
+    @Test
+    void modifiedFileIsReloadedInTheBackground() throws Exception {
+        Path file = write("alice\tAlice\t{noop}secret");
+        try (FilePlayerDirectory players = new FilePlayerDirectory(file, Duration.ofMillis(10))) {
+            write("alice\tAlice\t{noop}secret", "bob\tBob\t{noop}other");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!players.findById("bob").isPresent() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(players.findById("bob")).isPresent();
+        }
+    }
+
+    @Test
+    void brokenReloadKeepsThePreviousAccounts() throws IOException {
+        Path file = write("alice\tAlice\t{noop}secret");
+        try (FilePlayerDirectory players = new FilePlayerDirectory(file, Duration.ofMinutes(1))) {
+            write("alice without tabs");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+            players.reloadIfModified();
+
+            assertThat(players.findById("alice")).isPresent();
+        }
+        assertThatThrownBy(() -> new FilePlayerDirectory(file, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining(":1:");
+    }
+
+    private Path write(String... lines) throws IOException {
+        return Files.write(directory.resolve("players.tsv"), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+}
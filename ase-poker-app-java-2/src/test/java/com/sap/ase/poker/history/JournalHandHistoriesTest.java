@@ -0,0 +1,85 @@
+package com.sap.ase.poker.history;
+
+import com.sap.ase.poker.journal.FsyncPolicy;
+import com.sap.ase.poker.journal.Journal;
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.service.TableService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalHandHistoriesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void foldedHandIsJournaled() throws Exception {
+        Path file = directory.resolve("hands.journal");
+        JournalHandHistories histories = new JournalHandHistories(
+                new Journal(file, FsyncPolicy.NEVER, Duration.ZERO, 16),
+                Clock.fixed(Instant.ofEpochMilli(1000), ZoneOffset.UTC));
+        Deck deck = Mockito.mock(Deck.class);
+        Mockito.when(deck.draw()).thenReturn(
+                Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.ACE, Suit.HEARTS),
+                Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.TWO, Suit.CLUBS), Card.of(Kind.THREE, Suit.CLUBS), Card.of(Kind.FOUR, Suit.CLUBS),
+                Card.of(Kind.FIVE, Suit.CLUBS));
+        TableService table = new TableService(() -> deck, histories.forTable("t1"));
+        table.addPlayer("alice", "Alice");
+        table.addPlayer("bob", "Bob");
+
+        table.start();
+        table.performAction("raise", 10);
+        table.performAction("call", 0);
+        table.performAction("raise", 20);
+        table.performAction("fold", 0);
+        histories.close();
+
+        List<HandRecord> records = new ArrayList<>();
+        Journal.read(file, (offset, record) -> records.add(HandRecord.decode(record)));
+
+        assertThat(records).extracting(HandRecord::getType).containsExactly(
+                HandRecord.Type.HAND_STARTED, HandRecord.Type.ACTION, HandRecord.Type.ACTION,
+                HandRecord.Type.COMMUNITY_CARDS, HandRecord.Type.ACTION, HandRecord.Type.ACTION,
+                HandRecord.Type.HAND_ENDED);
+        assertThat(records).allSatisfy(record -> {
+            assertThat(record.getTableId()).isEqualTo("t1");
+            assertThat(record.getHand()).isEqualTo(1);
+            assertThat(record.getTimestamp()).isEqualTo(1000);
+        });
+
+        HandRecord started = records.get(0);
+        assertThat(started.getSeats()).extracting(HandRecord.Seat::getPlayerId).containsExactly("alice", "bob");
+        assertThat(started.getSeats().get(0).getHoleCards())
+                .containsExactlyInAnyOrder(Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.ACE, Suit.HEARTS));
+
+        HandRecord call = records.get(2);
+        assertThat(call.getPlayerId()).isEqualTo("bob");
+        assertThat(call.getAction()).isEqualTo("call");
+        assertThat(call.getAmount()).isEqualTo(10);
+
+        HandRecord flop = records.get(3);
+        assertThat(flop.getState()).isEqualTo(GameState.FLOP);
+        assertThat(flop.getCards()).containsExactly(
+                Card.of(Kind.THREE, Suit.CLUBS), Card.of(Kind.FOUR, Suit.CLUBS), Card.of(Kind.FIVE, Suit.CLUBS));
+
+        HandRecord ended = records.get(6);
+        assertThat(ended.getWinnerIds()).containsExactly("alice");
+        assertThat(ended.getAmount()).isEqualTo(40);
+    }
+}
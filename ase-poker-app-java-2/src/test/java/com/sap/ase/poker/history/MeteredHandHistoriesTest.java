@@ -0,0 +1,61 @@
+package com.sap.ase.poker.history;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.service.HandHistory;
+import com.sap.ase.poker.service.TableService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.Closeable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredHandHistoriesTest {
+
+    @Test
+    void countsHandsAndRecordsPots() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HandHistory delegate = Mockito.mock(HandHistory.class);
+        MeteredHandHistories histories = new MeteredHandHistories(tableId -> delegate, registry);
+        Deck deck = Mockito.mock(Deck.class);
+        Mockito.when(deck.draw()).thenReturn(
+                Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.ACE, Suit.HEARTS),
+                Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.TWO, Suit.CLUBS), Card.of(Kind.THREE, Suit.CLUBS), Card.of(Kind.FOUR, Suit.CLUBS),
+                Card.of(Kind.FIVE, Suit.CLUBS));
+        TableService table = new TableService(() -> deck, histories.forTable("t1"));
+        table.addPlayer("alice", "Alice");
+        table.addPlayer("bob", "Bob");
+
+        table.start();
+        assertThat(registry.counter("poker.hands.started").count()).isEqualTo(1);
+        assertThat(registry.counter("poker.hands.completed").count()).isEqualTo(0);
+
+        table.performAction("raise", 10);
+        table.performAction("call", 0);
+        table.performAction("raise", 20);
+        table.performAction("fold", 0);
+
+        assertThat(registry.counter("poker.hands.completed").count()).isEqualTo(1);
+        DistributionSummary pots = registry.find("poker.hand.pot").summary();
+        assertThat(pots.count()).isEqualTo(1);
+        assertThat(pots.totalAmount()).isEqualTo(40);
+        Mockito.verify(delegate).handStarted(Mockito.eq(1), Mockito.anyList(), Mockito.any());
+        Mockito.verify(delegate, Mockito.times(4)).action(Mockito.eq(1), Mockito.anyString(), Mockito.anyString(), Mockito.anyInt());
+        Mockito.verify(delegate).handEnded(Mockito.eq(1), Mockito.anyList(), Mockito.eq(40), Mockito.any());
+    }
+
+    @Test
+    void closesDecoratedHistories() throws Exception {
+        JournalHandHistories delegate = Mockito.mock(JournalHandHistories.class);
+
+        new MeteredHandHistories(delegate, new SimpleMeterRegistry()).close();
+
+        Mockito.verify((Closeable) delegate).close();
+    }
+}
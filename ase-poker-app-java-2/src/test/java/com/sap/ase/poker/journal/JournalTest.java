@@ -0,0 +1,157 @@
+package com.sap.ase.poker.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    Journal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void recordsAreReadBackInOrderWithTheirOffsets() throws Exception {
+        journal = open(FsyncPolicy.ALWAYS);
+
+        long first = journal.append(bytes("first")).get(5, TimeUnit.SECONDS);
+        long second = journal.append(bytes("second")).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        List<String> records = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        long end = Journal.read(journal.getFile(), (offset, record) -> {
+            offsets.add(offset);
+            records.add(StandardCharsets.UTF_8.decode(record).toString());
+        });
+
+        assertThat(records).containsExactly("first", "second");
+        assertThat(offsets).containsExactly(first, second);
+        assertThat(first).isZero();
+        assertThat(end).isEqualTo(2L * Journal.FRAME_HEADER_BYTES + "first".length() + "second".length());
+    }
+
+    @Test
+    void concurrentAppendsAreAllWritten() throws Exception {
+        // appends do not wait for room, so the queue holds the whole burst
+        journal = new Journal(directory.resolve("test.journal"), FsyncPolicy.INTERVAL, Duration.ofMillis(10), 4000);
+        ExecutorService tables = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Long>> appends = new ArrayList<>();
+        for (int table = 0; table < 8; table++) {
+            int id = table;
+            tables.submit(() -> {
+                for (int action = 0; action < 500; action++) {
+                    CompletableFuture<Long> append = journal.append(bytes(id + ":" + action));
+                    synchronized (appends) {
+                        appends.add(append);
+                    }
+                }
+            });
+        }
+        tables.shutdown();
+        tables.awaitTermination(10, TimeUnit.SECONDS);
+        CompletableFuture.allOf(appends.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        journal.close();
+
+        List<String> records = new ArrayList<>();
+        Journal.read(journal.getFile(), (offset, record) -> records.add(StandardCharsets.UTF_8.decode(record).toString()));
+
+        assertThat(records).hasSize(4000).doesNotHaveDuplicates();
+        // each table's actions stay in order
+        assertThat(records.stream().filter(record -> record.startsWith("3:")))
+                .isSortedAccordingTo((a, b) -> Integer.compare(Integer.parseInt(a.substring(2)), Integer.parseInt(b.substring(2))));
+    }
+
+    @Test
+    void tornTailIsDroppedOnOpen() throws Exception {
+        journal = open(FsyncPolicy.ALWAYS);
+        journal.append(bytes("complete")).get(5, TimeUnit.SECONDS);
+        journal.close();
+        try (FileChannel channel = FileChannel.open(journal.getFile(), StandardOpenOption.APPEND)) {
+            // header of a record whose payload never made it to disk
+            channel.write((ByteBuffer) ByteBuffer.allocate(8).putInt(100).putInt(0).flip());
+        }
+
+        journal = open(FsyncPolicy.ALWAYS);
+        journal.append(bytes("after restart")).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        List<String> records = new ArrayList<>();
+        Journal.read(journal.getFile(), (offset, record) -> records.add(StandardCharsets.UTF_8.decode(record).toString()));
+        assertThat(records).containsExactly("complete", "after restart");
+    }
+
+    @Test
+    void appendAfterCloseFails() throws Exception {
+        journal = open(FsyncPolicy.NEVER);
+        journal.close();
+
+        assertThatThrownBy(() -> journal.append(bytes("late")).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(JournalException.class);
+    }
+
+    @Test
+    void appendFailsInsteadOfBlockingOnceTheWriterStopped() throws Exception {
+        journal = new Journal(directory.resolve("test.journal"), FsyncPolicy.NEVER, Duration.ofMillis(10), 1);
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("journal-test.journal")).findFirst().get();
+        writer.interrupt();
+        writer.join(5000);
+
+        List<CompletableFuture<Long>> appends = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            appends.add(journal.append(bytes("record " + i)));
+        }
+
+        for (CompletableFuture<Long> append : appends) {
+            assertThatThrownBy(() -> append.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(JournalException.class);
+        }
+    }
+
+    @Test
+    void appendToAFullQueueFailsRightAway() throws Exception {
+        journal = new Journal(directory.resolve("test.journal"), FsyncPolicy.NEVER, Duration.ofMillis(10), 1);
+        List<CompletableFuture<Long>> appends = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            appends.add(journal.append(bytes("record " + i)));
+        }
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(appends).anySatisfy(append -> assertThatThrownBy(() -> append.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(JournalException.class).hasMessageContaining("queue full"));
+    }
+
+    private Journal open(FsyncPolicy fsyncPolicy) throws IOException {
+        return new Journal(directory.resolve("test.journal"), fsyncPolicy, Duration.ofMillis(10), 1024);
+    }
+
+    private static byte[] bytes(String record) {
+        return record.getBytes(StandardCharsets.UTF_8);
+    }
+}
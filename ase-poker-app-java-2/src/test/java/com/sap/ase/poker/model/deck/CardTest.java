@@ -1,5 +1,6 @@
 package com.sap.ase.poker.model.deck;
 
+import com.sap.ase.poker.dto.CardDto;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -8,26 +9,53 @@ class CardTest {
 
     @Test
     void kingIsGreaterThanSeven() {
-        Card king = new Card(Kind.KING, Suit.DIAMONDS);
-        Card seven = new Card(Kind.SEVEN, Suit.DIAMONDS);
+        Card king = Card.of(Kind.KING, Suit.DIAMONDS);
+        Card seven = Card.of(Kind.SEVEN, Suit.DIAMONDS);
 
         assertThat(king.compareTo(seven)).isPositive();
     }
 
     @Test
     void kingsAreEven() {
-        Card kingDiamond = new Card(Kind.KING, Suit.DIAMONDS);
-        Card kingHeart = new Card(Kind.KING, Suit.HEARTS);
+        Card kingDiamond = Card.of(Kind.KING, Suit.DIAMONDS);
+        Card kingHeart = Card.of(Kind.KING, Suit.HEARTS);
 
         assertThat(kingDiamond.compareTo(kingHeart)).isZero();
     }
 
     @Test
     void sevenIsSmallerThanKing() {
-        Card seven = new Card(Kind.SEVEN, Suit.DIAMONDS);
-        Card king = new Card(Kind.KING, Suit.DIAMONDS);
+        Card seven = Card.of(Kind.SEVEN, Suit.DIAMONDS);
+        Card king = Card.of(Kind.KING, Suit.DIAMONDS);
 
         assertThat(seven.compareTo(king)).isNegative();
     }
 
-}
\ No newline at end of file
+    @Test
+    void cardsAreInterned() {
+        assertThat(Card.of(Kind.QUEEN, Suit.CLUBS)).isSameAs(Card.of(Kind.QUEEN, Suit.CLUBS));
+        assertThat(new PokerCardsSupplier().get()).contains(Card.of(Kind.QUEEN, Suit.CLUBS));
+    }
+
+    @Test
+    void allCardsRoundTripThroughIndexMaskAndDto() {
+        long all = Cards.NONE;
+        for (Card card : new PokerCardsSupplier().get()) {
+            assertThat(Card.of(card.index())).isSameAs(card);
+            assertThat(new CardDto(card).toCard()).isSameAs(card);
+            all |= card.mask();
+        }
+
+        assertThat(all).isEqualTo(Cards.ALL);
+        assertThat(Cards.toList(all)).hasSize(Cards.COUNT);
+    }
+
+    @Test
+    void maskListsCardsByIndex() {
+        long hand = Card.of(Kind.ACE, Suit.CLUBS).mask() | Card.of(Kind.TWO, Suit.DIAMONDS).mask();
+
+        assertThat(Cards.count(hand)).isEqualTo(2);
+        assertThat(Cards.contains(hand, Card.of(Kind.ACE, Suit.CLUBS))).isTrue();
+        assertThat(Cards.toList(hand)).containsExactly(Card.of(Kind.TWO, Suit.DIAMONDS), Card.of(Kind.ACE, Suit.CLUBS));
+    }
+}
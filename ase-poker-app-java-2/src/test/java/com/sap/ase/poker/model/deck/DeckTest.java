@@ -46,11 +46,30 @@ class DeckTest {
     }
 
     @Test
-    void collectionsShuffleGetsCalledWhenShuffling() {
+    void shufflerGetsCalledWhenShuffling() {
+        deck.shuffle();
+        Mockito.verify(shuffler, Mockito.times(1)).shuffle(Mockito.any(Card[].class));
+    }
+
+    @Test
+    void drawReturnsCardsInDeckOrder() {
+        List<Card> cards = deck.getCards();
+        Card first = cards.get(0);
+        Card second = cards.get(1);
+
+        assertThat(deck.draw()).isSameAs(first);
+        assertThat(deck.draw()).isSameAs(second);
+        assertThat(deck.remaining()).isEqualTo(EXPECTED_DECK_SIZE - 2);
+    }
+
+    @Test
+    void shuffleKeepsEveryCardOnce() {
+        deck = new Deck(new PokerCardsSupplier().get(), new RandomCardShuffler());
 
-        Mockito.when(shuffler.shuffle(deck.getCards())).thenReturn(deck.getCards());
         deck.shuffle();
-        Mockito.verify(shuffler, Mockito.times(1)).shuffle(deck.getCards());
+
+        assertThat(deck.getCards()).hasSize(EXPECTED_DECK_SIZE).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(new PokerCardsSupplier().get());
     }
 
     @Test
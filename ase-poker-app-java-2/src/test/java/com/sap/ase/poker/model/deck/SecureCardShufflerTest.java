@@ -0,0 +1,48 @@
+package com.sap.ase.poker.model.deck;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecureCardShufflerTest {
+
+    AtomicLong nanos = new AtomicLong();
+
+    SecureCardShuffler shuffler = new SecureCardShuffler(Duration.ofMinutes(10), nanos::get);
+
+    @Test
+    void shuffleIsAPermutation() {
+        Card[] cards = new PokerCardsSupplier().get().toArray(new Card[0]);
+
+        shuffler.shuffle(cards);
+
+        assertThat(cards).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(new PokerCardsSupplier().get());
+    }
+
+    @Test
+    void generatorIsReseededAfterInterval() {
+        List<Card> cards = new PokerCardsSupplier().get();
+        shuffler.shuffle(cards);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(9));
+        shuffler.shuffle(cards);
+        assertThat(shuffler.getReseedCount()).isZero();
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        shuffler.shuffle(cards);
+
+        assertThat(shuffler.getReseedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shufflesAreCounted() {
+        shuffler.shuffle(new PokerCardsSupplier().get());
+        shuffler.shuffle(new PokerCardsSupplier().get().toArray(new Card[0]));
+
+        assertThat(shuffler.getMeter().getCount()).isEqualTo(2);
+    }
+}
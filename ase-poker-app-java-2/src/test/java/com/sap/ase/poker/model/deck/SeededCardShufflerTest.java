@@ -0,0 +1,31 @@
+package com.sap.ase.poker.model.deck;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeededCardShufflerTest {
+
+    @Test
+    void sameSeedDealsSameDecks() {
+        Deck first = new Deck(new PokerCardsSupplier().get(), new SeededCardShuffler(42));
+        Deck second = new Deck(new PokerCardsSupplier().get(), new SeededCardShuffler(42));
+
+        for (int hand = 0; hand < 3; hand++) {
+            first.shuffle();
+            second.shuffle();
+            assertThat(first.getCards()).isEqualTo(second.getCards());
+        }
+    }
+
+    @Test
+    void differentSeedsDealDifferentDecks() {
+        Deck first = new Deck(new PokerCardsSupplier().get(), new SeededCardShuffler(1));
+        Deck second = new Deck(new PokerCardsSupplier().get(), new SeededCardShuffler(2));
+
+        first.shuffle();
+        second.shuffle();
+
+        assertThat(first.getCards()).isNotEqualTo(second.getCards());
+    }
+}
@@ -0,0 +1,39 @@
+package com.sap.ase.poker.model.deck;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShuffleMeterTest {
+
+    AtomicLong nanos = new AtomicLong();
+
+    ShuffleMeter meter = new ShuffleMeter(nanos::get);
+
+    @Test
+    void rateIsShufflesPerSecondOfLastWindow() {
+        for (int i = 0; i < 500; i++) {
+            meter.record();
+        }
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(2500));
+
+        assertThat(meter.getRatePerSecond()).isEqualTo(200.0);
+        assertThat(meter.getCount()).isEqualTo(500);
+    }
+
+    @Test
+    void rateIsKeptUntilWindowEnds() {
+        meter.record();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(meter.getRatePerSecond()).isEqualTo(1.0);
+
+        meter.record();
+        meter.record();
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(meter.getRatePerSecond()).isEqualTo(1.0);
+    }
+}
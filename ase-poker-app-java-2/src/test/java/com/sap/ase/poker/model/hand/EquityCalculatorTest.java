@@ -0,0 +1,127 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sap.ase.poker.model.deck.Kind.*;
+import static com.sap.ase.poker.model.deck.Suit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class EquityCalculatorTest {
+
+    private static final Duration BUDGET = Duration.ofSeconds(10);
+
+    EquityCalculator calculator = new EquityCalculator();
+
+    long aces = card(ACE, SPADES) | card(ACE, HEARTS);
+    long kings = card(KING, CLUBS) | card(KING, DIAMONDS);
+
+    @Test
+    void riverIsASingleExactBoard() {
+        long board = card(TWO, CLUBS) | card(SEVEN, DIAMONDS) | card(NINE, HEARTS) | card(JACK, SPADES) | card(KING, SPADES);
+
+        Equity equity = calculator.calculate(new long[]{aces, kings}, board, 0.001, BUDGET, 0);
+
+        assertThat(equity.isExact()).isTrue();
+        assertThat(equity.getBoards()).isEqualTo(1);
+        assertThat(equity.get(0)).isEqualTo(0.0);
+        assertThat(equity.get(1)).isEqualTo(1.0);
+    }
+
+    @Test
+    void turnEnumeratesAllRiverCards() {
+        long board = card(TWO, CLUBS) | card(SEVEN, DIAMONDS) | card(NINE, HEARTS) | card(JACK, SPADES);
+
+        Equity equity = calculator.calculate(new long[]{aces, kings}, board, 0.001, BUDGET, 0);
+
+        assertThat(equity.isExact()).isTrue();
+        assertThat(equity.getBoards()).isEqualTo(44);
+        // only the two remaining kings save the kings
+        assertThat(equity.get(1)).isEqualTo(2.0 / 44);
+        assertThat(equity.get(0) + equity.get(1)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void identicalHandsSplit() {
+        long otherAces = card(ACE, CLUBS) | card(ACE, DIAMONDS);
+        long board = card(TWO, CLUBS) | card(SEVEN, DIAMONDS) | card(NINE, HEARTS);
+
+        Equity equity = calculator.calculate(new long[]{aces, otherAces}, board, 0.001, BUDGET, 0);
+
+        assertThat(equity.isExact()).isTrue();
+        assertThat(equity.get(0)).isCloseTo(equity.get(1), within(0.05));
+        assertThat(equity.get(0) + equity.get(1)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void preflopIsSampledToPrecision() {
+        Equity equity = calculator.calculate(new long[]{aces, kings}, Cards.NONE, 0.002, BUDGET, 7);
+
+        assertThat(equity.isExact()).isFalse();
+        assertThat(equity.getStandardError()).isLessThanOrEqualTo(0.002);
+        assertThat(equity.get(0)).isCloseTo(0.82, within(0.01));
+    }
+
+    @Test
+    void unknownOpponentIsDealtAtRandom() {
+        Equity equity = calculator.calculate(new long[]{aces, Cards.NONE}, Cards.NONE, 0.002, BUDGET, 7);
+
+        assertThat(equity.isExact()).isFalse();
+        assertThat(equity.get(0)).isCloseTo(0.85, within(0.01));
+    }
+
+    @Test
+    void unknownOpponentOnTheRiverIsEnumerated() {
+        long board = card(TWO, CLUBS) | card(SEVEN, DIAMONDS) | card(NINE, HEARTS) | card(JACK, SPADES) | card(KING, SPADES);
+
+        Equity equity = calculator.calculate(new long[]{kings, Cards.NONE}, board, 0.001, BUDGET, 0);
+
+        assertThat(equity.isExact()).isTrue();
+        assertThat(equity.getBoards()).isEqualTo(990);
+        // the set of kings loses only to the 32 straights of queen-ten and ten-eight
+        assertThat(equity.get(0)).isCloseTo(1 - 32.0 / 990, within(1e-9));
+    }
+
+    @Test
+    void unknownOpponentsAreEnumeratedOnlyWhileTheDealsAreFewEnough() {
+        long board = card(TWO, CLUBS) | card(SEVEN, DIAMONDS) | card(NINE, HEARTS) | card(JACK, SPADES);
+
+        Equity exact = calculator.calculate(new long[]{aces, Cards.NONE}, board, 0.001, BUDGET, 0);
+        Equity sampled = calculator.calculate(new long[]{aces, Cards.NONE, Cards.NONE}, board, 0.001, BUDGET, 0);
+
+        assertThat(exact.isExact()).isTrue();
+        assertThat(exact.getBoards()).isEqualTo(46 * 990);
+        assertThat(exact.get(0) + exact.get(1)).isCloseTo(1.0, within(1e-9));
+        assertThat(sampled.isExact()).isFalse();
+        assertThat(sampled.get(0)).isLessThan(exact.get(0));
+    }
+
+    @Test
+    void sameSeedGivesSameResultOnAnyPool() {
+        Equity first = calculator.calculate(new long[]{aces, kings}, Cards.NONE, 0.003, BUDGET, 42);
+        Equity second = new EquityCalculator(new ForkJoinPool(1)).calculate(new long[]{aces, kings}, Cards.NONE, 0.003, BUDGET, 42);
+
+        assertThat(second.getBoards()).isEqualTo(first.getBoards());
+        assertThat(second.get(0)).isEqualTo(first.get(0));
+    }
+
+    @Test
+    void sharedCardsAreRejected() {
+        long moreAces = card(ACE, SPADES) | card(ACE, CLUBS);
+
+        assertThatThrownBy(() -> calculator.calculate(new long[]{aces, moreAces}, Cards.NONE, 0.001, BUDGET, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long card(Kind kind, Suit suit) {
+        return Card.of(kind, suit).mask();
+    }
+}
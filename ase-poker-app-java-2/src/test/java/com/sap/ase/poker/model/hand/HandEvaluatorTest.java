@@ -0,0 +1,120 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.sap.ase.poker.model.deck.Kind.*;
+import static com.sap.ase.poker.model.deck.Suit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandEvaluatorTest {
+
+    @Test
+    void recognizesAllCategories() {
+        assertThat(category(card(ACE, SPADES), card(KING, SPADES), card(QUEEN, SPADES), card(JACK, SPADES), card(TEN, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.STRAIGHT_FLUSH);
+        assertThat(category(card(NINE, SPADES), card(NINE, HEARTS), card(NINE, CLUBS), card(NINE, DIAMONDS), card(TEN, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.FOUR_OF_A_KIND);
+        assertThat(category(card(NINE, SPADES), card(NINE, HEARTS), card(NINE, CLUBS), card(TEN, DIAMONDS), card(TEN, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.FULL_HOUSE);
+        assertThat(category(card(TWO, SPADES), card(FIVE, SPADES), card(NINE, SPADES), card(JACK, SPADES), card(KING, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.FLUSH);
+        assertThat(category(card(FIVE, SPADES), card(SIX, HEARTS), card(SEVEN, CLUBS), card(EIGHT, DIAMONDS), card(NINE, SPADES), card(TWO, HEARTS), card(KING, CLUBS)))
+                .isEqualTo(HandCategory.STRAIGHT);
+        assertThat(category(card(NINE, SPADES), card(NINE, HEARTS), card(NINE, CLUBS), card(EIGHT, DIAMONDS), card(KING, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.THREE_OF_A_KIND);
+        assertThat(category(card(NINE, SPADES), card(NINE, HEARTS), card(EIGHT, CLUBS), card(EIGHT, DIAMONDS), card(KING, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.TWO_PAIR);
+        assertThat(category(card(NINE, SPADES), card(NINE, HEARTS), card(SEVEN, CLUBS), card(EIGHT, DIAMONDS), card(KING, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.ONE_PAIR);
+        assertThat(category(card(NINE, SPADES), card(JACK, HEARTS), card(SEVEN, CLUBS), card(EIGHT, DIAMONDS), card(KING, SPADES), card(TWO, HEARTS), card(THREE, CLUBS)))
+                .isEqualTo(HandCategory.HIGH_CARD);
+    }
+
+    @Test
+    void wheelIsTheLowestStraight() {
+        int wheel = HandEvaluator.evaluate(hand(card(ACE, SPADES), card(TWO, HEARTS), card(THREE, CLUBS), card(FOUR, DIAMONDS), card(FIVE, SPADES)));
+        int sixHigh = HandEvaluator.evaluate(hand(card(SIX, SPADES), card(TWO, HEARTS), card(THREE, CLUBS), card(FOUR, DIAMONDS), card(FIVE, SPADES)));
+
+        assertThat(HandEvaluator.category(wheel)).isEqualTo(HandCategory.STRAIGHT);
+        assertThat(sixHigh).isGreaterThan(wheel);
+    }
+
+    @Test
+    void kickersDecideBetweenEqualPairs() {
+        int aceKicker = HandEvaluator.evaluate(hand(card(NINE, SPADES), card(NINE, HEARTS), card(ACE, CLUBS), card(FOUR, DIAMONDS), card(FIVE, SPADES)));
+        int kingKicker = HandEvaluator.evaluate(hand(card(NINE, CLUBS), card(NINE, DIAMONDS), card(KING, CLUBS), card(FOUR, HEARTS), card(FIVE, HEARTS)));
+
+        assertThat(aceKicker).isGreaterThan(kingKicker);
+    }
+
+    @Test
+    void bestOfThreePairsUsesHighestKicker() {
+        int threePairs = HandEvaluator.evaluate(hand(card(NINE, SPADES), card(NINE, HEARTS), card(EIGHT, CLUBS), card(EIGHT, DIAMONDS), card(SEVEN, SPADES), card(SEVEN, HEARTS), card(TWO, CLUBS)));
+        int twoPairsSevenKicker = HandEvaluator.evaluate(hand(card(NINE, SPADES), card(NINE, HEARTS), card(EIGHT, CLUBS), card(EIGHT, DIAMONDS), card(SEVEN, SPADES)));
+
+        assertThat(threePairs).isEqualTo(twoPairsSevenKicker);
+    }
+
+    @Test
+    void sameRanksInDifferentSuitsTie() {
+        int spades = HandEvaluator.evaluate(hand(card(ACE, SPADES), card(KING, HEARTS), card(NINE, CLUBS), card(FOUR, DIAMONDS), card(TWO, SPADES)));
+        int hearts = HandEvaluator.evaluate(hand(card(ACE, HEARTS), card(KING, CLUBS), card(NINE, DIAMONDS), card(FOUR, SPADES), card(TWO, HEARTS)));
+
+        assertThat(spades).isEqualTo(hearts);
+    }
+
+    @Test
+    void bestFiveHasSameScoreAsAllSevenCards() {
+        long cards = hand(card(ACE, SPADES), card(KING, SPADES), card(QUEEN, SPADES), card(JACK, SPADES), card(NINE, SPADES), card(TEN, HEARTS), card(THREE, CLUBS));
+
+        long bestFive = HandEvaluator.bestFive(cards);
+
+        assertThat(Long.bitCount(bestFive)).isEqualTo(5);
+        assertThat(HandEvaluator.evaluate(bestFive)).isEqualTo(HandEvaluator.evaluate(cards));
+        assertThat(HandEvaluator.category(HandEvaluator.evaluate(bestFive))).isEqualTo(HandCategory.FLUSH);
+    }
+
+    @Test
+    void evaluationOfSevenCardsEqualsBestOfItsFiveCardSubsets() {
+        Random random = new Random(42);
+        for (int hand = 0; hand < 2000; hand++) {
+            long cards = 0;
+            while (Long.bitCount(cards) < 7) {
+                cards |= 1L << random.nextInt(52);
+            }
+            int best = -1;
+            long[] singleCards = new long[7];
+            int i = 0;
+            for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+                singleCards[i++] = Long.lowestOneBit(remaining);
+            }
+            for (int skip1 = 0; skip1 < 7; skip1++) {
+                for (int skip2 = skip1 + 1; skip2 < 7; skip2++) {
+                    best = Math.max(best, HandEvaluator.evaluate(cards & ~singleCards[skip1] & ~singleCards[skip2]));
+                }
+            }
+            assertThat(HandEvaluator.evaluate(cards)).isEqualTo(best);
+        }
+    }
+
+    private static HandCategory category(Card... cards) {
+        return HandEvaluator.category(HandEvaluator.evaluate(hand(cards)));
+    }
+
+    private static long hand(Card... cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            mask |= card.mask();
+        }
+        return mask;
+    }
+
+    private static Card card(Kind kind, Suit suit) {
+        return Card.of(kind, suit);
+    }
+}
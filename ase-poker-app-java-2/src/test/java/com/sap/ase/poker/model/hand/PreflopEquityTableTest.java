@@ -0,0 +1,65 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Cards;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static com.sap.ase.poker.model.deck.Kind.*;
+import static com.sap.ase.poker.model.deck.Suit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PreflopEquityTableTest {
+
+    static PreflopEquityTable table;
+
+    @BeforeAll
+    static void mapBundledTable() throws Exception {
+        table = PreflopEquityTable.map(Paths.get(PreflopEquityTableTest.class.getResource("/preflop-equity.bin").toURI()));
+    }
+
+    @Test
+    void knownHeadsUpEquities() {
+        assertThat(table.equity(hand(Card.of(ACE, SPADES), Card.of(ACE, CLUBS)), 2)).isCloseTo(0.852, within(0.005));
+        assertThat(table.equity(hand(Card.of(SEVEN, HEARTS), Card.of(TWO, CLUBS)), 2)).isCloseTo(0.346, within(0.005));
+    }
+
+    @Test
+    void equityFallsWithMorePlayers() {
+        int aceKingSuited = StartingHands.classOf(hand(Card.of(ACE, HEARTS), Card.of(KING, HEARTS)));
+        for (int players = PreflopEquityTable.MIN_PLAYERS; players < PreflopEquityTable.MAX_PLAYERS; players++) {
+            assertThat(table.equity(aceKingSuited, players + 1)).isLessThan(table.equity(aceKingSuited, players));
+        }
+    }
+
+    @Test
+    void agreesWithSimulation() {
+        long queensJacks = hand(Card.of(QUEEN, DIAMONDS), Card.of(JACK, CLUBS));
+
+        Equity simulated = new EquityCalculator().calculate(new long[]{queensJacks, Cards.NONE, Cards.NONE}, Cards.NONE,
+                0.002, Duration.ofSeconds(10), 1);
+
+        assertThat(table.equity(queensJacks, 3)).isCloseTo(simulated.get(0), within(0.01));
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        assertThatThrownBy(() -> new PreflopEquityTable(ByteBuffer.allocate(PreflopEquityTable.SIZE_BYTES)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnsupportedPlayerCounts() {
+        assertThatThrownBy(() -> table.equity(0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long hand(Card first, Card second) {
+        return first.mask() | second.mask();
+    }
+}
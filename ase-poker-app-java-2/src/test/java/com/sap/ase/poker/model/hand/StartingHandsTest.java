@@ -0,0 +1,35 @@
+package com.sap.ase.poker.model.hand;
+
+import com.sap.ase.poker.model.deck.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.sap.ase.poker.model.deck.Kind.*;
+import static com.sap.ase.poker.model.deck.Suit.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartingHandsTest {
+
+    @Test
+    void everyClassHasARepresentativeOfThatClass() {
+        Set<String> names = new HashSet<>();
+        for (int handClass = 0; handClass < StartingHands.COUNT; handClass++) {
+            assertThat(StartingHands.classOf(StartingHands.representative(handClass))).isEqualTo(handClass);
+            names.add(StartingHands.name(handClass));
+        }
+        assertThat(names).hasSize(169).contains("AA", "AKs", "AKo", "72o", "T9s");
+    }
+
+    @Test
+    void suitsOnlyMatterAsSuitedOrOffsuit() {
+        int aceKingSuited = StartingHands.classOf(Card.of(ACE, HEARTS).mask() | Card.of(KING, HEARTS).mask());
+        int aceKingOffsuit = StartingHands.classOf(Card.of(ACE, HEARTS).mask() | Card.of(KING, CLUBS).mask());
+
+        assertThat(StartingHands.classOf(Card.of(KING, SPADES).mask() | Card.of(ACE, SPADES).mask())).isEqualTo(aceKingSuited);
+        assertThat(StartingHands.classOf(Card.of(KING, DIAMONDS).mask() | Card.of(ACE, SPADES).mask())).isEqualTo(aceKingOffsuit);
+        assertThat(StartingHands.name(aceKingSuited)).isEqualTo("AKs");
+        assertThat(StartingHands.name(aceKingOffsuit)).isEqualTo("AKo");
+    }
+}
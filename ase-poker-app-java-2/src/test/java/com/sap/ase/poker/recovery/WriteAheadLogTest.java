@@ -0,0 +1,245 @@
+package com.sap.ase.poker.recovery;
+
+import com.sap.ase.poker.journal.FsyncPolicy;
+import com.sap.ase.poker.journal.SegmentedJournal;
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.SeededCardShuffler;
+import com.sap.ase.poker.service.CommandLog;
+import com.sap.ase.poker.service.HandHistory;
+import com.sap.ase.poker.service.TableService;
+import com.sap.ase.poker.service.TableState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    WriteAheadLog log;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        log = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        log.close();
+    }
+
+    @Test
+    void tableIsRebuiltFromLoggedCommands() throws IOException {
+        TableService table = newTable();
+        table.attach(HandHistory.NONE, log.forTable("t1"));
+        playToTheTurn(table);
+
+        TableService recovered = recover("t1");
+        table.attach(HandHistory.NONE, CommandLog.NONE);
+
+        assertSameState(recovered, table);
+        continueToTheRiver(table);
+        continueToTheRiver(recovered);
+        assertSameState(recovered, table);
+    }
+
+    @Test
+    void removedPlayersAndBlindsAreReplayed() throws IOException {
+        TableService table = newTable();
+        table.attach(HandHistory.NONE, log.forTable("t1"));
+        table.addPlayer("al-capone", "Al Capone");
+        table.addPlayer("bob", "Bob");
+        table.addPlayer("alice", "Alice");
+        table.start();
+        table.performAction("raise", 10);
+        table.performAction("fold", 0);
+        table.performAction("fold", 0);
+        table.removePlayer("bob");
+        table.start();
+        table.postBlinds(5, 10);
+
+        TableService recovered = recover("t1");
+        table.attach(HandHistory.NONE, CommandLog.NONE);
+
+        assertThat(recovered.getPlayers()).extracting(Player::getId).containsExactly("al-capone", "alice");
+        assertSameState(recovered, table);
+    }
+
+    @Test
+    void checkpointDropsOldSegmentsAndRecoversFromSnapshot() throws IOException {
+        TableService table = newTable();
+        table.attach(HandHistory.NONE, log.forTable("t1"));
+        playToTheTurn(table);
+
+        long checkpoint = log.beginCheckpoint();
+        log.completeCheckpoint(checkpoint, Collections.singletonMap("t1", table.exportState()));
+        continueToTheRiver(table);
+
+        assertThat(segments()).containsExactly(checkpoint);
+        TableService recovered = recover("t1");
+        assertSameState(recovered, table);
+    }
+
+    @Test
+    void recoveredTableContinuesAboveTheVersionsItGaveOut() throws IOException {
+        TableService table = newTable();
+        table.attach(HandHistory.NONE, log.forTable("t1"));
+        // a busy table counts its version up faster than the wall clock
+        ReflectionTestUtils.setField(table, "version", System.currentTimeMillis() + 1_000_000_000L);
+        playToTheTurn(table);
+        long checkpoint = log.beginCheckpoint();
+        log.completeCheckpoint(checkpoint, Collections.singletonMap("t1", table.exportState()));
+        long versionBefore = table.getVersion();
+        continueToTheRiver(table);
+
+        TableService recovered = recover("t1");
+
+        assertThat(recovered.getVersion()).isGreaterThan(table.getVersion());
+        assertThat(recovered.getChangedFields(versionBefore)).containsAll(table.getChangedFields(versionBefore));
+    }
+
+    @Test
+    void commandsRenumberedAfterAGapReplaceTheOnesLoggedBehindIt() throws IOException {
+        TableService table = newTable();
+        CommandLog commandLog = log.forTable("t1");
+        table.attach(HandHistory.NONE, new CommandLog() {
+            @Override
+            public void playerAdded(long sequence, String playerId, String playerName, int cash) {
+                commandLog.playerAdded(sequence, playerId, playerName, cash);
+            }
+
+            @Override
+            public void actionPerformed(long sequence, String action, int amount) {
+                commandLog.actionPerformed(sequence, action, amount);
+            }
+        });
+        // the hand's start is lost, the actions behind it are logged
+        playToTheTurn(table);
+
+        TableService recovered = recover("t1");
+        assertThat(recovered.getState()).isEqualTo(GameState.OPEN);
+        recovered.attach(HandHistory.NONE, log.forTable("t1"));
+        recovered.start();
+        recovered.performAction("check", 0);
+        recovered.performAction("check", 0);
+        recovered.performAction("raise", 10);
+        recovered.performAction("call", 0);
+        recovered.attach(HandHistory.NONE, CommandLog.NONE);
+
+        assertSameState(recover("t1"), recovered);
+    }
+
+    @Test
+    void closedTableIsNotRecovered() throws IOException {
+        TableService closed = newTable();
+        closed.attach(HandHistory.NONE, log.forTable("t1"));
+        playToTheTurn(closed);
+        long checkpoint = log.beginCheckpoint();
+        log.completeCheckpoint(checkpoint, Collections.singletonMap("t1", closed.exportState()));
+        closed.close();
+        TableService table = newTable();
+        table.attach(HandHistory.NONE, log.forTable("t2"));
+        playToTheTurn(table);
+
+        TableService recovered = recover("t2");
+        table.attach(HandHistory.NONE, CommandLog.NONE);
+
+        assertSameState(recovered, table);
+    }
+
+    @Test
+    void stateSurvivesEncoding() {
+        TableService table = newTable();
+        playToTheTurn(table);
+        TableState state = table.exportState();
+
+        TableService restored = newTable();
+        restored.restore(TableState.decode(ByteBuffer.wrap(state.encode())));
+
+        assertThat(restored.exportState().getSequence()).isEqualTo(state.getSequence());
+        assertThat(restored.getVersion()).isGreaterThan(state.getVersion());
+        assertSameState(restored, table);
+    }
+
+    private TableService recover(String tableId) throws IOException {
+        log.close();
+        log = open();
+        Map<String, Consumer<TableService>> tables = log.recover();
+        assertThat(tables).containsOnlyKeys(tableId);
+        TableService recovered = newTable();
+        tables.get(tableId).accept(recovered);
+        return recovered;
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("wal-"))
+                    .map(name -> Long.parseLong(name.substring(4, name.indexOf('.'))))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private WriteAheadLog open() throws IOException {
+        return new WriteAheadLog(directory,
+                new SegmentedJournal(directory, "wal", FsyncPolicy.NEVER, Duration.ZERO, 1024));
+    }
+
+    private static TableService newTable() {
+        SeededCardShuffler shuffler = new SeededCardShuffler(42);
+        return new TableService(() -> {
+            Deck deck = new Deck(new PokerCardsSupplier().get(), shuffler);
+            deck.shuffle();
+            return deck;
+        });
+    }
+
+    private static void playToTheTurn(TableService table) {
+        table.addPlayer("al-capone", "Al Capone");
+        table.addPlayer("alice", "Alice");
+        table.start();
+        table.performAction("check", 0);
+        table.performAction("check", 0);
+        table.performAction("raise", 10);
+        table.performAction("call", 0);
+    }
+
+    private static void continueToTheRiver(TableService table) {
+        table.performAction("call", 0);
+        table.performAction("call", 0);
+    }
+
+    private static void assertSameState(TableService actual, TableService expected) {
+        assertThat(actual.getState()).isEqualTo(expected.getState()).isNotEqualTo(GameState.OPEN);
+        assertThat(actual.getPot()).isEqualTo(expected.getPot());
+        assertThat(actual.getCommunityCards()).isEqualTo(expected.getCommunityCards());
+        assertThat(actual.getBets()).isEqualTo(expected.getBets());
+        assertThat(actual.getCurrentPlayer().map(Player::getId)).isEqualTo(expected.getCurrentPlayer().map(Player::getId));
+        for (Player player : expected.getPlayers()) {
+            assertThat(actual.getPlayerCards(player.getId())).isEqualTo(expected.getPlayerCards(player.getId()));
+        }
+        assertThat(actual.getPlayers()).extracting(Player::getCash)
+                .isEqualTo(expected.getPlayers().stream().map(Player::getCash).collect(Collectors.toList()));
+    }
+}
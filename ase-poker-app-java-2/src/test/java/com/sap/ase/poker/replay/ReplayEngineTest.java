@@ -0,0 +1,134 @@
+package com.sap.ase.poker.replay;
+
+import com.sap.ase.poker.history.JournalHandHistories;
+import com.sap.ase.poker.journal.FsyncPolicy;
+import com.sap.ase.poker.journal.Journal;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.SecureCardShuffler;
+import com.sap.ase.poker.service.TableService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayEngineTest {
+
+    private static final List<HandScript.Seat> SEATS = Arrays.asList(
+            new HandScript.Seat("alice", "Alice", 100), new HandScript.Seat("bob", "Bob", 100));
+
+    @TempDir
+    Path directory;
+
+    ReplayEngine engine = new ReplayEngine(ForkJoinPool.commonPool());
+
+    @Test
+    void seededHandIsReplayedIdentically() {
+        HandScript script = HandScript.seeded("h1", 42, SEATS, checksToShowdown());
+
+        ReplayResult first = engine.replay(script);
+        ReplayResult second = engine.replay(script);
+
+        assertThat(first.getStatus()).isEqualTo(ReplayResult.Status.REPRODUCED);
+        assertThat(first.getWinnerIds()).isNotEmpty().isEqualTo(second.getWinnerIds());
+        assertThat(first.getState()).isEqualTo(second.getState());
+    }
+
+    @Test
+    void recordedHandsAreReproduced() throws Exception {
+        Path file = directory.resolve("hands.journal");
+        JournalHandHistories histories = new JournalHandHistories(
+                new Journal(file, FsyncPolicy.NEVER, Duration.ZERO, 64), Clock.systemUTC());
+        SecureCardShuffler shuffler = new SecureCardShuffler(Duration.ofMinutes(10));
+        TableService table = new TableService(() -> {
+            Deck deck = new Deck(new PokerCardsSupplier().get(), shuffler);
+            deck.shuffle();
+            return deck;
+        }, histories.forTable("t1"));
+        table.addPlayer("alice", "Alice");
+        table.addPlayer("bob", "Bob");
+        table.start();
+        for (HandScript.Action action : checksToShowdown()) {
+            table.performAction(action.getType(), 0);
+        }
+        table.start();
+        table.performAction("raise", 10);
+        table.performAction("fold", 0);
+        table.start();
+        histories.close();
+
+        List<ReplayResult> results = new ArrayList<>();
+        long[] unfinished = {0};
+        ReplaySummary summary = engine.replayAll(scripts -> unfinished[0] = HandScripts.read(file, scripts), results::add);
+
+        assertThat(summary.getHands()).isEqualTo(2);
+        assertThat(summary.getReproduced()).isEqualTo(2);
+        assertThat(unfinished[0]).isEqualTo(1);
+        assertThat(results).extracting(ReplayResult::getScriptId).containsExactly("t1/1", "t1/2");
+        assertThat(results.get(1).getWinnerIds()).containsExactly("alice");
+    }
+
+    @Test
+    void recordedHandsWithBlindsAreReproduced() throws Exception {
+        Path file = directory.resolve("hands.journal");
+        JournalHandHistories histories = new JournalHandHistories(
+                new Journal(file, FsyncPolicy.NEVER, Duration.ZERO, 64), Clock.systemUTC());
+        TableService table = new TableService(() -> {
+            Deck deck = new Deck(new PokerCardsSupplier().get(), new SecureCardShuffler(Duration.ofMinutes(10)));
+            deck.shuffle();
+            return deck;
+        }, histories.forTable("t1"));
+        table.addPlayer("alice", "Alice", 1500);
+        table.addPlayer("bob", "Bob", 1500);
+        table.start();
+        table.postBlinds(10, 20);
+        for (HandScript.Action action : checksToShowdown()) {
+            table.performAction(action.getType(), 0);
+        }
+        table.start();
+        table.postBlinds(10, 20);
+        table.performAction("raise", 200);
+        table.performAction("fold", 0);
+        histories.close();
+
+        List<ReplayResult> results = new ArrayList<>();
+        ReplaySummary summary = engine.replayAll(scripts -> HandScripts.read(file, scripts), results::add);
+
+        assertThat(summary.getReproduced()).isEqualTo(2);
+        assertThat(results.get(1).getWinnerIds()).containsExactly("alice");
+        assertThat(results.get(1).getPot()).isEqualTo(230);
+    }
+
+    @Test
+    void differentOutcomeAndRejectedActionsAreReported() {
+        HandScript wrongWinner = HandScript.seeded("h1", 42, SEATS, Arrays.asList(
+                new HandScript.Action("alice", "raise", 10), new HandScript.Action("bob", "fold", 0)))
+                .expecting(Collections.singletonList("bob"), 10);
+        HandScript rejected = HandScript.seeded("h2", 42, SEATS, Collections.singletonList(
+                new HandScript.Action("alice", "raise", 1000)));
+        HandScript outOfTurn = HandScript.seeded("h3", 42, SEATS, Collections.singletonList(
+                new HandScript.Action("bob", "check", 0)));
+
+        assertThat(engine.replay(wrongWinner).getStatus()).isEqualTo(ReplayResult.Status.DIVERGED);
+        assertThat(engine.replay(rejected).getStatus()).isEqualTo(ReplayResult.Status.FAILED);
+        assertThat(engine.replay(outOfTurn).getStatus()).isEqualTo(ReplayResult.Status.DIVERGED);
+    }
+
+    private static List<HandScript.Action> checksToShowdown() {
+        List<HandScript.Action> actions = new ArrayList<>();
+        for (int round = 0; round < 4; round++) {
+            actions.add(new HandScript.Action("alice", "check", 0));
+            actions.add(new HandScript.Action("bob", "check", 0));
+        }
+        return actions;
+    }
+}
@@ -0,0 +1,146 @@
+package com.sap.ase.poker.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.config.EquityConfig;
+import com.sap.ase.poker.dto.EquityResponseDto;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.model.hand.EquityCalculator;
+import com.sap.ase.poker.model.hand.PreflopEquityTable;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableRegistry;
+import com.sap.ase.poker.service.TableService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Principal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EquityController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({EquityCalculator.class, EquityConfig.class, SimpleMeterRegistry.class})
+public class EquityControllerTest {
+
+    private static final String PATH = "/api/v1/equity";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    EquityCalculator equityCalculator;
+
+    @Autowired
+    PreflopEquityTable preflopEquityTable;
+
+    @MockBean
+    TableRegistry tableRegistry;
+
+    TableService tableService;
+
+    @BeforeEach
+    void setUp() {
+        Deck deck = Mockito.mock(Deck.class);
+        Mockito.when(deck.draw()).thenReturn(
+                Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.ACE, Suit.HEARTS),
+                Card.of(Kind.KING, Suit.CLUBS), Card.of(Kind.KING, Suit.DIAMONDS),
+                Card.of(Kind.TWO, Suit.CLUBS), Card.of(Kind.SEVEN, Suit.HEARTS), Card.of(Kind.EIGHT, Suit.DIAMONDS),
+                Card.of(Kind.NINE, Suit.SPADES), Card.of(Kind.THREE, Suit.CLUBS), Card.of(Kind.JACK, Suit.HEARTS),
+                Card.of(Kind.FOUR, Suit.CLUBS), Card.of(Kind.FIVE, Suit.DIAMONDS));
+        tableService = new TableService(() -> deck);
+        tableService.addPlayer("alice", "Alice");
+        tableService.addPlayer("bob", "Bob");
+        TableActor table = new TableActor(TableRegistry.DEFAULT_TABLE_ID, tableService, Runnable::run, 16);
+        Mockito.when(tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID)).thenReturn(Optional.of(table));
+    }
+
+    @Test
+    void spectatorIsForbidden() throws Exception {
+        tableService.start();
+
+        mockMvc.perform(get(PATH).principal(principal("carol"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void foldedPlayerIsForbidden() throws Exception {
+        tableService.addPlayer("carol", "Carol");
+        tableService.start();
+        tableService.performAction("fold", 0);
+
+        mockMvc.perform(get(PATH).principal(principal("alice"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void playerOnTheRiverSeesExactEquityAgainstUnknownCards() throws Exception {
+        tableService.start();
+        for (int i = 0; i < 6; i++) {
+            tableService.performAction("check", 0);
+        }
+
+        EquityResponseDto equity = getEquity("bob");
+
+        // every hole card pair of alice's that bob cannot see
+        assertThat(equity.isExact()).isTrue();
+        assertThat(equity.getBoards()).isEqualTo(990);
+        assertThat(equity.getEquities().get("bob")).isStrictlyBetween(0.0, 1.0);
+    }
+
+    @Test
+    void calculationBeyondTheLimitIsRefused() {
+        tableService.start();
+        tableService.performAction("check", 0);
+        tableService.performAction("check", 0);
+        EquityController controller = new EquityController(tableRegistry, equityCalculator, preflopEquityTable, 0);
+
+        assertThatThrownBy(() -> controller.getEquity(0.005, 500, 0, principal("bob")))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void playerInHandSeesEquityAgainstUnknownCards() throws Exception {
+        tableService.start();
+
+        EquityResponseDto equity = getEquity("bob");
+
+        // kings against a random hand from the preflop table, not against the aces bob cannot see
+        assertThat(equity.getEquities().get("bob")).isCloseTo(0.82, within(0.02));
+        assertThat(equity.getEquities().get("alice")).isCloseTo(1 - equity.getEquities().get("bob"), within(1e-9));
+        assertThat(equity.getBoards()).isZero();
+    }
+
+    @Test
+    void noHandInProgress_returnsBadRequest() throws Exception {
+        mockMvc.perform(get(PATH).principal(principal("carol"))).andExpect(status().isBadRequest());
+    }
+
+    private EquityResponseDto getEquity(String viewer) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get(PATH).param("precision", "0.005").principal(principal(viewer)))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        return objectMapper.readValue(response.getContentAsString(), EquityResponseDto.class);
+    }
+
+    private static Principal principal(String name) {
+        Principal principal = Mockito.mock(Principal.class);
+        Mockito.when(principal.getName()).thenReturn(name);
+        return principal;
+    }
+}
@@ -0,0 +1,163 @@
+package com.sap.ase.poker.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.data.PlayerNamesRepository;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.SeededCardShuffler;
+import com.sap.ase.poker.model.deck.ShuffledDeckSupplier;
+import com.sap.ase.poker.service.HandHistories;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TablePersistence;
+import com.sap.ase.poker.service.TableRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveTableControllerTest {
+
+    private static final String PATH = "/api/v1/";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    TableRegistry tableRegistry;
+
+    MeterRegistry meterRegistry;
+
+    WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        tableRegistry = new TableRegistry(new ShuffledDeckSupplier(new PokerCardsSupplier(), new SeededCardShuffler(1)),
+                HandHistories.NONE, TablePersistence.NONE, 1, 16);
+        meterRegistry = new SimpleMeterRegistry();
+        PlayerNamesRepository playerNamesRepository = Mockito.mock(PlayerNamesRepository.class);
+        Mockito.when(playerNamesRepository.getNameForId("alice")).thenReturn("Alice");
+        TableSnapshotCache tableSnapshotCache = new TableSnapshotCache(objectMapper, meterRegistry);
+        TableEventStream tableEventStream = new TableEventStream(tableRegistry, tableSnapshotCache, Schedulers.immediate());
+        ReactiveTableController controller = new ReactiveTableController(tableRegistry, playerNamesRepository,
+                tableEventStream, tableSnapshotCache, meterRegistry);
+        Principal alice = () -> "alice";
+        client = WebTestClient.bindToController(controller)
+                .webFilter((exchange, chain) -> chain.filter(exchange.mutate().principal(Mono.just(alice)).build()))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tableRegistry.shutdown();
+    }
+
+    @Test
+    void getTable_returnsTableOfJoinedPlayer() throws Exception {
+        client.post().uri(PATH + "tables/reactive/players").exchange().expectStatus().isNotFound();
+        client.put().uri(PATH + "tables/reactive").exchange().expectStatus().isCreated();
+        client.post().uri(PATH + "tables/reactive/players").exchange().expectStatus().isNoContent();
+
+        byte[] body = client.get().uri(PATH + "tables/reactive").exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        JsonNode table = objectMapper.readTree(body);
+        assertThat(table.get("players")).hasSize(1);
+        assertThat(table.get("players").get(0).get("name").asText()).isEqualTo("Alice");
+    }
+
+    @Test
+    void getTable_unknownTable_returnsNotFound() {
+        client.get().uri(PATH + "tables/other").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void placeBet_illegalAmount_returnsBadRequestAndTagsException() {
+        startHeadsUp();
+
+        client.post().uri(PATH + "actions").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"type\":\"raise\",\"args\":[1000]}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        Timer timer = meterRegistry.find("poker.table.actions")
+                .tags("action", "raise", "exception", "IllegalAmountException").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void placeBets_rejectedActionIsNotFollowedByTheNextForTheSameTable() throws Exception {
+        startHeadsUp();
+        TableActor table = tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get();
+        String current = table.submit(tableService -> tableService.getCurrentPlayer().get().getId()).join();
+
+        byte[] body = client.post().uri(PATH + "actions/batch").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"type\":\"raise\",\"args\":[1000]},{\"type\":\"call\",\"args\":[]},"
+                        + "{\"tableId\":\"other\",\"type\":\"call\",\"args\":[]}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        JsonNode results = objectMapper.readTree(body);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(400);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(409);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(404);
+        // the call was meant for the player after the raise, it must not be made for the one who raised
+        assertThat(table.submit(tableService -> tableService.getCurrentPlayer().get().getId()).join())
+                .isEqualTo(current);
+    }
+
+    @Test
+    void getTableDelta_longPoll_returnsOnNextChange() throws Exception {
+        TableActor table = tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get();
+        long version = table.getVersion();
+
+        client.get().uri(PATH + "?sinceVersion=" + version + "&waitMillis=50").exchange()
+                .expectStatus().isNotModified();
+
+        Mono.delay(Duration.ofMillis(100))
+                .subscribe(ignored -> table.execute(tableService -> tableService.addPlayer("bob", "Bob")));
+        byte[] body = client.get().uri(PATH + "?sinceVersion=" + version + "&waitMillis=5000").exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+
+        JsonNode changes = objectMapper.readTree(body);
+        assertThat(changes.get("version").asLong()).isGreaterThan(version);
+        assertThat(changes.get("players")).hasSize(1);
+    }
+
+    @Test
+    void subscribe_streamsCurrentTableAndChanges() throws Exception {
+        Flux<String> events = client.get().uri(PATH + "events").accept(MediaType.TEXT_EVENT_STREAM).exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseBody();
+        Iterator<String> received = events.toIterable().iterator();
+
+        assertThat(objectMapper.readTree(received.next()).get("players")).isEmpty();
+
+        client.post().uri(PATH + "players").exchange().expectStatus().isNoContent();
+
+        assertThat(objectMapper.readTree(received.next()).get("players")).hasSize(1);
+    }
+
+    private void startHeadsUp() {
+        TableActor table = tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get();
+        table.execute(tableService -> tableService.addPlayer("alice", "Alice")).join();
+        table.execute(tableService -> tableService.addPlayer("bob", "Bob")).join();
+        client.post().uri(PATH + "start").exchange().expectStatus().isNoContent();
+    }
+}
@@ -1,29 +1,48 @@
 package com.sap.ase.poker.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sap.ase.poker.data.PlayerNamesRepository;
 import com.sap.ase.poker.dto.GetTableResponseDto;
 import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.IllegalAmountException;
 import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableField;
+import com.sap.ase.poker.service.TableRegistry;
 import com.sap.ase.poker.service.TableService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.security.Principal;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(TableController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import({TableSnapshotCache.class, SimpleMeterRegistry.class})
 public class TableControllerTest {
 
     private static final String PATH = "/api/v1/";
@@ -34,12 +53,29 @@ public class TableControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
-    TableService tableService;
+    TableRegistry tableRegistry;
+
+    TableService tableService = Mockito.mock(TableService.class);
 
     @MockBean
     PlayerNamesRepository playerNamesRepository;
 
+    @MockBean
+    TableEventBroadcaster tableEventBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(tableService.getState()).thenReturn(GameState.OPEN);
+        Mockito.when(tableService.logged()).thenReturn(CompletableFuture.completedFuture(null));
+        TableActor defaultTable = new TableActor(TableRegistry.DEFAULT_TABLE_ID, tableService, Runnable::run, 16);
+        Mockito.when(tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID)).thenReturn(Optional.of(defaultTable));
+        Mockito.when(tableRegistry.find("other")).thenReturn(Optional.empty());
+    }
+
     @Test
     void getTable_returnsGetTableResponseDtoWithTableStatus() throws Exception {
         Principal mockPrincipal = Mockito.mock(Principal.class);
@@ -58,4 +94,196 @@ public class TableControllerTest {
         assertThat(result.getPlayers()).hasSize(2);
         assertThat(result.getState()).isEqualTo(GameState.FLOP.getValue());
     }
+
+    @Test
+    void getTable_unknownTable_returnsNotFound() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn("alice");
+
+        mockMvc.perform(get(PATH + "tables/other").principal(mockPrincipal))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void joinTable_unknownTable_returnsNotFound() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn("alice");
+
+        mockMvc.perform(post(PATH + "tables/other/players").principal(mockPrincipal))
+                .andExpect(status().isNotFound());
+
+        Mockito.verify(tableRegistry, Mockito.never()).getOrCreate(Mockito.anyString());
+        Mockito.verify(tableRegistry, Mockito.never()).create(Mockito.anyString());
+    }
+
+    @Test
+    void joinAndStart_reservedTable_areForbidden() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn("alice");
+        TableService tournamentTable = Mockito.mock(TableService.class);
+        TableActor table = new TableActor("cup-1", tournamentTable, Runnable::run, 16);
+        Mockito.when(tableRegistry.find("cup-1")).thenReturn(Optional.of(table));
+        Mockito.when(tableRegistry.getOwner("cup-1")).thenReturn(Optional.of("cup"));
+
+        mockMvc.perform(post(PATH + "tables/cup-1/players").principal(mockPrincipal))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post(PATH + "tables/cup-1/start")).andExpect(status().isForbidden());
+        mockMvc.perform(put(PATH + "tables/cup-1")).andExpect(status().isForbidden());
+
+        Mockito.verify(tournamentTable, Mockito.never()).addPlayer(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(tournamentTable, Mockito.never()).start();
+    }
+
+    @Test
+    void createTable_opensTableOnce() throws Exception {
+        TableActor other = new TableActor("other", Mockito.mock(TableService.class), Runnable::run, 16);
+        Mockito.when(tableRegistry.create("other")).thenReturn(Optional.of(other));
+
+        mockMvc.perform(put(PATH + "tables/other")).andExpect(status().isCreated());
+
+        Mockito.when(tableRegistry.find("other")).thenReturn(Optional.of(other));
+        mockMvc.perform(put(PATH + "tables/other")).andExpect(status().isNoContent());
+        Mockito.verify(tableRegistry).create("other");
+    }
+
+    @Test
+    void createTable_tooManyTablesOrInvalidId_isRefused() throws Exception {
+        Mockito.when(tableRegistry.create("other")).thenReturn(Optional.empty());
+
+        mockMvc.perform(put(PATH + "tables/other")).andExpect(status().isServiceUnavailable());
+        mockMvc.perform(put(PATH + "tables/" + String.join("", Collections.nCopies(65, "x"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void subscribe_registersEventStreamForPlayer() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn("alice");
+
+        mockMvc.perform(get(PATH + "events").principal(mockPrincipal))
+                .andExpect(status().isOk());
+
+        Mockito.verify(tableEventBroadcaster).subscribe(Mockito.eq(TableRegistry.DEFAULT_TABLE_ID), Mockito.eq("alice"), Mockito.any());
+    }
+
+    @Test
+    void getTableDelta_unchangedVersion_returnsNotModified() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn("alice");
+        Mockito.when(tableService.getVersion()).thenReturn(42L);
+
+        mockMvc.perform(get(PATH).param("sinceVersion", "42").principal(mockPrincipal))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getTableDelta_longPollWithoutChange_returnsNotModifiedAfterWait() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn("alice");
+
+        long start = System.nanoTime();
+        mockMvc.perform(get(PATH).param("sinceVersion", "0").param("waitMillis", "100").principal(mockPrincipal))
+                .andExpect(status().isNotModified());
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void getTableDelta_returnsOnlyChangedFields() throws Exception {
+        Principal mockPrincipal = Mockito.mock(Principal.class);
+        Mockito.when(mockPrincipal.getName()).thenReturn("alice");
+        Mockito.when(tableService.getVersion()).thenReturn(43L);
+        Mockito.when(tableService.getFieldVersion(Mockito.any())).thenReturn(40L);
+        Mockito.when(tableService.getFieldVersion(TableField.POT)).thenReturn(43L);
+        Mockito.when(tableService.getFieldVersion(TableField.CURRENT_PLAYER)).thenReturn(43L);
+        Mockito.when(tableService.getPot()).thenReturn(20);
+        Mockito.when(tableService.getCurrentPlayer()).thenReturn(Optional.empty());
+
+        MockHttpServletResponse response = mockMvc.perform(get(PATH).param("sinceVersion", "42").principal(mockPrincipal))
+                .andExpect(status().isOk()).andReturn().getResponse();
+
+        JsonNode delta = objectMapper.readTree(response.getContentAsString());
+        assertThat(delta.get("version").asLong()).isEqualTo(43L);
+        assertThat(delta.get("pot").asInt()).isEqualTo(20);
+        assertThat(delta.has("currentPlayer")).isTrue();
+        assertThat(delta.get("currentPlayer").isNull()).isTrue();
+        assertThat(delta.has("players")).isFalse();
+    }
+
+    @Test
+    void placeBet_recordsActionTimer() throws Exception {
+        mockMvc.perform(post(PATH + "actions").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"raise\",\"args\":[10]}"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(tableService).performAction("raise", 10);
+        Timer timer = meterRegistry.find("poker.table.actions").tags("action", "raise", "exception", "none").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void placeBet_illegalAmount_returnsBadRequestAndTagsException() throws Exception {
+        Mockito.doThrow(new IllegalAmountException("Invalid Amt")).when(tableService).performAction("raise", 1000);
+
+        mockMvc.perform(post(PATH + "actions").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"raise\",\"args\":[1000]}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(meterRegistry.find("poker.table.actions")
+                .tags("action", "raise", "exception", "IllegalAmountException").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void placeBets_appliesActionsInOrderAndReportsEachResult() throws Exception {
+        Mockito.doThrow(new IllegalAmountException("Invalid Amt")).when(tableService).performAction("call", 0);
+
+        MockHttpServletResponse response = mockMvc.perform(post(PATH + "actions/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"type\":\"check\",\"args\":[]},"
+                                + "{\"tableId\":\"other\",\"type\":\"check\",\"args\":[]},"
+                                + "{\"type\":\"call\",\"args\":[]},"
+                                + "{\"type\":\"fold\",\"args\":[]}]"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+
+        JsonNode results = objectMapper.readTree(response.getContentAsString());
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(0).get("tableId").asText()).isEqualTo(TableRegistry.DEFAULT_TABLE_ID);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(404);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(400);
+        assertThat(results.get(2).get("error").asText()).isEqualTo("Invalid Amt");
+        assertThat(results.get(3).get("status").asInt()).isEqualTo(409);
+        InOrder inOrder = Mockito.inOrder(tableService);
+        inOrder.verify(tableService).performAction("check", 0);
+        inOrder.verify(tableService).performAction("call", 0);
+        Mockito.verify(tableService, Mockito.never()).performAction("fold", 0);
+        assertThat(meterRegistry.find("poker.table.actions").tags("action", "check", "exception", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void placeBets_busyTable_skipsTheRestOfItsActions() throws Exception {
+        TableActor busyTable = new TableActor("busy", tableService, runnable -> {
+        }, 1);
+        busyTable.execute(tableService -> {
+        });
+        Mockito.when(tableRegistry.find("busy")).thenReturn(Optional.of(busyTable));
+
+        MockHttpServletResponse response = mockMvc.perform(post(PATH + "actions/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"tableId\":\"busy\",\"type\":\"check\",\"args\":[]},"
+                                + "{\"type\":\"call\",\"args\":[]},"
+                                + "{\"tableId\":\"busy\",\"type\":\"fold\",\"args\":[]}]"))
+                .andReturn().getResponse();
+
+        JsonNode results = objectMapper.readTree(response.getContentAsString());
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(503);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(409);
+    }
+
+    @Test
+    void placeBets_emptyBatch_returnsBadRequest() throws Exception {
+        mockMvc.perform(post(PATH + "actions/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,159 @@
+package com.sap.ase.poker.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.service.HandHistories;
+import com.sap.ase.poker.service.TablePersistence;
+import com.sap.ase.poker.service.TableRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableEventBroadcasterTest {
+
+    TableRegistry tableRegistry;
+
+    ExecutorService executor;
+
+    TableEventBroadcaster broadcaster;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tableRegistry = new TableRegistry(Mockito.mock(Supplier.class), HandHistories.NONE, TablePersistence.NONE, 1, 16);
+        executor = Executors.newSingleThreadExecutor();
+        broadcaster = new TableEventBroadcaster(tableRegistry, new TableSnapshotCache(new ObjectMapper(), new SimpleMeterRegistry()), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+        tableRegistry.shutdown();
+    }
+
+    @Test
+    void subscriberReceivesCurrentTableAndEveryChange() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(TableRegistry.DEFAULT_TABLE_ID, "alice", emitter);
+        awaitPushes();
+
+        assertThat(emitter.events).hasSize(1);
+
+        tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get().execute(table -> table.addPlayer("alice", "Alice")).join();
+        awaitPushes();
+
+        assertThat(emitter.events).hasSize(2);
+    }
+
+    @Test
+    void readsDoNotPushEvents() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(TableRegistry.DEFAULT_TABLE_ID, "alice", emitter);
+        awaitPushes();
+
+        tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get().submit(table -> table.getPlayers().size()).join();
+        awaitPushes();
+
+        assertThat(emitter.events).hasSize(1);
+    }
+
+    @Test
+    void subscribersOfARemovedTableAreCompleted() throws Exception {
+        tableRegistry.create("t1");
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe("t1", "alice", emitter);
+        awaitPushes();
+
+        tableRegistry.remove("t1").get(1, TimeUnit.SECONDS);
+
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    void pushesOfATableAreSentOneAfterAnother() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        TableEventBroadcaster broadcaster = new TableEventBroadcaster(tableRegistry,
+                new TableSnapshotCache(new ObjectMapper(), new SimpleMeterRegistry()), pool);
+        try {
+            BlockingEmitter emitter = new BlockingEmitter();
+            broadcaster.subscribe(TableRegistry.DEFAULT_TABLE_ID, "alice", emitter);
+            assertThat(emitter.sending.await(1, TimeUnit.SECONDS)).isTrue();
+
+            tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get().execute(table -> table.addPlayer("alice", "Alice")).join();
+            tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get().execute(table -> table.addPlayer("bob", "Bob")).join();
+            Thread.sleep(100);
+            emitter.release.countDown();
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (emitter.sent.get() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(emitter.sent.get()).isEqualTo(2);
+            assertThat(emitter.mostInFlight.get()).isEqualTo(1);
+        } finally {
+            broadcaster.shutdown();
+            pool.shutdownNow();
+        }
+    }
+
+    private void awaitPushes() throws Exception {
+        // the push is rendered on the table's shard and sent on the broadcaster's executor
+        for (int i = 0; i < 3; i++) {
+            tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID).get().submit(table -> null).get(1, TimeUnit.SECONDS);
+            executor.submit(() -> {
+            }).get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class BlockingEmitter extends SseEmitter {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger mostInFlight = new AtomicInteger();
+        final AtomicInteger sent = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sending.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            sent.incrementAndGet();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<SseEventBuilder> events = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
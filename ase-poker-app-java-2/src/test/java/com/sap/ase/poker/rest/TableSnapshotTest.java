@@ -0,0 +1,82 @@
+package com.sap.ase.poker.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.dto.GetTableResponseDto;
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import com.sap.ase.poker.service.TableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableSnapshotTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    TableService tableService;
+
+    @BeforeEach
+    void setUp() {
+        Deck deck = Mockito.mock(Deck.class);
+        Mockito.when(deck.draw()).thenReturn(
+                Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.KING, Suit.SPADES),
+                Card.of(Kind.TWO, Suit.HEARTS), Card.of(Kind.THREE, Suit.HEARTS));
+        tableService = new TableService(() -> deck);
+        tableService.addPlayer("alice", "Alice");
+        tableService.addPlayer("bob", "Bob");
+        tableService.start();
+    }
+
+    @Test
+    void renderContainsPublicTableAndOwnCardsOnly() throws Exception {
+        TableSnapshot snapshot = snapshot();
+
+        GetTableResponseDto alice = objectMapper.readValue(snapshot.render("alice"), GetTableResponseDto.class);
+        GetTableResponseDto bob = objectMapper.readValue(snapshot.render("bob"), GetTableResponseDto.class);
+        GetTableResponseDto spectator = objectMapper.readValue(snapshot.render("carol"), GetTableResponseDto.class);
+
+        assertThat(alice.getVersion()).isEqualTo(tableService.getVersion());
+        assertThat(alice.getPlayers()).hasSize(2);
+        assertThat(alice.getCurrentPlayer().getId()).isEqualTo("alice");
+        assertThat(alice.getPlayerCards()).extracting("rank").containsExactlyInAnyOrder("ace", "king");
+        assertThat(bob.getPlayerCards()).extracting("rank").containsExactlyInAnyOrder("2", "3");
+        assertThat(spectator.getPlayerCards()).isEmpty();
+    }
+
+    @Test
+    void renderChangesContainsOnlyChangedFields() throws Exception {
+        long version = tableService.getVersion();
+        tableService.performAction("raise", 10);
+
+        JsonNode changes = objectMapper.readTree(snapshot().renderChanges("alice", version));
+
+        assertThat(changes.get("version").asLong()).isEqualTo(tableService.getVersion());
+        assertThat(changes.get("pot").asInt()).isEqualTo(10);
+        assertThat(changes.get("currentPlayer").get("id").asText()).isEqualTo("bob");
+        assertThat(changes.has("playerCards")).isFalse();
+        assertThat(changes.has("communityCards")).isFalse();
+    }
+
+    @Test
+    void renderChangesIsNullForCurrentVersion() {
+        assertThat(snapshot().renderChanges("alice", tableService.getVersion())).isNull();
+    }
+
+    @Test
+    void renderChangesOfUnknownVersionContainsEverything() throws Exception {
+        GetTableResponseDto changes = objectMapper.readValue(
+                snapshot().renderChanges("alice", tableService.getVersion() + 1), GetTableResponseDto.class);
+
+        assertThat(changes.getPlayers()).hasSize(2);
+        assertThat(changes.getPlayerCards()).hasSize(2);
+    }
+
+    private TableSnapshot snapshot() {
+        return TableSnapshot.serialize(TableView.capture(tableService), objectMapper);
+    }
+}
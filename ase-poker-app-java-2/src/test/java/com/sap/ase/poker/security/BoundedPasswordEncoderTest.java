@@ -0,0 +1,95 @@
+package com.sap.ase.poker.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    AtomicInteger delegateChecks = new AtomicInteger();
+
+    CountDownLatch release = new CountDownLatch(0);
+
+    PasswordEncoder delegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            delegateChecks.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMinutes(1), 100);
+
+    @AfterEach
+    void tearDown() {
+        release = new CountDownLatch(0);
+        encoder.close();
+    }
+
+    @Test
+    void successfulCheckIsRemembered() {
+        String encoded = encoder.encode("all-in");
+
+        assertThat(encoder.matches("all-in", encoded)).isTrue();
+        assertThat(encoder.matches("all-in", encoded)).isTrue();
+
+        assertThat(delegateChecks).hasValue(1);
+        assertThat(encoder.getCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void failedCheckAndChangedPasswordAreCheckedAgain() {
+        String encoded = encoder.encode("all-in");
+        encoder.matches("all-in", encoded);
+
+        assertThat(encoder.matches("fold", encoded)).isFalse();
+        assertThat(encoder.matches("fold", encoded)).isFalse();
+        assertThat(encoder.matches("all-in", encoder.encode("new-password"))).isFalse();
+
+        assertThat(delegateChecks).hasValue(4);
+    }
+
+    @Test
+    void loginsBeyondTheQueueAreRefused() throws Exception {
+        release = new CountDownLatch(1);
+        String encoded = encoder.encode("all-in");
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("all-in", encoded));
+        await(() -> delegateChecks.get() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("all-in", encoded));
+        await(() -> encoder.getQueued() == 1);
+
+        assertThatThrownBy(() -> encoder.matches("all-in", encoded)).isInstanceOf(LoginCapacityExceededException.class);
+        assertThat(encoder.getRejections()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
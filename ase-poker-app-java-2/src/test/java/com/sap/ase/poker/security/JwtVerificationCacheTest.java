@@ -0,0 +1,90 @@
+package com.sap.ase.poker.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerificationCacheTest {
+
+    JwtTools jwtTools = Mockito.spy(new JwtTools("test-secret"));
+
+    AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+    JwtVerificationCache cache = new JwtVerificationCache(jwtTools, 2, Duration.ofMinutes(5), now::get);
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        String token = jwtTools.create("john-doe", "John Doe");
+
+        VerifiedJwt first = cache.verify(token);
+        VerifiedJwt second = cache.verify(token);
+
+        assertThat(second.getUserId()).isEqualTo(first.getUserId()).isEqualTo("john-doe");
+        assertThat(second.getUserName()).isEqualTo("John Doe");
+        Mockito.verify(jwtTools, Mockito.times(1)).verifyAndDecode(token);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void entryExpiresAfterTimeToLive() {
+        String token = jwtTools.create("john-doe", "John Doe");
+        cache.verify(token);
+
+        now.addAndGet(Duration.ofMinutes(5).toMillis());
+        cache.verify(token);
+
+        Mockito.verify(jwtTools, Mockito.times(2)).verifyAndDecode(token);
+    }
+
+    @Test
+    void entryExpiresWithItsToken() {
+        String token = JWT.create().withClaim("user_id", "john-doe")
+                .withExpiresAt(new Date(now.get() + 60_000)).sign(Algorithm.HMAC256("test-secret"));
+        cache.verify(token);
+
+        now.addAndGet(60_000);
+        cache.verify(token);
+
+        Mockito.verify(jwtTools, Mockito.times(2)).verifyAndDecode(token);
+    }
+
+    @Test
+    void tokensOfARotatedKeyAreRejected() {
+        String token = jwtTools.create("john-doe", "John Doe");
+        cache.verify(token);
+
+        jwtTools.rotate("new-secret");
+
+        assertThatThrownBy(() -> cache.verify(token)).isInstanceOf(SignatureVerificationException.class);
+        assertThat(cache.verify(jwtTools.create("john-doe", "John Doe")).getUserId()).isEqualTo("john-doe");
+    }
+
+    @Test
+    void leastRecentlyUsedTokenIsEvicted() {
+        String first = jwtTools.create("first", "First");
+        String second = jwtTools.create("second", "Second");
+        String third = jwtTools.create("third", "Third");
+        cache.verify(first);
+        cache.verify(second);
+        cache.verify(first);
+
+        cache.verify(third);
+        cache.verify(first);
+        cache.verify(second);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictions()).isEqualTo(2);
+        Mockito.verify(jwtTools, Mockito.times(1)).verifyAndDecode(first);
+        Mockito.verify(jwtTools, Mockito.times(2)).verifyAndDecode(second);
+    }
+}
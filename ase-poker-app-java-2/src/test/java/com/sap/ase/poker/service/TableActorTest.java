@@ -0,0 +1,176 @@
+package com.sap.ase.poker.service;
+
+import com.sap.ase.poker.model.IllegalActionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TableActorTest {
+
+    ExecutorService shardExecutor;
+
+    TableService tableService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        shardExecutor = Executors.newSingleThreadExecutor();
+        tableService = new TableService(Mockito.mock(Supplier.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardExecutor.shutdownNow();
+    }
+
+    @Test
+    void submitReturnsResultOfCommand() {
+        TableActor actor = new TableActor("table", tableService, shardExecutor, 16);
+
+        actor.execute(table -> table.addPlayer("1", "Hanmant")).join();
+
+        assertThat(actor.submit(table -> table.getPlayers().size()).join()).isEqualTo(1);
+    }
+
+    @Test
+    void nextChangeCompletesOnlyWhenVersionChanges() {
+        TableActor actor = new TableActor("table", tableService, shardExecutor, 16);
+        CompletableFuture<Void> change = actor.nextChange();
+
+        actor.submit(table -> table.getPlayers().size()).join();
+        assertThat(change).isNotDone();
+
+        actor.execute(table -> table.addPlayer("1", "Hanmant")).join();
+        assertThat(change).isDone();
+        assertThat(actor.nextChange()).isNotDone();
+    }
+
+    @Test
+    void failingCommandCompletesFutureExceptionally() {
+        TableActor actor = new TableActor("table", tableService, shardExecutor, 16);
+
+        CompletableFuture<Void> result = actor.execute(TableService::start);
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalActionException.class);
+    }
+
+    @Test
+    void versionIsPublishedBeforeTheCallerIsAnswered() {
+        List<Runnable> runs = new ArrayList<>();
+        TableActor actor = new TableActor("table", tableService, runs::add, 16);
+
+        // attached before the command runs, so it runs right when the command completes
+        CompletableFuture<Long> seen = actor.execute(table -> table.addPlayer("1", "Hanmant"))
+                .thenApply(ignored -> actor.getVersion());
+        runs.remove(0).run();
+
+        assertThat(seen.join()).isEqualTo(tableService.getVersion());
+    }
+
+    @Test
+    void errorInCommandDoesNotStopTheTable() {
+        List<Runnable> runs = new ArrayList<>();
+        TableActor actor = new TableActor("table", tableService, runs::add, 16);
+
+        CompletableFuture<Void> failed = actor.execute(table -> {
+            throw new StackOverflowError();
+        });
+        CompletableFuture<Void> next = actor.execute(table -> table.addPlayer("1", "Hanmant"));
+        assertThatThrownBy(() -> runs.remove(0).run()).isInstanceOf(StackOverflowError.class);
+        runs.remove(0).run();
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(next).isCompleted();
+        assertThat(tableService.getPlayers()).hasSize(1);
+    }
+
+    @Test
+    void commandsFromManyThreadsAreAppliedOneAtATime() throws Exception {
+        TableActor actor = new TableActor("table", tableService, shardExecutor, 10_000);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            int caller = i;
+            callers.submit(() -> {
+                for (int j = 0; j < 500; j++) {
+                    String id = caller + "-" + j;
+                    CompletableFuture<Void> result = actor.execute(table -> table.addPlayer(id, id));
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            });
+        }
+        callers.shutdown();
+        callers.awaitTermination(10, TimeUnit.SECONDS);
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+
+        assertThat(actor.submit(table -> table.getPlayers().size()).join()).isEqualTo(4000);
+    }
+
+    @Test
+    void commandIsAnsweredOnceItIsLogged() {
+        CompletableFuture<Void> logged = new CompletableFuture<>();
+        tableService.attach(HandHistory.NONE, loggingTo(logged));
+        TableActor actor = new TableActor("table", tableService, Runnable::run, 16);
+
+        CompletableFuture<Void> result = actor.execute(table -> table.addPlayer("1", "Hanmant"));
+        assertThat(result).isNotDone();
+
+        logged.complete(null);
+        assertThat(result).isCompleted();
+    }
+
+    @Test
+    void tableIsFencedWhenItsLogFails() {
+        CompletableFuture<Void> logged = new CompletableFuture<>();
+        tableService.attach(HandHistory.NONE, loggingTo(logged));
+        TableActor actor = new TableActor("table", tableService, Runnable::run, 16);
+
+        CompletableFuture<Void> result = actor.execute(table -> table.addPlayer("1", "Hanmant"));
+        logged.completeExceptionally(new IllegalStateException("disk full"));
+        CompletableFuture<Void> next = actor.execute(table -> table.addPlayer("2", "Piyush"));
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(TableUnavailableException.class);
+        assertThatThrownBy(next::join).hasCauseInstanceOf(TableUnavailableException.class);
+        assertThat(tableService.getPlayers()).hasSize(1);
+    }
+
+    @Test
+    void fullMailboxRejectsCommand() {
+        List<Runnable> pending = new ArrayList<>();
+        TableActor actor = new TableActor("table", tableService, pending::add, 1);
+
+        actor.execute(table -> table.addPlayer("1", "Hanmant"));
+        CompletableFuture<Void> rejected = actor.execute(table -> table.addPlayer("2", "Piyush"));
+
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(TableBusyException.class);
+        pending.forEach(Runnable::run);
+        assertThat(tableService.getPlayers()).hasSize(1);
+    }
+
+    private static CommandLog loggingTo(CompletableFuture<Void> logged) {
+        return new CommandLog() {
+            @Override
+            public CompletableFuture<Void> logged() {
+                return logged;
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.sap.ase.poker.service;
+
+import com.sap.ase.poker.model.deck.Deck;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TableRegistryTest {
+
+    TableRegistry tableRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tableRegistry = new TableRegistry(Mockito.mock(Supplier.class), HandHistories.NONE, TablePersistence.NONE, 4, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tableRegistry.shutdown();
+    }
+
+    @Test
+    void defaultTableExists() {
+        assertThat(tableRegistry.find(TableRegistry.DEFAULT_TABLE_ID)).isPresent();
+        assertThat(tableRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownTableIsNotFound() {
+        assertThat(tableRegistry.find("unknown")).isEmpty();
+    }
+
+    @Test
+    void getOrCreateReturnsSameTableForSameId() {
+        TableActor first = tableRegistry.getOrCreate("table-1");
+        TableActor second = tableRegistry.getOrCreate("table-1");
+
+        assertThat(second).isSameAs(first);
+        assertThat(tableRegistry.find("table-1")).containsSame(first);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createOpensNoMoreThanTheMaximumOfTables() {
+        TableRegistry registry = new TableRegistry(Mockito.mock(Supplier.class), HandHistories.NONE,
+                TablePersistence.NONE, 4, 16, 2);
+        try {
+            TableActor opened = registry.create("table-1").get();
+
+            assertThat(registry.create("table-1")).containsSame(opened);
+            assertThat(registry.create("table-2")).isEmpty();
+            assertThat(registry.getTableIds()).containsExactlyInAnyOrder(TableRegistry.DEFAULT_TABLE_ID, "table-1");
+        } finally {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void idsAreReservedOnlyIfNoTableHasThemYet() {
+        tableRegistry.getOrCreate("taken-1");
+
+        assertThat(tableRegistry.reserve("taken")).isFalse();
+        assertThat(tableRegistry.reserve("free")).isTrue();
+        assertThat(tableRegistry.getOwner("free-1")).contains("free");
+        assertThat(tableRegistry.getOwner("taken-1")).isEmpty();
+        assertThat(tableRegistry.getOwner("freedom-1")).isEmpty();
+    }
+
+    @Test
+    void removedTableIsDroppedAndRefusesCommands() {
+        TableActor table = tableRegistry.getOrCreate("table-1");
+        List<String> removed = new ArrayList<>();
+        tableRegistry.addListener(new TableListener() {
+            @Override
+            public void tableChanged(String tableId) {
+            }
+
+            @Override
+            public void tableRemoved(String tableId) {
+                removed.add(tableId);
+            }
+        });
+
+        tableRegistry.remove("table-1").join();
+
+        assertThat(tableRegistry.find("table-1")).isEmpty();
+        assertThat(removed).containsExactly("table-1");
+        assertThatThrownBy(() -> table.execute(tableService -> tableService.addPlayer("1", "Hanmant")).join())
+                .hasCauseInstanceOf(TableUnavailableException.class);
+    }
+
+    @Test
+    void tablesHaveIndependentState() {
+        tableRegistry.getOrCreate("table-1").execute(table -> table.addPlayer("1", "Hanmant")).join();
+
+        assertThat(tableRegistry.getOrCreate("table-1").submit(TableService::getPlayers).join()).hasSize(1);
+        assertThat(tableRegistry.getOrCreate("table-2").submit(TableService::getPlayers).join()).isEmpty();
+        assertThat(tableRegistry.getTableIds()).contains("table-1", "table-2", TableRegistry.DEFAULT_TABLE_ID);
+    }
+
+    @Test
+    void seatedPlayersAreCountedAcrossTables() {
+        tableRegistry.getOrCreate("table-1").execute(table -> {
+            table.addPlayer("1", "Hanmant");
+            table.addPlayer("2", "Alice");
+        }).join();
+        tableRegistry.getOrCreate("table-2").execute(table -> table.addPlayer("3", "Bob")).join();
+
+        assertThat(tableRegistry.getSeatedPlayers()).isEqualTo(3);
+    }
+
+    @Test
+    void tablesAreSpreadAcrossShards() {
+        for (int i = 0; i < 100; i++) {
+            tableRegistry.getOrCreate("table-" + i);
+        }
+
+        long usedShards = tableRegistry.getTableIds().stream().mapToInt(tableRegistry::shardIndexOf).distinct().count();
+        assertThat(usedShards).isEqualTo(tableRegistry.getShardCount());
+    }
+}
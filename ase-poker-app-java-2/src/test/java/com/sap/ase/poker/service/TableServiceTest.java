@@ -6,6 +6,9 @@ import com.sap.ase.poker.model.IllegalAmountException;
 import com.sap.ase.poker.model.Player;
 import com.sap.ase.poker.model.deck.Card;
 import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.Kind;
+import com.sap.ase.poker.model.deck.Suit;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -25,16 +28,15 @@ public class TableServiceTest {
 
     Supplier<Deck> deckSupplier;
     Deck deck;
-    Card card;
 
     @BeforeEach
     public void setup() {
         deckSupplier = Mockito.mock(Supplier.class);
         deck = Mockito.mock(Deck.class);
-        card = Mockito.mock(Card.class);
         tableService = new TableService(deckSupplier);
         Mockito.when(deckSupplier.get()).thenReturn(deck);
-        Mockito.when(deck.draw()).thenReturn(card);
+        Mockito.when(deck.draw()).thenReturn(Card.of(0), Card.of(1), Card.of(2), Card.of(3), Card.of(4),
+                Card.of(5), Card.of(6), Card.of(7), Card.of(8), Card.of(9), Card.of(10), Card.of(11));
     }
 
     @Test
@@ -304,6 +306,17 @@ public class TableServiceTest {
 
 
 
+    @Test
+    public void when_raise_above_100_with_tournament_stacks_expect_raise_accepted() {
+        tableService.addPlayer("1", "Hanmant", 1500);
+        tableService.addPlayer("2", "Piyush", 1200);
+        tableService.start();
+        tableService.performAction("raise", 500);
+        assertEquals(1000, tableService.getPlayers().get(0).getCash());
+        assertEquals(500, tableService.getMaxBet());
+        assertThrows(IllegalAmountException.class, () -> tableService.performAction("raise", 1300));
+    }
+
     /*@Test
     public void when_raise_performed_by_player_with_same_bet_amt() {
         tableService.addPlayer("1", "Hanmant");
@@ -346,5 +359,166 @@ public class TableServiceTest {
         assertEquals(60, tableService.getMaxBet());
     }
 
+    @Test
+    public void when_player_joins_expect_version_increased_and_players_changed() {
+        long version = tableService.getVersion();
+        tableService.addPlayer("1", "Hanmant");
+        assertTrue(tableService.getVersion() > version);
+        assertEquals(EnumSet.of(TableField.PLAYERS), tableService.getChangedFields(version));
+    }
+
+    @Test
+    public void when_nothing_changed_expect_no_changed_fields() {
+        tableService.addPlayer("1", "Hanmant");
+        long version = tableService.getVersion();
+        tableService.getPlayers();
+        assertEquals(version, tableService.getVersion());
+        assertTrue(tableService.getChangedFields(version).isEmpty());
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void when_version_unknown_expect_all_fields_changed() {
+        assertEquals(EnumSet.allOf(TableField.class), tableService.getChangedFields(tableService.getVersion() + 1));
+    }
+
+    @Test
+    public void when_flop_dealt_expect_community_cards_and_state_changed() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.start();
+        tableService.performAction("check", 0);
+        long version = tableService.getVersion();
+        tableService.performAction("check", 0);
+        assertEquals(EnumSet.of(TableField.STATE, TableField.COMMUNITY_CARDS, TableField.CURRENT_PLAYER),
+                tableService.getChangedFields(version));
+    }
+
+    @Test
+    public void when_river_betting_completes_expect_showdown_with_best_hand_winning_pot() {
+        Mockito.when(deck.draw()).thenReturn(
+                Card.of(Kind.ACE, Suit.SPADES), Card.of(Kind.ACE, Suit.HEARTS),
+                Card.of(Kind.KING, Suit.SPADES), Card.of(Kind.SEVEN, Suit.CLUBS),
+                Card.of(Kind.THREE, Suit.SPADES),
+                Card.of(Kind.ACE, Suit.CLUBS), Card.of(Kind.TWO, Suit.DIAMONDS), Card.of(Kind.NINE, Suit.HEARTS),
+                Card.of(Kind.THREE, Suit.HEARTS),
+                Card.of(Kind.JACK, Suit.CLUBS),
+                Card.of(Kind.THREE, Suit.CLUBS),
+                Card.of(Kind.FOUR, Suit.DIAMONDS));
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.start();
+        tableService.performAction("raise", 10);
+        tableService.performAction("call", -1);
+        for (int i = 0; i < 6; i++) {
+            tableService.performAction("call", -1);
+        }
+        assertEquals(GameState.ENDED, tableService.getState());
+        assertEquals("1", tableService.getWinner().get().getId());
+        assertEquals(5, tableService.getWinnerHand().size());
+        assertTrue(tableService.getWinnerHand().contains(Card.of(Kind.ACE, Suit.CLUBS)));
+        assertEquals(100 + tableService.getPot() / 2, tableService.getPlayers().get(0).getCash());
+    }
+
+    @Test
+    public void when_all_but_one_fold_expect_winner_takes_pot_and_no_hand_shown() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.start();
+        tableService.performAction("raise", 10);
+        tableService.performAction("fold", 0);
+        assertEquals("1", tableService.getWinner().get().getId());
+        assertEquals(100, tableService.getPlayers().get(0).getCash());
+        assertEquals(0, tableService.getWinnerHand().size());
+    }
+
+    @Test
+    public void when_new_hand_started_expect_previous_hand_cleared() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.start();
+        tableService.performAction("check", 0);
+        tableService.performAction("check", 0);
+        tableService.start();
+        assertEquals(GameState.PRE_FLOP, tableService.getState());
+        assertEquals(0, tableService.getCommunityCards().size());
+        assertEquals(0, tableService.getPot());
+        assertEquals(2, tableService.getPlayerCards("1").size());
+    }
+
+    @Test
+    public void when_next_hand_started_expect_same_deck_shuffled_again() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.start();
+        tableService.performAction("raise", 10);
+        tableService.performAction("fold", 0);
+        tableService.start();
+        tableService.start();
+        Mockito.verify(deckSupplier, Mockito.times(1)).get();
+        Mockito.verify(deck, Mockito.times(2)).shuffle();
+    }
+
+    @Test
+    public void when_hand_played_to_river_expect_all_cards_from_one_deck_with_burn_cards() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.start();
+        for (int i = 0; i < 6; i++) {
+            tableService.performAction("check", 0);
+        }
+        Mockito.verify(deckSupplier, Mockito.times(1)).get();
+        Mockito.verify(deck, Mockito.times(4 + 1 + 3 + 1 + 1 + 1 + 1)).draw();
+        assertEquals(5, tableService.getCommunityCards().size());
+        assertEquals(Card.of(5), tableService.getCommunityCards().get(0));
+        assertEquals(Card.of(11), tableService.getCommunityCards().get(4));
+    }
+
+    @Test
+    public void when_player_removed_between_hands_expect_cards_of_others_kept() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.addPlayer("3", "Kiran", 50);
+        tableService.start();
+        tableService.performAction("raise", 10);
+        tableService.performAction("fold", 0);
+        tableService.performAction("fold", 0);
+        List<Card> cards = tableService.getPlayerCards("3");
+
+        Player removed = tableService.removePlayer("2");
+
+        assertEquals("2", removed.getId());
+        assertEquals(100, removed.getCash());
+        assertEquals(2, tableService.getPlayers().size());
+        assertEquals(cards, tableService.getPlayerCards("3"));
+        assertThrows(IllegalActionException.class, () -> tableService.removePlayer("2"));
+    }
+
+    @Test
+    public void when_player_removed_during_hand_expect_exception() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.start();
+        assertThrows(IllegalActionException.class, () -> tableService.removePlayer("2"));
+    }
+
+    @Test
+    public void when_blinds_posted_expect_dead_money_in_pot_and_blinds_moving_round() {
+        tableService.addPlayer("1", "Hanmant");
+        tableService.addPlayer("2", "Piyush");
+        tableService.addPlayer("3", "Kiran", 15);
+        tableService.start();
+        tableService.postBlinds(10, 20);
+        assertEquals(30, tableService.getPot());
+        assertEquals(90, tableService.getPlayers().get(0).getCash());
+        assertEquals(80, tableService.getPlayers().get(1).getCash());
+        assertEquals(0, tableService.getMaxBet());
+        tableService.performAction("check", 0);
+        assertThrows(IllegalActionException.class, () -> tableService.postBlinds(10, 20));
+
+        tableService.start();
+        tableService.postBlinds(10, 20);
+        assertEquals(70, tableService.getPlayers().get(1).getCash());
+        assertEquals(0, tableService.getPlayers().get(2).getCash());
+        assertEquals(25, tableService.getPot());
+    }
+}
@@ -0,0 +1,57 @@
+package com.sap.ase.poker.tournament;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableBalancerTest {
+
+    @Test
+    void breaksTheEmptiestTableOnceThePlayersFitAtFewerTables() {
+        List<TableBalancer.Move> moves = TableBalancer.plan(seated(5, 4, 3), 6);
+
+        assertThat(moves).extracting(TableBalancer.Move::toString)
+                .containsExactly("t-3 -> t-2", "t-3 -> t-1", "t-3 -> t-2");
+    }
+
+    @Test
+    void breaksTheLastOpenedOfEquallyEmptyTables() {
+        List<TableBalancer.Move> moves = TableBalancer.plan(seated(2, 2, 2, 2), 3);
+
+        assertThat(moves).extracting(TableBalancer.Move::toString)
+                .containsExactly("t-4 -> t-1", "t-4 -> t-2");
+    }
+
+    @Test
+    void movesPlayersFromTheFullestToTheEmptiestTable() {
+        List<TableBalancer.Move> moves = TableBalancer.plan(seated(6, 3, 6), 6);
+
+        assertThat(moves).extracting(TableBalancer.Move::toString).containsExactly("t-1 -> t-2", "t-3 -> t-2");
+    }
+
+    @Test
+    void leavesBalancedTablesAlone() {
+        assertThat(TableBalancer.plan(seated(5, 4, 5), 6)).isEmpty();
+        assertThat(TableBalancer.plan(seated(1), 6)).isEmpty();
+    }
+
+    @Test
+    void opensTablesForAllPlayers() {
+        assertThat(TableBalancer.tablesFor(1, 9)).isEqualTo(1);
+        assertThat(TableBalancer.tablesFor(9, 9)).isEqualTo(1);
+        assertThat(TableBalancer.tablesFor(10, 9)).isEqualTo(2);
+        assertThat(TableBalancer.tablesFor(10000, 9)).isEqualTo(1112);
+    }
+
+    private static Map<String, Integer> seated(int... players) {
+        Map<String, Integer> seated = new LinkedHashMap<>();
+        for (int table = 0; table < players.length; table++) {
+            seated.put("t-" + (table + 1), players[table]);
+        }
+        return seated;
+    }
+}
@@ -0,0 +1,213 @@
+package com.sap.ase.poker.tournament;
+
+import com.sap.ase.poker.model.GameState;
+import com.sap.ase.poker.model.IllegalActionException;
+import com.sap.ase.poker.model.Player;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.SeededCardShuffler;
+import com.sap.ase.poker.model.deck.ShuffledDeckSupplier;
+import com.sap.ase.poker.service.HandHistories;
+import com.sap.ase.poker.service.TableActor;
+import com.sap.ase.poker.service.TableBusyException;
+import com.sap.ase.poker.service.TablePersistence;
+import com.sap.ase.poker.service.TableRegistry;
+import com.sap.ase.poker.service.TableService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class TournamentSchedulerTest {
+
+    TableRegistry tableRegistry;
+
+    TournamentScheduler scheduler;
+
+    TournamentSettings settings;
+
+    @BeforeEach
+    void setUp() {
+        tableRegistry = new TableRegistry(new ShuffledDeckSupplier(new PokerCardsSupplier(), new SeededCardShuffler(1)),
+                HandHistories.NONE, TablePersistence.NONE, 2, 16);
+        settings = new TournamentSettings(3, 20, 10,
+                new BlindClock(BlindLevel.parseAll("5/10,10/20"), Duration.ofMinutes(10)), PrizeTable.parse("70,30"));
+        // ticks are run by the test only
+        scheduler = new TournamentScheduler(tableRegistry, settings, Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+        tableRegistry.shutdown();
+    }
+
+    @Test
+    void playsTheTournamentDownToOneTableAndOneWinner() {
+        String id = scheduler.create().join();
+        for (int i = 1; i <= 7; i++) {
+            String playerId = "p" + i;
+            scheduler.submit(id, tournament -> {
+                tournament.register(playerId, "P" + playerId);
+                return null;
+            }).join();
+        }
+        scheduler.start(id).join();
+
+        Map<String, List<String>> seating = scheduler.submit(id, Tournament::getSeating).join();
+        assertThat(seating.values()).extracting(List::size).containsExactly(3, 2, 2);
+        for (Map.Entry<String, List<String>> table : seating.entrySet()) {
+            assertThat(tableRegistry.find(table.getKey()).get().submit(TableService::getPlayers).join())
+                    .extracting(Player::getId).containsExactlyElementsOf(table.getValue());
+        }
+
+        for (int round = 0; round < 200 && scheduler.submit(id, Tournament::getStatus).join() == Tournament.Status.RUNNING; round++) {
+            scheduler.tickNow().join();
+            for (String tableId : scheduler.submit(id, Tournament::getSeating).join().keySet()) {
+                // the tables are removed once the tournament is over
+                tableRegistry.find(tableId).ifPresent(table -> table.execute(TournamentSchedulerTest::foldToTheLastSeat).join());
+            }
+        }
+
+        List<Standing> standings = scheduler.submit(id, Tournament::getStandings).join();
+        assertThat(scheduler.submit(id, Tournament::getStatus).join()).isEqualTo(Tournament.Status.FINISHED);
+        assertThat(standings).extracting(Standing::getPlace).containsExactly(1, 2, 3, 4, 5, 6, 7);
+        assertThat(standings).extracting(Standing::getPrize).containsExactly(49, 21, 0, 0, 0, 0, 0);
+        assertThat(standings.get(0).getChips()).isEqualTo(7 * 20);
+        assertThat(scheduler.submit(id, Tournament::getSeating).join()).hasSize(1);
+        assertThat(tableRegistry.getTableIds()).containsExactly(TableRegistry.DEFAULT_TABLE_ID);
+    }
+
+    @Test
+    void finishedTournamentIsForgottenAfterItsRetention() {
+        TournamentScheduler scheduler = new TournamentScheduler(tableRegistry, settings, Duration.ofHours(1),
+                Duration.ZERO);
+        try {
+            String id = scheduler.create().join();
+            scheduler.submit(id, tournament -> {
+                tournament.register("p1", "P1");
+                tournament.register("p2", "P2");
+                return null;
+            }).join();
+            scheduler.start(id).join();
+            tableRegistry.find(id + "-1").get()
+                    .execute(table -> table.getPlayers().get(0).deductCash(settings.getStartingStack())).join();
+
+            scheduler.tickNow().join();
+            assertThat(scheduler.submit(id, Tournament::getStatus).join()).isEqualTo(Tournament.Status.FINISHED);
+            assertThat(tableRegistry.find(id + "-1")).isEmpty();
+
+            scheduler.tickNow().join();
+            assertThat(scheduler.exists(id)).isFalse();
+            assertThat(tableRegistry.getOwner(id + "-1")).isEmpty();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void playerWhoseMoveFailedIsSeatedWithTheNextTick() {
+        TableRegistry registry = Mockito.spy(tableRegistry);
+        TournamentScheduler scheduler = new TournamentScheduler(registry, settings, Duration.ofHours(1), Duration.ofHours(1));
+        try {
+            String id = scheduler.create().join();
+            TableService joined = Mockito.spy(new TableService(new ShuffledDeckSupplier(new PokerCardsSupplier(),
+                    new SeededCardShuffler(1))));
+            Mockito.doReturn(new TableActor(id + "-1", joined, Runnable::run, 16)).when(registry).getOrCreate(id + "-1");
+            Mockito.doReturn(Optional.of(registry.getOrCreate(id + "-1"))).when(registry).find(id + "-1");
+            scheduler.submit(id, tournament -> {
+                for (int i = 1; i <= 4; i++) {
+                    tournament.register("p" + i, "P" + i);
+                }
+                return null;
+            }).join();
+            scheduler.start(id).join();
+            List<String> leaving = scheduler.submit(id, Tournament::getSeating).join().get(id + "-2");
+            tableRegistry.find(id + "-2").get()
+                    .execute(table -> table.getPlayers().get(0).deductCash(settings.getStartingStack())).join();
+            Mockito.doThrow(new TableBusyException("busy")).doCallRealMethod()
+                    .when(joined).addPlayer(Mockito.eq(leaving.get(1)), anyString(), anyInt());
+
+            scheduler.tickNow().join();
+            assertThat(joined.getPlayers()).extracting(Player::getId).doesNotContain(leaving.get(1));
+
+            scheduler.tickNow().join();
+            assertThat(joined.getPlayers()).extracting(Player::getId).contains(leaving.get(1)).hasSize(3);
+            assertThat(scheduler.submit(id, Tournament::getSeating).join().get(id + "-1")).contains(leaving.get(1));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void bustedPlayerWhoseRemovalWasRefusedLeavesWithTheNextTick() {
+        TableRegistry registry = Mockito.spy(tableRegistry);
+        TournamentScheduler scheduler = new TournamentScheduler(registry, settings, Duration.ofHours(1), Duration.ofHours(1));
+        try {
+            String id = scheduler.create().join();
+            TableService table = Mockito.spy(new TableService(new ShuffledDeckSupplier(new PokerCardsSupplier(),
+                    new SeededCardShuffler(1))));
+            Mockito.doReturn(new TableActor(id + "-1", table, Runnable::run, 16)).when(registry).getOrCreate(id + "-1");
+            Mockito.doReturn(Optional.of(registry.getOrCreate(id + "-1"))).when(registry).find(id + "-1");
+            scheduler.submit(id, tournament -> {
+                for (int i = 1; i <= 6; i++) {
+                    tournament.register("p" + i, "P" + i);
+                }
+                return null;
+            }).join();
+            scheduler.start(id).join();
+            Player busted = table.getPlayers().get(0);
+            busted.deductCash(settings.getStartingStack());
+            Mockito.doThrow(new TableBusyException("busy")).doCallRealMethod().when(table).removePlayer(busted.getId());
+
+            scheduler.tickNow().join();
+            assertThat(table.getPlayers()).contains(busted);
+            assertThat(table.getState()).isEqualTo(GameState.OPEN);
+
+            scheduler.tickNow().join();
+            assertThat(table.getPlayers()).doesNotContain(busted).hasSize(2);
+            assertThat(table.getState()).isEqualTo(GameState.PRE_FLOP);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void tablesOfATournamentAreReservedForIt() {
+        String id = scheduler.create().join();
+
+        assertThat(tableRegistry.getOwner(id + "-2")).contains(id);
+        assertThatThrownBy(() -> tableRegistry.create(id + "-2")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(tableRegistry.find(id + "-2")).isEmpty();
+    }
+
+    @Test
+    void rejectsStartingTwice() {
+        String id = scheduler.create().join();
+        scheduler.submit(id, tournament -> {
+            tournament.register("p1", "P1");
+            tournament.register("p2", "P2");
+            return null;
+        }).join();
+        scheduler.start(id).join();
+
+        assertThatThrownBy(() -> scheduler.start(id).join())
+                .isInstanceOf(CompletionException.class).hasCauseInstanceOf(IllegalActionException.class);
+    }
+
+    private static void foldToTheLastSeat(TableService table) {
+        while (table.getState() != GameState.OPEN && table.getState() != GameState.ENDED) {
+            table.performAction("fold", 0);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.sap.ase.poker.tournament;
+
+import com.sap.ase.poker.model.IllegalActionException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TournamentTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void seatsTheEntrantsRoundTheTables() {
+        Tournament tournament = tournament(9, 20);
+
+        Map<String, List<String>> seating = tournament.start(START, new Random(1));
+
+        assertThat(seating).containsOnlyKeys("t-1", "t-2", "t-3");
+        assertThat(seating.values()).extracting(List::size).containsExactly(7, 7, 6);
+        List<String> seated = new ArrayList<>();
+        seating.values().forEach(seated::addAll);
+        assertThat(seated).doesNotHaveDuplicates().hasSize(20);
+        assertThat(tournament.getStatus()).isEqualTo(Tournament.Status.RUNNING);
+        assertThatThrownBy(() -> tournament.register("late", "Late")).isInstanceOf(IllegalActionException.class);
+    }
+
+    @Test
+    void needsTwoPlayers() {
+        Tournament tournament = tournament(9, 1);
+
+        assertThatThrownBy(() -> tournament.start(START, new Random(1))).isInstanceOf(IllegalActionException.class);
+        assertThatThrownBy(() -> tournament.register("p1", "P1")).isInstanceOf(IllegalActionException.class);
+    }
+
+    @Test
+    void startsHandsAtIdleTablesWithTheBlindsOfTheLevel() {
+        Tournament tournament = tournament(9, 20);
+        Map<String, List<String>> seating = tournament.start(START, new Random(1));
+
+        Map<String, TableStatus> tables = new HashMap<>();
+        tables.put("t-1", status(true, seating.get("t-1"), 100));
+        tables.put("t-2", status(false, seating.get("t-2"), 100));
+        TournamentUpdate update = tournament.update(tables, START + Duration.ofMinutes(25).toMillis());
+
+        assertThat(update.getStarts()).containsExactly("t-1");
+        assertThat(update.getRemovals()).isEmpty();
+        assertThat(update.getMoves()).isEmpty();
+        assertThat(update.getLevel().getBigBlind()).isEqualTo(50);
+        assertThat(tournament.getMillisToNextLevel(START + Duration.ofMinutes(25).toMillis()))
+                .isEqualTo(Duration.ofMinutes(5).toMillis());
+        assertThat(tournament.getMillisToNextLevel(START + Duration.ofHours(2).toMillis())).isEqualTo(-1);
+    }
+
+    @Test
+    void holdsTablesUntilBothCanMoveAPlayer() {
+        Tournament tournament = tournament(4, 8);
+        Map<String, List<String>> seating = tournament.start(START, new Random(1));
+        List<String> first = seating.get("t-1");
+
+        Map<String, TableStatus> tables = new HashMap<>();
+        tables.put("t-1", status(true, first, 0, 0, 100, 100));
+        tables.put("t-2", status(false, seating.get("t-2"), 100));
+        TournamentUpdate update = tournament.update(tables, START);
+
+        assertThat(update.getRemovals()).containsOnlyKeys("t-1");
+        assertThat(update.getRemovals().get("t-1")).containsExactly(first.get(0), first.get(1));
+        assertThat(update.getMoves()).isEmpty();
+        assertThat(update.getStarts()).isEmpty();
+
+        tables.put("t-1", status(true, first.subList(2, 4), 100));
+        tables.put("t-2", status(true, seating.get("t-2"), 100));
+        update = tournament.update(tables, START);
+
+        assertThat(update.getMoves()).hasSize(1);
+        assertThat(update.getMoves().get(0).getFrom()).isEqualTo("t-2");
+        assertThat(update.getMoves().get(0).getTo()).isEqualTo("t-1");
+        assertThat(update.getStarts()).isEmpty();
+        assertThat(tournament.getSeating().values()).extracting(List::size).containsExactly(3, 3);
+    }
+
+    @Test
+    void breaksTheTableWhenThePlayersFitAtOne() {
+        Tournament tournament = tournament(4, 6);
+        Map<String, List<String>> seating = tournament.start(START, new Random(1));
+
+        Map<String, TableStatus> tables = new HashMap<>();
+        tables.put("t-1", status(true, seating.get("t-1"), 0, 100, 100));
+        tables.put("t-2", status(true, seating.get("t-2"), 0, 100, 100));
+        TournamentUpdate update = tournament.update(tables, START);
+
+        assertThat(update.getMoves()).extracting(TournamentUpdate.Move::getFrom).containsExactly("t-2", "t-2");
+        assertThat(tournament.getSeating()).containsOnlyKeys("t-1");
+        assertThat(tournament.getSeating().get("t-1")).hasSize(4);
+    }
+
+    @Test
+    void ranksByTheOrderOfBustingAndPaysThePlaces() {
+        Tournament tournament = tournament(9, 4);
+        List<String> players = tournament.start(START, new Random(1)).get("t-1");
+        Map<String, TableStatus> tables = new HashMap<>();
+
+        tables.put("t-1", status(true, players, 100, 50, 150, 100));
+        tournament.update(tables, START);
+        // busting in the same hand, the player who started it with more finishes ahead
+        tables.put("t-1", status(true, players, 0, 0, 400, 100));
+        tournament.update(tables, START);
+        assertThat(tournament.getStatus()).isEqualTo(Tournament.Status.RUNNING);
+        tables.put("t-1", status(true, Arrays.asList(players.get(2), players.get(3)), 0, 400));
+        tournament.update(tables, START);
+
+        assertThat(tournament.getStatus()).isEqualTo(Tournament.Status.FINISHED);
+        assertThat(tournament.getPlayersLeft()).isEqualTo(1);
+        List<Standing> standings = tournament.getStandings();
+        assertThat(standings).extracting(Standing::getPlayerId)
+                .containsExactly(players.get(3), players.get(2), players.get(0), players.get(1));
+        assertThat(standings).extracting(Standing::getPrize).containsExactly(200, 120, 80, 0);
+        assertThat(standings).extracting(Standing::isBusted).containsExactly(false, true, true, true);
+        assertThat(standings.get(0).getChips()).isEqualTo(400);
+    }
+
+    @Test
+    void paysTheWinnerThePlacesNobodyTook() {
+        assertThat(PrizeTable.parse("50,30,20").prizes(200, 2)).containsExactly(140, 60);
+        assertThat(PrizeTable.parse("60,40").prizes(1001, 3)).containsExactly(601, 400, 0);
+    }
+
+    private static Tournament tournament(int seatsPerTable, int entrants) {
+        TournamentSettings settings = new TournamentSettings(seatsPerTable, 100, 100,
+                new BlindClock(BlindLevel.parseAll("5/10,10/20,25/50,50/100"), Duration.ofMinutes(10)),
+                PrizeTable.parse("50,30,20"));
+        Tournament tournament = new Tournament("t", settings);
+        for (int i = 1; i <= entrants; i++) {
+            tournament.register("p" + i, "P" + i);
+        }
+        return tournament;
+    }
+
+    private static TableStatus status(boolean idle, List<String> players, int... stacks) {
+        Map<String, Integer> cash = new LinkedHashMap<>();
+        for (int seat = 0; seat < players.size(); seat++) {
+            cash.put(players.get(seat), stacks.length == 1 ? stacks[0] : stacks[seat]);
+        }
+        return new TableStatus(0, idle, cash);
+    }
+}
@@ -0,0 +1,60 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.Deck;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.RandomCardShuffler;
+import com.sap.ase.poker.model.deck.ShuffledDeckSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    // two hole cards for each of two players, three burn cards and the board
+    private static final int HEADS_UP_DRAWS = 12;
+
+    private Deck deck;
+
+    private ShuffledDeckSupplier deckSupplier;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(new PokerCardsSupplier().get(), new RandomCardShuffler());
+        deckSupplier = new ShuffledDeckSupplier(new PokerCardsSupplier(), new RandomCardShuffler());
+    }
+
+    @Benchmark
+    public Deck shuffle() {
+        deck.shuffle();
+        return deck;
+    }
+
+    @Benchmark
+    public void shuffleAndDealHeadsUp(Blackhole blackhole) {
+        deck.shuffle();
+        for (int i = 0; i < HEADS_UP_DRAWS; i++) {
+            blackhole.consume(deck.draw());
+        }
+    }
+
+    @Benchmark
+    public Deck shuffledDeckSupplierGet() {
+        return deckSupplier.get();
+    }
+}
@@ -0,0 +1,55 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.Cards;
+import com.sap.ase.poker.model.hand.HandEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandEvaluatorBenchmark {
+
+    // a power of two, so that the next hand is picked with a mask
+    private static final int HANDS = 4096;
+
+    private final long[] hands = new long[HANDS];
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < HANDS; i++) {
+            long hand = Cards.NONE;
+            while (Long.bitCount(hand) < 7) {
+                hand |= 1L << random.nextInt(Cards.COUNT);
+            }
+            hands[i] = hand;
+        }
+    }
+
+    @Benchmark
+    public int evaluateSevenCards() {
+        return HandEvaluator.evaluate(hands[next++ & (HANDS - 1)]);
+    }
+
+    @Benchmark
+    public long bestFiveOfSeven() {
+        return HandEvaluator.bestFive(hands[next++ & (HANDS - 1)]);
+    }
+}
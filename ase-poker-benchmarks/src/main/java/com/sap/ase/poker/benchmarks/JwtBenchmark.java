@@ -0,0 +1,51 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.sap.ase.poker.security.JwtTools;
+import com.sap.ase.poker.security.JwtVerificationCache;
+import com.sap.ase.poker.security.VerifiedJwt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtTools jwtTools;
+
+    private JwtVerificationCache jwtVerificationCache;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTools = new JwtTools(JwtTools.SECRET);
+        jwtVerificationCache = new JwtVerificationCache(jwtTools, 10_000, Duration.ofMinutes(5));
+        token = jwtTools.create("al-capone", "Al Capone");
+    }
+
+    @Benchmark
+    public DecodedJWT verifyAndDecode() {
+        return jwtTools.verifyAndDecode(token);
+    }
+
+    @Benchmark
+    public VerifiedJwt verifyCached() {
+        return jwtVerificationCache.verify(token);
+    }
+}
@@ -0,0 +1,71 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.Card;
+import com.sap.ase.poker.model.deck.CardShuffler;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.RandomCardShuffler;
+import com.sap.ase.poker.model.deck.SecureCardShuffler;
+import com.sap.ase.poker.model.deck.SeededCardShuffler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShufflerBenchmark {
+
+    @Param({"random", "secure", "seeded"})
+    public String shuffler;
+
+    private CardShuffler cardShuffler;
+
+    private List<Card> cardList;
+
+    private Card[] cards;
+
+    @Setup
+    public void setUp() {
+        switch (shuffler) {
+            case "random":
+                cardShuffler = new RandomCardShuffler();
+                break;
+            case "secure":
+                cardShuffler = new SecureCardShuffler(Duration.ofMinutes(10));
+                break;
+            case "seeded":
+                cardShuffler = new SeededCardShuffler(42);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown shuffler: " + shuffler);
+        }
+        cardList = new PokerCardsSupplier().get();
+        cards = cardList.toArray(new Card[0]);
+    }
+
+    @Benchmark
+    public Card[] shuffleArray() {
+        cardShuffler.shuffle(cards);
+        return cards;
+    }
+
+    @Benchmark
+    public List<Card> shuffleList() {
+        return cardShuffler.shuffle(cardList);
+    }
+}
@@ -0,0 +1,97 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.ase.poker.data.PlayerNamesRepository;
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.RandomCardShuffler;
+import com.sap.ase.poker.model.deck.ShuffledDeckSupplier;
+import com.sap.ase.poker.rest.TableController;
+import com.sap.ase.poker.rest.TableEventBroadcaster;
+import com.sap.ase.poker.rest.TableSnapshotCache;
+import com.sap.ase.poker.service.HandHistories;
+import com.sap.ase.poker.service.TablePersistence;
+import com.sap.ase.poker.service.TableRegistry;
+import com.sap.ase.poker.service.TableService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * TableController.getTable for a started six player table, served from the snapshot
+ * cache and, with a new cache per call, captured and serialized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableControllerBenchmark {
+
+    private static final String TABLE_ID = "benchmark";
+
+    private static final Principal VIEWER = () -> "player-0";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TableRegistry tableRegistry;
+
+    private PlayerNamesRepository playerNames;
+
+    private TableEventBroadcaster tableEventBroadcaster;
+
+    private TableController cachingController;
+
+    @Setup
+    public void setUp() {
+        tableRegistry = new TableRegistry(new ShuffledDeckSupplier(new PokerCardsSupplier(), new RandomCardShuffler()),
+                HandHistories.NONE, TablePersistence.NONE, 1, 1024);
+        tableRegistry.getOrCreate(TABLE_ID).execute(table -> {
+            for (int i = 0; i < 6; i++) {
+                table.addPlayer("player-" + i, "Player " + i);
+            }
+            table.start();
+            table.performAction("raise", 10);
+        }).join();
+        playerNames = new PlayerNamesRepository(id -> Optional.empty());
+        TableSnapshotCache snapshotCache = new TableSnapshotCache(objectMapper, meterRegistry);
+        tableEventBroadcaster = new TableEventBroadcaster(tableRegistry, snapshotCache);
+        cachingController = new TableController(tableRegistry, playerNames, tableEventBroadcaster, snapshotCache,
+                meterRegistry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        tableEventBroadcaster.shutdown();
+        tableRegistry.shutdown();
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getTableCached() {
+        return cachingController.getTable(TABLE_ID, VIEWER);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> getTableSerialized() {
+        TableController controller = new TableController(tableRegistry, playerNames, tableEventBroadcaster,
+                new TableSnapshotCache(objectMapper, meterRegistry), meterRegistry);
+        return controller.getTable(TABLE_ID, VIEWER);
+    }
+}
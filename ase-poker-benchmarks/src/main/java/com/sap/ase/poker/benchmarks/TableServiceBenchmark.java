@@ -0,0 +1,68 @@
+package com.sap.ase.poker.benchmarks;
+
+import com.sap.ase.poker.model.deck.PokerCardsSupplier;
+import com.sap.ase.poker.model.deck.RandomCardShuffler;
+import com.sap.ase.poker.model.deck.ShuffledDeckSupplier;
+import com.sap.ase.poker.service.TableService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Whole hands through TableService.performAction. Both hands leave every player with
+ * the cash they started with, so the same table plays hand after hand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableServiceBenchmark {
+
+    private static final int BETTING_ROUNDS = 4;
+
+    @Param({"2", "6"})
+    public int players;
+
+    private TableService table;
+
+    @Setup
+    public void setUp() {
+        table = new TableService(new ShuffledDeckSupplier(new PokerCardsSupplier(), new RandomCardShuffler()));
+        for (int i = 0; i < players; i++) {
+            table.addPlayer("player-" + i, "Player " + i);
+        }
+    }
+
+    @Benchmark
+    public TableService checkedDownToShowdown() {
+        table.start();
+        for (int round = 0; round < BETTING_ROUNDS; round++) {
+            for (int i = 0; i < players; i++) {
+                table.performAction("check", 0);
+            }
+        }
+        return table;
+    }
+
+    @Benchmark
+    public TableService raiseAndAllFold() {
+        table.start();
+        table.performAction("raise", 10);
+        for (int i = 1; i < players; i++) {
+            table.performAction("fold", 0);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,39 @@
+#!/bin/sh
+# Runs the same long-polling load against the application on Tomcat's thread pool and
+# on virtual threads, one after the other, and keeps both reports in target/thread-modes.
+# Build everything with "mvn install" from the repository root first; the virtual run
+# needs JAVA to be Java 21 or later. Further arguments go to the load generator and
+# override its defaults here, e.g.
+#   ./compare-thread-modes.sh --bots 100,200,400,800,1600,3200 --duration PT60S
+set -e
+
+cd "$(dirname "$0")"
+JAVA=${JAVA:-java}
+APP=$(pwd)/../ase-poker-app-java-2/target/poker-0.0.1-SNAPSHOT-exec.jar
+PORT=${PORT:-8181}
+OUT=target/thread-modes
+
+for mode in platform virtual; do
+    dir=$OUT/$mode
+    rm -rf "$dir"
+    mkdir -p "$dir"
+    virtual=false
+    [ "$mode" = virtual ] && virtual=true
+    # the connections, not Tomcat's threads, must be the limit of both runs
+    (cd "$dir" && exec "$JAVA" -jar "$APP" --server.port="$PORT" \
+        --server.tomcat.max-connections=20000 --poker.server.virtual-threads=$virtual > app.log 2>&1) &
+    app=$!
+    trap 'kill $app 2>/dev/null' EXIT
+    until curl -s -o /dev/null "http://localhost:$PORT/login/index.html"; do
+        if ! kill -0 $app 2>/dev/null; then
+            echo "the application did not start, see $dir/app.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+    echo "== $mode threads"
+    "$JAVA" -jar target/loadgen.jar --url "http://localhost:$PORT" --accounts "$dir/data/players.tsv" \
+        --bots 100,200,400,800,1600 --long-poll PT30S "$@" | tee "$dir/report.txt"
+    kill $app
+    wait $app || true
+done
@@ -0,0 +1,224 @@
+package com.sap.ase.poker.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A closed-loop player: sends its next request only after the previous one was
+ * answered. It logs in, opens its table unless another bot did, joins it and then
+ * polls the table, acting whenever it is the current player. The dealer of a table,
+ * its first bot, starts the hands: the first one once the table is full or the
+ * ramp-up is over, then each one as soon as the previous one ended.
+ *
+ * With long polls, a waiting bot does not pause between polls but asks the server to
+ * hold its request until the table changed, which keeps one request per waiting bot
+ * open on the server.
+ */
+class Bot implements Runnable {
+
+    private static final int OPEN = 0;
+    private static final int ENDED = 5;
+    private static final int MAX_RAISE = 10;
+    // the table caps raises at the smallest stack at the table, whatever its size;
+    // the bound choose starts from before it has seen any stack
+    private static final int NO_STACK_LIMIT = Integer.MAX_VALUE;
+
+    private final String playerId;
+    private final String password;
+    private final PokerClient client;
+    private final Stats stats;
+    private final boolean dealer;
+    private final int seats;
+    private final long firstHandNanos;
+    private final long deadlineNanos;
+    private final long pollMillis;
+    private final long longPollMillis;
+
+    Bot(String playerId, String password, PokerClient client, Stats stats, boolean dealer, int seats,
+        long firstHandNanos, long deadlineNanos, long pollMillis, long longPollMillis) {
+        this.playerId = playerId;
+        this.password = password;
+        this.client = client;
+        this.stats = stats;
+        this.dealer = dealer;
+        this.seats = seats;
+        this.firstHandNanos = firstHandNanos;
+        this.deadlineNanos = deadlineNanos;
+        this.pollMillis = pollMillis;
+        this.longPollMillis = longPollMillis;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (login() && join()) {
+                play();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean login() throws InterruptedException {
+        while (isRunning()) {
+            try {
+                int status = client.login(playerId, password);
+                if (status == HttpURLConnection.HTTP_OK) {
+                    return true;
+                }
+                if (status != HttpURLConnection.HTTP_UNAVAILABLE) {
+                    System.err.println("login of " + playerId + " failed with " + status);
+                    return false;
+                }
+            } catch (IOException e) {
+                // recorded as a failed login, try again
+            }
+            // the server answers a saturated login with Retry-After: 1
+            TimeUnit.SECONDS.sleep(1);
+        }
+        return false;
+    }
+
+    private boolean join() throws InterruptedException {
+        while (isRunning()) {
+            try {
+                int status = client.create();
+                if (status < 300) {
+                    status = client.join();
+                }
+                if (status < 300) {
+                    return true;
+                }
+                if (status < 500) {
+                    System.err.println(playerId + " could not join: " + status);
+                    return false;
+                }
+            } catch (IOException e) {
+                // recorded as a failed join, try again
+            }
+            pause();
+        }
+        return false;
+    }
+
+    private void play() throws InterruptedException {
+        while (isRunning()) {
+            try {
+                JsonNode table = client.table();
+                if (table == null) {
+                    pause();
+                } else if (isBetweenHands(table)) {
+                    if (dealer && canStart(table)) {
+                        int status = client.start();
+                        if (status < 300 && table.path("state").asInt() == ENDED) {
+                            stats.handCompleted();
+                        }
+                    } else if (dealer) {
+                        // the ramp-up may end without any change at the table
+                        pause();
+                    } else {
+                        awaitChange(table);
+                    }
+                } else if (playerId.equals(table.path("currentPlayer").path("id").asText(null))) {
+                    Action action = choose(table, playerId, ThreadLocalRandom.current());
+                    client.act(action.getType(), action.getAmount());
+                } else {
+                    awaitChange(table);
+                }
+            } catch (IOException e) {
+                // recorded as a failed request, go on with the next one
+                pause();
+            }
+        }
+    }
+
+    private static boolean isBetweenHands(JsonNode table) {
+        int state = table.path("state").asInt();
+        return state == OPEN || state == ENDED;
+    }
+
+    private boolean canStart(JsonNode table) {
+        int players = table.path("players").size();
+        return players >= seats || (players >= 2 && System.nanoTime() - firstHandNanos >= 0);
+    }
+
+    private boolean isRunning() {
+        return System.nanoTime() - deadlineNanos < 0 && !Thread.currentThread().isInterrupted();
+    }
+
+    private void pause() throws InterruptedException {
+        if (pollMillis > 0) {
+            // jittered, so that the bots of a table do not poll in lockstep
+            TimeUnit.MILLISECONDS.sleep(pollMillis / 2 + ThreadLocalRandom.current().nextLong(pollMillis + 1));
+        }
+    }
+
+    private void awaitChange(JsonNode table) throws IOException, InterruptedException {
+        JsonNode version = table.path("version");
+        if (longPollMillis > 0 && version.isNumber()) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMillis > 0) {
+                client.awaitChange(version.asLong(), Math.min(longPollMillis, remainingMillis));
+            }
+        } else {
+            pause();
+        }
+    }
+
+    /*
+     * Picks an action the table accepts for the current player: checking only while no
+     * bet was placed in the hand, calling only with enough cash, and raising at most the
+     * player's own cash and the smallest stack at the table.
+     */
+    static Action choose(JsonNode table, String playerId, Random random) {
+        int maxBet = 0;
+        for (JsonNode bet : table.path("bets")) {
+            maxBet = Math.max(maxBet, bet.asInt());
+        }
+        int cash = 0;
+        int smallestStack = NO_STACK_LIMIT;
+        for (JsonNode player : table.path("players")) {
+            int playerCash = player.path("cash").asInt();
+            smallestStack = Math.min(smallestStack, playerCash);
+            if (playerId.equals(player.path("id").asText())) {
+                cash = playerCash;
+            }
+        }
+        int raiseLimit = Math.min(MAX_RAISE, Math.min(cash, smallestStack));
+        int roll = random.nextInt(100);
+        if (roll < 15 && raiseLimit > 0) {
+            return new Action("raise", 1 + random.nextInt(raiseLimit));
+        }
+        if (roll >= 90) {
+            return new Action("fold", 0);
+        }
+        if (maxBet == 0) {
+            return new Action("check", 0);
+        }
+        return cash >= maxBet ? new Action("call", 0) : new Action("fold", 0);
+    }
+
+    static final class Action {
+
+        private final String type;
+        private final int amount;
+
+        Action(String type, int amount) {
+            this.type = type;
+            this.amount = amount;
+        }
+
+        String getType() {
+            return type;
+        }
+
+        int getAmount() {
+            return amount;
+        }
+    }
+}
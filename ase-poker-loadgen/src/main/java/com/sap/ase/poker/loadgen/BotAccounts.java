@@ -0,0 +1,68 @@
+package com.sap.ase.poker.loadgen;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * Adds the bots to the player file of a local instance, in the format of its
+ * FilePlayerDirectory, which picks up the change on its own. All bots share one
+ * bcrypt hash, so writing thousands of them costs a single hash.
+ */
+final class BotAccounts {
+
+    private BotAccounts() {
+    }
+
+    static String playerId(String prefix, int bot) {
+        return String.format(Locale.ROOT, "%s%05d", prefix, bot);
+    }
+
+    /*
+     * Appends the accounts of bots 0 to count - 1 that the file does not contain yet and
+     * returns how many were added.
+     */
+    static int addMissing(Path file, String prefix, int count, String password) throws IOException {
+        Set<String> existing = new HashSet<>();
+        boolean endsWithNewline = true;
+        if (Files.exists(file)) {
+            byte[] content = Files.readAllBytes(file);
+            endsWithNewline = content.length == 0 || content[content.length - 1] == '\n';
+            for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    existing.add(line.substring(0, tab));
+                }
+            }
+        }
+        String encodedPassword = null;
+        int added = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (int bot = 0; bot < count; bot++) {
+                String playerId = playerId(prefix, bot);
+                if (existing.contains(playerId)) {
+                    continue;
+                }
+                if (encodedPassword == null) {
+                    encodedPassword = "{bcrypt}" + new BCryptPasswordEncoder().encode(password);
+                    if (!endsWithNewline) {
+                        writer.newLine();
+                    }
+                }
+                writer.write(playerId + "\tBot " + bot + "\t" + encodedPassword);
+                writer.newLine();
+                added++;
+            }
+        }
+        return added;
+    }
+}
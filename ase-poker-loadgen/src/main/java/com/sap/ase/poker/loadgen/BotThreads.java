@@ -0,0 +1,59 @@
+package com.sap.ase.poker.loadgen;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Runs each bot on a thread of its own. On Java 21 and later these are virtual
+ * threads, which are looked up reflectively because the project is still compiled
+ * for Java 8; older runtimes fall back to daemon platform threads, which limits a run
+ * to a few thousand bots.
+ */
+final class BotThreads {
+
+    private BotThreads() {
+    }
+
+    static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return newPlatformExecutor();
+        } catch (InvocationTargetException e) {
+            // virtual threads were a preview on Java 19 and 20 and refuse to start unless enabled
+            if (e.getCause() instanceof UnsupportedOperationException) {
+                return newPlatformExecutor();
+            }
+            throw new IllegalStateException("cannot create virtual threads", e.getCause());
+        }
+    }
+
+    static boolean isVirtual(ExecutorService executor) {
+        return !(executor instanceof PlatformExecutor);
+    }
+
+    private static ExecutorService newPlatformExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "bot-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new PlatformExecutor(factory);
+    }
+
+    private static final class PlatformExecutor extends ThreadPoolExecutor {
+
+        private PlatformExecutor(ThreadFactory factory) {
+            super(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), factory);
+        }
+    }
+}
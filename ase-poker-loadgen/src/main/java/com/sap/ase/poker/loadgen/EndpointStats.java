@@ -0,0 +1,49 @@
+package com.sap.ase.poker.loadgen;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Latencies and outcomes of the requests to one endpoint. Rejected requests are
+ * answered with a 4xx, failed ones with a 5xx or not at all; both are timed like
+ * successful ones, since they load the server as well.
+ */
+class EndpointStats {
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long micros, int status) {
+        latencies.record(micros);
+        if (status >= 500 || status < 0) {
+            failed.increment();
+        } else if (status >= 400) {
+            rejected.increment();
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    long getRequests() {
+        return latencies.getCount();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+}
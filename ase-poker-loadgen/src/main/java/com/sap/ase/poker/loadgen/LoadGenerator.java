@@ -0,0 +1,119 @@
+package com.sap.ase.poker.loadgen;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Plays bots against a running instance through its REST API and reports latency
+ * percentiles and throughput per endpoint. A run consists of stages with a growing
+ * number of bots, e.g. --bots 100,200,400,800; the stage at which the throughput stops
+ * growing while the latencies climb is where the instance saturates.
+ *
+ * The bots of a stage are spread evenly over fresh tables of at most --seats bots.
+ */
+public final class LoadGenerator {
+
+    private static final long PROGRESS_SECONDS = 5;
+
+    // FilePlayerDirectory looks for changes of the file every 5 seconds by default
+    private static final long ACCOUNTS_RELOAD_MILLIS = 6000;
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(LoadOptions.USAGE);
+            return;
+        }
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        // keeps a connection per bot alive instead of 5 in total
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(options.getMaxBots()));
+        }
+        if (options.getAccounts() != null) {
+            int added = BotAccounts.addMissing(options.getAccounts(), options.getPrefix(), options.getMaxBots(),
+                    options.getPassword());
+            if (added > 0) {
+                System.out.println("added " + added + " bots to " + options.getAccounts()
+                        + ", waiting for the application to reload it");
+                Thread.sleep(ACCOUNTS_RELOAD_MILLIS);
+            }
+        }
+        for (int stage = 1; stage <= options.getStages().size(); stage++) {
+            int bots = options.getStages().get(stage - 1);
+            Stats stats = runStage(options, stage, bots);
+            stats.print(System.out, String.format(Locale.ROOT, "stage %d: %d bots, %.0f s",
+                    stage, bots, stats.elapsedSeconds()));
+            System.out.println();
+        }
+    }
+
+    static Stats runStage(LoadOptions options, int stage, int bots) throws InterruptedException {
+        Stats stats = new Stats();
+        int tables = (bots + options.getSeats() - 1) / options.getSeats();
+        ExecutorService executor = BotThreads.newExecutor();
+        System.out.println(String.format(Locale.ROOT, "stage %d: %d bots at %d tables, on %s threads",
+                stage, bots, tables, BotThreads.isVirtual(executor) ? "virtual" : "platform"));
+        ScheduledExecutorService progress = startProgress(stats);
+
+        long start = System.nanoTime();
+        long rampUpNanos = options.getRampUp().toNanos();
+        long firstHand = start + rampUpNanos;
+        long deadline = start + options.getDuration().toNanos();
+        for (int bot = 0; bot < bots; bot++) {
+            int table = bot % tables;
+            int seats = bots / tables + (table < bots % tables ? 1 : 0);
+            PokerClient client = new PokerClient(options.getUrl(), "load-" + stage + "-" + table, stats);
+            Bot player = new Bot(BotAccounts.playerId(options.getPrefix(), bot), options.getPassword(), client,
+                    stats, bot < tables, seats, firstHand, deadline, options.getPollInterval().toMillis(),
+                    options.getLongPoll().toMillis());
+            long delayNanos = rampUpNanos * bot / bots;
+            executor.execute(() -> {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                    player.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(options.getDuration().getSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        progress.shutdownNow();
+        return stats;
+    }
+
+    private static ScheduledExecutorService startProgress(Stats stats) {
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long[] last = {0, 0};
+        progress.scheduleAtFixedRate(() -> {
+            long requests = stats.getRequests();
+            long hands = stats.getHands();
+            System.out.println(String.format(Locale.ROOT, "%6.0f s: %9.1f req/s %8.1f hands/s",
+                    stats.elapsedSeconds(), (requests - last[0]) / (double) PROGRESS_SECONDS,
+                    (hands - last[1]) / (double) PROGRESS_SECONDS));
+            last[0] = requests;
+            last[1] = hands;
+        }, PROGRESS_SECONDS, PROGRESS_SECONDS, TimeUnit.SECONDS);
+        return progress;
+    }
+}
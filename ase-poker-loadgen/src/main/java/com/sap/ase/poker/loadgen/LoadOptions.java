@@ -0,0 +1,142 @@
+package com.sap.ase.poker.loadgen;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * The command line of the load generator, as --name value pairs.
+ */
+class LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "usage: java -jar loadgen.jar [options]",
+            "  --help                   print this and exit",
+            "  --url <url>              application to load, default http://localhost:8181",
+            "  --bots <n>[,<n>...]      bots per stage; stages run one after another, default 100",
+            "  --seats <n>              bots per table, default 6",
+            "  --duration <duration>    length of each stage, including its ramp-up, default PT60S",
+            "  --ramp-up <duration>     time over which a stage's bots log in, default PT10S",
+            "  --poll-interval <dur>    mean pause between polls while waiting, default PT0.05S",
+            "  --long-poll <duration>   wait for changes with long polls of up to this long instead of",
+            "                           polling, default PT0S (off)",
+            "  --prefix <prefix>        bot ids are <prefix>00000, <prefix>00001, ..., default bot-",
+            "  --password <password>    password of all bots, default all-in",
+            "  --accounts <file>        add missing bots to this players file of the application first");
+
+    private String url = "http://localhost:8181";
+    private List<Integer> stages = Collections.singletonList(100);
+    private int seats = 6;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration rampUp = Duration.ofSeconds(10);
+    private Duration pollInterval = Duration.ofMillis(50);
+    private Duration longPoll = Duration.ZERO;
+    private String prefix = "bot-";
+    private String password = "all-in";
+    private Path accounts;
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("missing value of " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url":
+                    options.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "--bots":
+                    options.stages = new ArrayList<>();
+                    for (String stage : value.split(",")) {
+                        options.stages.add(positive("--bots", Integer.parseInt(stage.trim())));
+                    }
+                    break;
+                case "--seats":
+                    options.seats = positive("--seats", Integer.parseInt(value));
+                    if (options.seats < 2) {
+                        throw new IllegalArgumentException("a table needs at least 2 seats");
+                    }
+                    break;
+                case "--duration":
+                    options.duration = Duration.parse(value);
+                    break;
+                case "--ramp-up":
+                    options.rampUp = Duration.parse(value);
+                    break;
+                case "--poll-interval":
+                    options.pollInterval = Duration.parse(value);
+                    break;
+                case "--long-poll":
+                    options.longPoll = Duration.parse(value);
+                    break;
+                case "--prefix":
+                    options.prefix = value;
+                    break;
+                case "--password":
+                    options.password = value;
+                    break;
+                case "--accounts":
+                    options.accounts = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        return options;
+    }
+
+    private static int positive(String option, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(option + " must be positive");
+        }
+        return value;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    List<Integer> getStages() {
+        return stages;
+    }
+
+    int getMaxBots() {
+        return Collections.max(stages);
+    }
+
+    int getSeats() {
+        return seats;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Duration getRampUp() {
+        return rampUp;
+    }
+
+    Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    Duration getLongPoll() {
+        return longPoll;
+    }
+
+    String getPrefix() {
+        return prefix;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    Path getAccounts() {
+        return accounts;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sap.ase.poker.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * One player's session with the REST API: logs in through the JSON login, keeps the
+ * JWT cookie it is given and sends it with every further request. Every request is
+ * timed from opening the connection until the response is read, and recorded in the
+ * stats of its endpoint. HttpURLConnection keeps connections alive between requests.
+ */
+class PokerClient {
+
+    static final String LOGIN = "POST /login";
+    static final String CREATE = "PUT /api/v1/tables/{id}";
+    static final String JOIN = "POST /api/v1/tables/{id}/players";
+    static final String START = "POST /api/v1/tables/{id}/start";
+    static final String TABLE = "GET /api/v1/tables/{id}";
+    static final String ACTION = "POST /api/v1/tables/{id}/actions";
+    static final String LONG_POLL = "GET /api/v1/tables/{id}?waitMillis";
+
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final String tableId;
+    private final Stats stats;
+    private String jwt;
+
+    PokerClient(String baseUrl, String tableId, Stats stats) {
+        this.baseUrl = baseUrl;
+        this.tableId = tableId;
+        this.stats = stats;
+    }
+
+    /*
+     * Returns the status of the login; 503 means that the password checks are
+     * saturated and the login should be retried.
+     */
+    int login(String username, String password) throws IOException {
+        ObjectNode body = MAPPER.createObjectNode().put("username", username).put("password", password);
+        Response response = send(LOGIN, "POST", "/login", body);
+        if (response.status == HttpURLConnection.HTTP_OK) {
+            jwt = response.jwt;
+            if (jwt == null) {
+                throw new IOException("login of " + username + " did not set a jwt cookie");
+            }
+        }
+        return response.status;
+    }
+
+    /*
+     * Opens the table unless it is open already; the server answers 201 or 204.
+     */
+    int create() throws IOException {
+        return send(CREATE, "PUT", tablePath(), null).status;
+    }
+
+    int join() throws IOException {
+        return send(JOIN, "POST", tablePath() + "/players", null).status;
+    }
+
+    int start() throws IOException {
+        return send(START, "POST", tablePath() + "/start", null).status;
+    }
+
+    /*
+     * The table's GetTableResponseDto, or null if it could not be read.
+     */
+    JsonNode table() throws IOException {
+        Response response = send(TABLE, "GET", tablePath(), null);
+        return response.status == HttpURLConnection.HTTP_OK ? MAPPER.readTree(response.body) : null;
+    }
+
+    /*
+     * Long-polls the table until its version differs from the given one or waitMillis
+     * passed; returns 200 on a change and 304 otherwise.
+     */
+    int awaitChange(long version, long waitMillis) throws IOException {
+        String path = tablePath() + "?sinceVersion=" + version + "&waitMillis=" + waitMillis;
+        return send(LONG_POLL, "GET", path, null, READ_TIMEOUT_MILLIS + (int) waitMillis).status;
+    }
+
+    int act(String type, int amount) throws IOException {
+        ObjectNode body = MAPPER.createObjectNode().put("type", type);
+        body.putArray("args").add(amount);
+        return send(ACTION, "POST", tablePath() + "/actions", body).status;
+    }
+
+    private String tablePath() {
+        return "/api/v1/tables/" + tableId;
+    }
+
+    private Response send(String endpoint, String method, String path, JsonNode body) throws IOException {
+        return send(endpoint, method, path, body, READ_TIMEOUT_MILLIS);
+    }
+
+    private Response send(String endpoint, String method, String path, JsonNode body, int readTimeoutMillis)
+            throws IOException {
+        long start = System.nanoTime();
+        int status = -1;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(10_000);
+            connection.setReadTimeout(readTimeoutMillis);
+            if (jwt != null) {
+                connection.setRequestProperty("Cookie", "jwt=" + jwt);
+            }
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    MAPPER.writeValue(out, body);
+                }
+            }
+            status = connection.getResponseCode();
+            byte[] responseBody = readFully(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+            return new Response(status, responseBody, jwtOf(connection.getHeaderFields()));
+        } finally {
+            stats.get(endpoint).record((System.nanoTime() - start) / 1000, status);
+        }
+    }
+
+    /*
+     * The body has to be read to the end, otherwise the connection is not reused.
+     */
+    private static byte[] readFully(InputStream in) throws IOException {
+        if (in == null) {
+            return new byte[0];
+        }
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static String jwtOf(Map<String, List<String>> headers) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey() == null || !header.getKey().equalsIgnoreCase("Set-Cookie")) {
+                continue;
+            }
+            for (String cookie : header.getValue()) {
+                if (cookie.startsWith("jwt=")) {
+                    int end = cookie.indexOf(';');
+                    return cookie.substring("jwt=".length(), end < 0 ? cookie.length() : end);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class Response {
+
+        private final int status;
+        private final byte[] body;
+        private final String jwt;
+
+        private Response(int status, byte[] body, String jwt) {
+            this.status = status;
+            this.body = body;
+            this.jwt = jwt;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sap.ase.poker.loadgen;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * The stats of all endpoints during one stage of a run, and the hands played.
+ */
+class Stats {
+
+    private static final String[] ENDPOINTS = {
+            PokerClient.LOGIN, PokerClient.CREATE, PokerClient.JOIN, PokerClient.START, PokerClient.TABLE,
+            PokerClient.ACTION, PokerClient.LONG_POLL};
+
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+    private final LongAdder hands = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    Stats() {
+        // fixed up front, so the map is only read while the bots run
+        for (String endpoint : ENDPOINTS) {
+            endpoints.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    EndpointStats get(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            throw new IllegalArgumentException("unknown endpoint: " + endpoint);
+        }
+        return stats;
+    }
+
+    List<EndpointStats> getEndpoints() {
+        return new ArrayList<>(endpoints.values());
+    }
+
+    void handCompleted() {
+        hands.increment();
+    }
+
+    long getHands() {
+        return hands.sum();
+    }
+
+    long getRequests() {
+        long requests = 0;
+        for (EndpointStats stats : endpoints.values()) {
+            requests += stats.getRequests();
+        }
+        return requests;
+    }
+
+    double elapsedSeconds() {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    void print(PrintStream out, String title) {
+        double seconds = elapsedSeconds();
+        out.println();
+        out.println(title);
+        out.println(String.format(Locale.ROOT, "%-34s %10s %10s %9s %9s %9s %9s %8s %8s",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "4xx", "errors"));
+        for (EndpointStats stats : endpoints.values()) {
+            LatencyHistogram latencies = stats.getLatencies();
+            out.println(String.format(Locale.ROOT, "%-34s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8d %8d",
+                    stats.getName(), stats.getRequests(), stats.getRequests() / seconds,
+                    millis(latencies.percentile(50)), millis(latencies.percentile(99)),
+                    millis(latencies.percentile(99.9)), millis(latencies.getMax()),
+                    stats.getRejected(), stats.getFailed()));
+        }
+        out.println(String.format(Locale.ROOT, "%-34s %10d %10.1f", "total", getRequests(), getRequests() / seconds));
+        out.println(String.format(Locale.ROOT, "%-34s %10d %10.1f", "hands", getHands(), getHands() / seconds));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.sap.ase.poker.loadgen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BotAccountsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void addsOnlyMissingBots() throws Exception {
+        Path file = directory.resolve("players.tsv");
+        Files.write(file, "al-capone\tAl Capone\t{bcrypt}x\nbot-00001\tBot 1\t{bcrypt}y".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(BotAccounts.addMissing(file, "bot-", 3, "secret")).isEqualTo(2);
+        assertThat(BotAccounts.addMissing(file, "bot-", 3, "secret")).isZero();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(1)).isEqualTo("bot-00001\tBot 1\t{bcrypt}y");
+        assertThat(lines.get(2)).startsWith("bot-00000\tBot 0\t{bcrypt}");
+        assertThat(lines.get(3)).startsWith("bot-00002\tBot 2\t{bcrypt}");
+        String encoded = lines.get(2).split("\t")[2].substring("{bcrypt}".length());
+        assertThat(new BCryptPasswordEncoder().matches("secret", encoded)).isTrue();
+    }
+}
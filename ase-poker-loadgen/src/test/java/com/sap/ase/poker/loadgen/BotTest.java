@@ -0,0 +1,56 @@
+package com.sap.ase.poker.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void checksOnlyWhileNoBetWasPlaced() throws Exception {
+        JsonNode open = table("{}", 100, 100);
+        JsonNode raised = table("{\"bot-00001\":5}", 100, 100);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(Bot.choose(open, "bot-00000", random).getType()).isIn("check", "raise", "fold");
+            assertThat(Bot.choose(raised, "bot-00000", random).getType()).isIn("call", "raise", "fold");
+        }
+    }
+
+    @Test
+    void raisesAtMostTheSmallestStack() throws Exception {
+        JsonNode table = table("{}", 100, 3);
+        Random random = new Random(2);
+
+        for (int i = 0; i < 1000; i++) {
+            Bot.Action action = Bot.choose(table, "bot-00000", random);
+            if (action.getType().equals("raise")) {
+                assertThat(action.getAmount()).isBetween(1, 3);
+            }
+        }
+    }
+
+    @Test
+    void foldsWhenItCannotCall() throws Exception {
+        JsonNode table = table("{\"bot-00001\":50}", 0, 100);
+        Random random = new Random(3);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(Bot.choose(table, "bot-00000", random).getType()).isEqualTo("fold");
+        }
+    }
+
+    private JsonNode table(String bets, int cash, int otherCash) throws Exception {
+        return objectMapper.readTree("{\"players\":["
+                + "{\"id\":\"bot-00000\",\"name\":\"Bot 0\",\"cash\":" + cash + "},"
+                + "{\"id\":\"bot-00001\",\"name\":\"Bot 1\",\"cash\":" + otherCash + "}],"
+                + "\"currentPlayer\":{\"id\":\"bot-00000\"},\"bets\":" + bets + ",\"state\":1}");
+    }
+}
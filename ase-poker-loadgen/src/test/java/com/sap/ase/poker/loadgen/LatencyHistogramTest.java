@@ -0,0 +1,48 @@
+package com.sap.ase.poker.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsAreContiguous() {
+        for (long value = 0; value < 1 << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.upperBoundOf(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.upperBoundOf(index - 1)).isLessThan(value);
+            }
+        }
+        assertThat(LatencyHistogram.indexOf(Long.MAX_VALUE)).isLessThan((Long.SIZE - 5) * 32);
+    }
+
+    @Test
+    void percentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(100_000);
+        assertThat((double) histogram.percentile(50)).isCloseTo(50_000, within(50_000 / 32.0));
+        assertThat((double) histogram.percentile(99)).isCloseTo(99_000, within(99_000 / 32.0));
+        assertThat((double) histogram.percentile(99.9)).isCloseTo(99_900, within(99_900 / 32.0));
+        assertThat(histogram.percentile(100)).isEqualTo(100_000);
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-1);
+
+        assertThat(histogram.percentile(34)).isEqualTo(3);
+        assertThat(histogram.percentile(100)).isEqualTo(7);
+        assertThat(new LatencyHistogram().percentile(99)).isZero();
+    }
+}